@@ -0,0 +1,78 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Encoding of the messages written by AppendToStream and BatchAppendStream, down to their wire bytes.
+@State(Scope.Benchmark)
+public class AppendEncodingBenchmark {
+    @Param({"1", "100"})
+    public int batchSize;
+
+    @Param({"128", "4096"})
+    public int payloadSize;
+
+    private List<EventData> events;
+
+    @Setup
+    public void setup() {
+        byte[] payload = new byte[payloadSize];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) ('a' + i % 26);
+        }
+
+        byte[] metadata = "{\"correlationId\":\"bench\"}".getBytes(StandardCharsets.UTF_8);
+        events = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < batchSize; i++) {
+            events.add(EventDataBuilder.json("bench-event-" + (i % 4), payload).metadataAsBytes(metadata).build());
+        }
+    }
+
+    @Benchmark
+    public void appendReq(Blackhole bh) {
+        bh.consume(StreamsOuterClass.AppendReq.newBuilder()
+                .setOptions(ExpectedRevision.any().applyOnWire(StreamsOuterClass.AppendReq.Options.newBuilder()
+                        .setStreamIdentifier(Shared.StreamIdentifier.newBuilder()
+                                .setStreamName(ByteString.copyFromUtf8("bench-stream"))
+                                .build())))
+                .build()
+                .toByteArray());
+
+        for (EventData event : events) {
+            bh.consume(StreamsOuterClass.AppendReq.newBuilder()
+                    .setProposedMessage(ProposedMessages.toAppendMessage(event))
+                    .build()
+                    .toByteArray());
+        }
+    }
+
+    // The cached system metadata alone, expected not to allocate.
+    @Benchmark
+    public void systemMetadata(Blackhole bh) {
+        for (EventData event : events) {
+            bh.consume(ProposedMessages.systemMetadata(event.getContentType(), event.getEventType()));
+        }
+    }
+
+    @Benchmark
+    public byte[] batchAppendReq() {
+        StreamsOuterClass.BatchAppendReq.Builder builder = StreamsOuterClass.BatchAppendReq.newBuilder()
+                .setCorrelationId(ProposedMessages.toWire(UUID.randomUUID()))
+                .setIsFinal(true);
+
+        for (EventData event : events) {
+            builder.addProposedMessages(ProposedMessages.toBatchAppendMessage(event));
+        }
+
+        return builder.build().toByteArray();
+    }
+}
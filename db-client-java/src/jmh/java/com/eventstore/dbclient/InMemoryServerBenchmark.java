@@ -0,0 +1,62 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// The whole client stack (connection handling, gRPC transport, flow control) against the in-process server, without
+// Docker or network access. It measures the client, not EventStoreDB's performance.
+@State(Scope.Benchmark)
+public class InMemoryServerBenchmark {
+    private static final int READ_STREAM_SIZE = 1_000;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private InMemoryServer server;
+    private EventStoreDBClient client;
+    private List<EventData> batch;
+    private String readStreamName;
+
+    @Setup
+    public void setup() throws Exception {
+        server = InMemoryServer.start();
+        client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                .addHost(server.getHost(), server.getPort())
+                .tls(false)
+                .buildConnectionSettings());
+
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(EventDataBuilder.json("bench-event", "{\"value\":42}".getBytes()).build());
+        }
+
+        List<EventData> events = new ArrayList<>(READ_STREAM_SIZE);
+        for (int i = 0; i < READ_STREAM_SIZE; i++) {
+            events.add(EventDataBuilder.json("bench-event", "{\"value\":42}".getBytes()).build());
+        }
+
+        readStreamName = "bench-read-" + UUID.randomUUID();
+        client.appendToStream(readStreamName, events.iterator()).get();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.shutdown().get();
+        server.close();
+    }
+
+    @Benchmark
+    public WriteResult append() throws Exception {
+        return client.appendToStream("bench-append", batch.iterator()).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READ_STREAM_SIZE)
+    public ReadResult readStream() throws Exception {
+        return client.readStream(readStreamName, ReadStreamOptions.get()).get();
+    }
+}
@@ -0,0 +1,94 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.persistentsubscriptions.Persistent;
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+
+// Decoding of read responses into ResolvedEvent/RecordedEvent, from the wire bytes gRPC hands over to the client.
+@State(Scope.Benchmark)
+public class ReadDecodingBenchmark {
+    @Param({"128", "4096"})
+    public int payloadSize;
+
+    @Param({"false", "true"})
+    public boolean resolvedLink;
+
+    private byte[] wireReadResp;
+    private StreamsOuterClass.ReadResp.ReadEvent readEvent;
+    private Persistent.ReadResp.ReadEvent persistentReadEvent;
+
+    @Setup
+    public void setup() throws InvalidProtocolBufferException {
+        byte[] payload = new byte[payloadSize];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) ('a' + i % 26);
+        }
+
+        StreamsOuterClass.ReadResp.ReadEvent.Builder event = StreamsOuterClass.ReadResp.ReadEvent.newBuilder()
+                .setEvent(recordedEvent("bench-stream", 42, "bench-event", payload))
+                .setCommitPosition(1_024);
+
+        if (resolvedLink) {
+            event.setLink(recordedEvent("$et-bench-event", 7, "$>", "42@bench-stream".getBytes()));
+        }
+
+        wireReadResp = StreamsOuterClass.ReadResp.newBuilder().setEvent(event).build().toByteArray();
+        readEvent = StreamsOuterClass.ReadResp.parseFrom(wireReadResp).getEvent();
+        persistentReadEvent = Persistent.ReadResp.ReadEvent.parseFrom(readEvent.toByteArray());
+    }
+
+    private static StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent recordedEvent(String stream, long revision, String type, byte[] data) {
+        return StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent.newBuilder()
+                .setId(ProposedMessages.toWire(UUID.randomUUID()))
+                .setStreamIdentifier(Shared.StreamIdentifier.newBuilder().setStreamName(ByteString.copyFromUtf8(stream)))
+                .setStreamRevision(revision)
+                .setCommitPosition(1_024)
+                .setPreparePosition(1_024)
+                .putMetadata(SystemMetadataKeys.TYPE, type)
+                .putMetadata(SystemMetadataKeys.CONTENT_TYPE, ContentType.JSON)
+                .putMetadata(SystemMetadataKeys.CREATED, "17292401235670000")
+                .setData(ByteString.copyFrom(data))
+                .setCustomMetadata(ByteString.copyFromUtf8("{\"correlationId\":\"bench\"}"))
+                .build();
+    }
+
+    @Benchmark
+    public ResolvedEvent parseAndDecode() throws InvalidProtocolBufferException {
+        return ResolvedEvent.fromWire(StreamsOuterClass.ReadResp.parseFrom(wireReadResp).getEvent());
+    }
+
+    @Benchmark
+    public ResolvedEvent decode() {
+        return ResolvedEvent.fromWire(readEvent);
+    }
+
+    @Benchmark
+    public ResolvedEvent decodePersistent() {
+        return ResolvedEvent.fromWire(persistentReadEvent);
+    }
+
+    @Benchmark
+    public RecordedEvent decodeRecordedEvent() {
+        return RecordedEvent.fromWire(readEvent.getEvent());
+    }
+
+    // What a typical consumer touches after decoding.
+    @Benchmark
+    public void decodeAndAccess(Blackhole bh) {
+        RecordedEvent event = ResolvedEvent.fromWire(readEvent).getOriginalEvent();
+
+        bh.consume(event.getStreamId());
+        bh.consume(event.getRevision());
+        bh.consume(event.getEventId());
+        bh.consume(event.getEventType());
+        bh.consume(event.getCreated());
+        bh.consume(event.getPosition());
+        bh.consume(event.getEventDataBuffer());
+    }
+}
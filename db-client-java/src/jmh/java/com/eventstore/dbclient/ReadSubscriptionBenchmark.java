@@ -0,0 +1,143 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import io.grpc.stub.ClientCallStreamObserver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+// Demand handling of ReadSubscription: messages pushed by the transport go through the prefetch queue and are
+// delivered as the subscriber requests them. Everything runs on the benchmark thread, so only the bookkeeping
+// is measured.
+@State(Scope.Thread)
+public class ReadSubscriptionBenchmark {
+    private static final int MESSAGES = 10_000;
+
+    // 1 is the worst case of a subscriber requesting one message at a time.
+    @Param({"1", "32", "2147483647"})
+    public int requestBatch;
+
+    private ReadMessage message;
+
+    @Setup
+    public void setup() {
+        message = new ReadMessage(StreamsOuterClass.ReadResp.newBuilder()
+                .setLastStreamPosition(42)
+                .build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void deliver(Blackhole bh) {
+        BatchingSubscriber subscriber = new BatchingSubscriber(bh, requestBatch);
+        ReadSubscription subscription = new ReadSubscription(subscriber);
+        FakeCall call = new FakeCall();
+
+        subscription.setStreamObserver(call);
+        subscriber.onSubscribe(subscription);
+        subscription.onStarted();
+
+        int sent = 0;
+        while (sent < MESSAGES) {
+            if (call.credit == 0) {
+                throw new IllegalStateException("The subscription stopped requesting messages");
+            }
+
+            call.credit--;
+            sent++;
+            subscription.onNext(message);
+        }
+
+        subscription.onCompleted();
+
+        if (subscriber.received != MESSAGES || !subscriber.completed) {
+            throw new IllegalStateException("Received " + subscriber.received + " out of " + MESSAGES + " messages");
+        }
+    }
+
+    static class BatchingSubscriber implements Subscriber<ReadMessage> {
+        private final Blackhole bh;
+        private final int batch;
+        private Subscription subscription;
+        private int outstanding;
+        int received;
+        boolean completed;
+
+        BatchingSubscriber(Blackhole bh, int batch) {
+            this.bh = bh;
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            this.outstanding = batch;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(ReadMessage message) {
+            bh.consume(message);
+            received++;
+
+            if (--outstanding == 0) {
+                outstanding = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    // Stands in for the gRPC call, it only keeps track of the credit granted to the server.
+    static class FakeCall extends ClientCallStreamObserver<StreamsOuterClass.ReadReq> {
+        int credit;
+
+        @Override
+        public void request(int count) {
+            credit += count;
+        }
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void onNext(StreamsOuterClass.ReadReq value) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
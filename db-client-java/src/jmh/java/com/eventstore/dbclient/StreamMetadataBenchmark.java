@@ -0,0 +1,56 @@
+package com.eventstore.dbclient;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// StreamMetadata (de)serialization as done by setStreamMetadata and getStreamMetadata, which create a mapper per call,
+// compared with a shared mapper.
+@State(Scope.Benchmark)
+public class StreamMetadataBenchmark {
+    private final JsonMapper sharedMapper = new JsonMapper();
+    private StreamMetadata metadata;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        Map<String, Object> custom = new HashMap<>();
+        custom.put("owner", "bench");
+        custom.put("retention", 30);
+
+        metadata = new StreamMetadata();
+        metadata.setMaxAge(86_400L);
+        metadata.setMaxCount(1_000L);
+        metadata.setCacheControl(60L);
+        metadata.setAcl(Acls.newStreamAcl()
+                .addReadRoles("$all")
+                .addWriteRoles("writer", "$admins")
+                .addMetaReadRoles("$admins"));
+        metadata.setCustomProperties(custom);
+
+        serialized = sharedMapper.writeValueAsBytes(metadata);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return new JsonMapper().writeValueAsBytes(metadata);
+    }
+
+    @Benchmark
+    public StreamMetadata deserialize() throws IOException {
+        return new JsonMapper().readValue(serialized, StreamMetadata.class);
+    }
+
+    @Benchmark
+    public byte[] serializeSharedMapper() throws IOException {
+        return sharedMapper.writeValueAsBytes(metadata);
+    }
+
+    @Benchmark
+    public StreamMetadata deserializeSharedMapper() throws IOException {
+        return sharedMapper.readValue(serialized, StreamMetadata.class);
+    }
+}
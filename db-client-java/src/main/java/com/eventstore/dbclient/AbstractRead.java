@@ -11,6 +11,8 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 abstract class AbstractRead implements Publisher<ReadMessage> {
     protected static final StreamsOuterClass.ReadReq.Options.Builder defaultReadOptions;
@@ -37,17 +39,20 @@ abstract class AbstractRead implements Publisher<ReadMessage> {
         ReadSubscription readSubscription = new ReadSubscription(subscriber);
         subscriber.onSubscribe(readSubscription);
 
-        CompletableFuture<ReadSubscription> result = new CompletableFuture<>();
-        this.client.run(channel -> {
+        // A read is only retried as long as nothing was received, the subscriber never sees the same event twice.
+        AtomicBoolean received = new AtomicBoolean(false);
+        this.client.awaitPosition(this.options).thenCompose(ignored -> this.client.runStreaming(args -> {
+            CompletableFuture<ReadSubscription> result = new CompletableFuture<>();
             StreamsOuterClass.ReadReq request = StreamsOuterClass.ReadReq.newBuilder()
                     .setOptions(createOptions())
                     .build();
 
-            StreamsGrpc.StreamsStub client = GrpcUtils.configureStub(StreamsGrpc.newStub(channel), this.client.getSettings(), this.options);
+            StreamsGrpc.StreamsStub client = GrpcUtils.configureStub(StreamsGrpc.newStub(args.getChannel()), this.client.getSettings(), this.options);
 
             client.read(request, new ClientResponseObserver<StreamsOuterClass.ReadReq, StreamsOuterClass.ReadResp>() {
                 @Override
                 public void beforeStart(ClientCallStreamObserver<StreamsOuterClass.ReadReq> requestStream) {
+                    requestStream.disableAutoRequestWithInitial(0);
                     readSubscription.setStreamObserver(requestStream);
                 }
 
@@ -58,6 +63,7 @@ abstract class AbstractRead implements Publisher<ReadMessage> {
                     if (this.completed) {
                         return;
                     }
+                    received.set(true);
                     if (value.hasStreamNotFound()) {
                         StreamNotFoundException streamNotFoundException = new StreamNotFoundException();
                         handleError(streamNotFoundException);
@@ -102,15 +108,17 @@ abstract class AbstractRead implements Publisher<ReadMessage> {
                     handleError(t);
                 }
 
+                // The subscriber learns about the error once the read isn't retried anymore.
                 private void handleError(Throwable t) {
                     this.completed = true;
                     result.completeExceptionally(t);
-                    readSubscription.onError(t);
                 }
             });
+
+            readSubscription.onStarted();
             return result;
-        }).exceptionally(t -> {
-            readSubscription.onError(t);
+        }, error -> !received.get() && RetryPolicy.isTransient(error))).exceptionally(t -> {
+            readSubscription.onError(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
             return readSubscription;
         });
     }
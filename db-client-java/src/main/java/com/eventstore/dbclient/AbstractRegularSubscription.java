@@ -42,12 +42,13 @@ abstract class AbstractRegularSubscription {
 
     @SuppressWarnings("unchecked")
     public CompletableFuture<Subscription> execute() {
-        return this.client.run(channel -> {
+        return this.client.awaitPosition(this.options).thenCompose(ignored -> this.client.runStreaming(args -> {
             StreamsOuterClass.ReadReq readReq = StreamsOuterClass.ReadReq.newBuilder()
                     .setOptions(createOptions())
                     .build();
 
-            StreamsGrpc.StreamsStub streamsClient = GrpcUtils.configureStub(StreamsGrpc.newStub(channel), this.client.getSettings(), this.options);
+            StreamsGrpc.StreamsStub streamsClient = GrpcUtils.configureStub(StreamsGrpc.newStub(args.getChannel()), this.client.getSettings(), this.options)
+                    .withOption(ChannelPool.SUBSCRIPTION, true);
 
             CompletableFuture<Subscription> future = new CompletableFuture<>();
             ClientResponseObserver<StreamsOuterClass.ReadReq, StreamsOuterClass.ReadResp> observer = new ClientResponseObserver<StreamsOuterClass.ReadReq, StreamsOuterClass.ReadResp>() {
@@ -110,7 +111,7 @@ abstract class AbstractRegularSubscription {
                         ClientTelemetry.traceSubscribe(
                                 () -> listener.onEvent(this._subscription, resolvedEvent),
                                 _subscription.getSubscriptionId(),
-                                channel,
+                                args.getChannel(),
                                 client.getSettings(),
                                 options.getCredentials(),
                                 resolvedEvent.getEvent());
@@ -121,10 +122,6 @@ abstract class AbstractRegularSubscription {
 
                 @Override
                 public void onError(Throwable throwable) {
-                    if (!_confirmed) {
-                        future.completeExceptionally(throwable);
-                    }
-
                     Throwable error = throwable;
                     if (error instanceof StatusRuntimeException) {
                         StatusRuntimeException sre = (StatusRuntimeException) error;
@@ -142,6 +139,13 @@ abstract class AbstractRegularSubscription {
                         }
                     }
 
+                    // The listener learns about errors happening before the confirmation once the subscription isn't
+                    // retried anymore.
+                    if (!_confirmed) {
+                        future.completeExceptionally(error);
+                        return;
+                    }
+
                     listener.onCancelled(this._subscription, error);
                 }
 
@@ -154,6 +158,9 @@ abstract class AbstractRegularSubscription {
             streamsClient.read(readReq, observer);
 
             return future;
+        }, RetryPolicy::isTransient)).whenComplete((subscription, error) -> {
+            if (error != null)
+                listener.onCancelled(null, RetryPolicy.unwrap(error));
         });
     }
 }
@@ -37,9 +37,10 @@ abstract class AbstractSubscribePersistentSubscription {
     protected abstract Persistent.ReadReq.Options.Builder createOptions();
 
     public CompletableFuture<PersistentSubscription> execute() {
-        return this.client.runWithArgs(args -> {
+        return this.client.runStreaming(args -> {
             PersistentSubscriptionsGrpc.PersistentSubscriptionsStub persistentSubscriptionsClient =
-                    GrpcUtils.configureStub(PersistentSubscriptionsGrpc.newStub(args.getChannel()), this.client.getSettings(), this.options);
+                    GrpcUtils.configureStub(PersistentSubscriptionsGrpc.newStub(args.getChannel()), this.client.getSettings(), this.options)
+                            .withOption(ChannelPool.SUBSCRIPTION, true);
 
             final CompletableFuture<PersistentSubscription> result = new CompletableFuture<>();
 
@@ -106,10 +107,6 @@ abstract class AbstractSubscribePersistentSubscription {
 
                     @Override
                     public void onError(Throwable throwable) {
-                        if (!_confirmed) {
-                            result.completeExceptionally(throwable);
-                        }
-
                         Throwable error = throwable;
                         if (error instanceof StatusRuntimeException) {
                             StatusRuntimeException sre = (StatusRuntimeException) error;
@@ -127,6 +124,13 @@ abstract class AbstractSubscribePersistentSubscription {
                             }
                         }
 
+                        // The listener learns about errors happening before the confirmation once the subscription
+                        // isn't retried anymore.
+                        if (!_confirmed) {
+                            result.completeExceptionally(error);
+                            return;
+                        }
+
                         listener.onCancelled(this._subscription, error);
                     }
 
@@ -141,6 +145,9 @@ abstract class AbstractSubscribePersistentSubscription {
             }
 
             return result;
+        }, RetryPolicy::isTransient).whenComplete((subscription, error) -> {
+            if (error != null)
+                listener.onCancelled(null, RetryPolicy.unwrap(error));
         });
     }
 }
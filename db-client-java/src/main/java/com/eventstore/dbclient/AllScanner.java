@@ -0,0 +1,307 @@
+package com.eventstore.dbclient;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads the $all stream by splitting its position range into segments that are read concurrently, see
+ * {@link EventStoreDBClient#scanAll(ReadAllOptions, ScanAllOptions)}. Every segment has its own bounded buffer and only
+ * requests more events from the server when the caller consumed some of them.
+ * <p>
+ * The scanner must be closed if it's not consumed until the end, so the reads still running are cancelled.
+ */
+public class AllScanner implements Iterator<ResolvedEvent>, AutoCloseable {
+    private final GrpcClient client;
+    private final ReadAllOptions options;
+    private final List<Position> boundaries;
+    private final List<Segment> segments = new ArrayList<>();
+    private final BlockingQueue<Item> shared;
+    private final boolean ordered;
+    private final int bufferSize;
+    private int current = 0;
+    private int remaining;
+    private ResolvedEvent next;
+    private volatile boolean closed = false;
+    // Segments are started in order, at most `parallelism` of them run at the same time.
+    private int started = 0;
+
+    AllScanner(GrpcClient client, ReadAllOptions options, ScanAllOptions scanOptions, List<Position> boundaries) {
+        this.client = client;
+        this.options = options;
+        this.boundaries = boundaries;
+        this.ordered = scanOptions.isOrdered();
+        this.bufferSize = scanOptions.getBufferSize();
+        this.shared = this.ordered ? null : new ArrayBlockingQueue<>(Math.max(1, boundaries.size() * (this.bufferSize + 1)));
+
+        // Boundaries are segment starts, a segment ends where the next one begins. The first boundary is null when
+        // starting from the beginning of $all.
+        for (int i = 0; i < boundaries.size(); i++) {
+            Position end = i + 1 < boundaries.size() ? boundaries.get(i + 1) : null;
+            BlockingQueue<Item> queue = this.ordered ? new ArrayBlockingQueue<>(this.bufferSize + 1) : this.shared;
+            this.segments.add(new Segment(end, queue));
+        }
+
+        this.remaining = this.segments.size();
+
+        for (int i = 0; i < scanOptions.getParallelism(); i++)
+            startNext();
+    }
+
+    // Called once initially for every concurrent read, then every time a segment is done.
+    private void startNext() {
+        int index;
+
+        synchronized (this) {
+            if (this.closed || this.started >= this.segments.size())
+                return;
+
+            index = this.started++;
+        }
+
+        Position start = this.boundaries.get(index);
+        StreamPosition<Position> from = start == null ? StreamPosition.start() : StreamPosition.position(start);
+
+        new ReadAll(this.client, this.options, from, Long.MAX_VALUE).subscribe(this.segments.get(index));
+    }
+
+    // Splits the range going from `from` to the last event of $all on chunk boundaries. A chunk never contains a partial
+    // record, so chunk boundaries are valid read positions, as long as the chunk size matches the server's. They are
+    // only candidates though, see resolveBoundaries.
+    static List<Position> boundaries(StreamPosition<Position> from, Position last, int segments, long chunkSize) {
+        List<Position> boundaries = new ArrayList<>();
+
+        if (from.isEnd())
+            return boundaries;
+
+        Position start = from.isStart() ? null : from.getPositionOrThrow();
+        boundaries.add(start);
+
+        if (last == null)
+            return boundaries;
+
+        long firstChunk = (start == null ? 0 : start.getCommitUnsigned()) / chunkSize;
+        long lastChunk = last.getCommitUnsigned() / chunkSize;
+        long chunks = lastChunk - firstChunk + 1;
+        long count = Math.min(segments, chunks);
+
+        for (long i = 1; i < count; i++) {
+            long boundary = (firstChunk + i * chunks / count) * chunkSize;
+            boundaries.add(new Position(boundary, boundary));
+        }
+
+        return boundaries;
+    }
+
+    // Moves every candidate boundary but the first one to the first event at or after it, so segments start and end on
+    // positions of actual records. Candidates past the last event, or landing on the same event as the previous one,
+    // are dropped.
+    @SuppressWarnings("unchecked")
+    static CompletableFuture<List<Position>> resolveBoundaries(GrpcClient client, ReadAllOptions options, List<Position> candidates) {
+        List<CompletableFuture<ReadResult>> reads = new ArrayList<>();
+
+        for (int i = 1; i < candidates.size(); i++)
+            reads.add(EventStoreDBClient.readEventsFromPublisher(new ReadAll(client, options, StreamPosition.position(candidates.get(i)), 1)));
+
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<Position> boundaries = new ArrayList<>();
+            boundaries.add(candidates.get(0));
+
+            for (CompletableFuture<ReadResult> read : reads) {
+                List<ResolvedEvent> events = read.join().getEvents();
+
+                if (events.isEmpty())
+                    continue;
+
+                Position position = events.get(0).getOriginalEvent().getPosition();
+                Position previous = boundaries.get(boundaries.size() - 1);
+
+                if (previous == null || position.compareTo(previous) > 0)
+                    boundaries.add(position);
+            }
+
+            return boundaries;
+        });
+    }
+
+    /**
+     * Blocks until the next event is available or the scan ends.
+     * @throws RuntimeException if a segment failed.
+     */
+    @Override
+    public boolean hasNext() {
+        while (this.next == null && !this.closed && this.remaining > 0) {
+            Item item;
+
+            try {
+                item = this.ordered ? this.segments.get(this.current).queue.take() : this.shared.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException(e);
+            }
+
+            if (item.error != null) {
+                close();
+
+                if (item.error instanceof RuntimeException)
+                    throw (RuntimeException) item.error;
+
+                throw new RuntimeException(item.error);
+            }
+
+            if (item.event == null) {
+                this.remaining--;
+                this.current++;
+                continue;
+            }
+
+            item.segment.consumed();
+            this.next = item.event;
+        }
+
+        if (this.next == null && !this.closed)
+            close();
+
+        return this.next != null;
+    }
+
+    @Override
+    public ResolvedEvent next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        ResolvedEvent event = this.next;
+        this.next = null;
+        return event;
+    }
+
+    /**
+     * Cancels the segments still running.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed)
+                return;
+
+            this.closed = true;
+        }
+
+        this.next = null;
+
+        for (Segment segment : this.segments)
+            segment.cancel();
+    }
+
+    private static class Item {
+        final Segment segment;
+        final ResolvedEvent event;
+        final Throwable error;
+
+        Item(Segment segment, ResolvedEvent event, Throwable error) {
+            this.segment = segment;
+            this.event = event;
+            this.error = error;
+        }
+    }
+
+    private class Segment implements Subscriber<ReadMessage> {
+        private final Position end;
+        private final BlockingQueue<Item> queue;
+        private volatile Subscription subscription;
+        private volatile boolean finished = false;
+        // Only accessed by the consumer.
+        private int consumed = 0;
+
+        Segment(Position end, BlockingQueue<Item> queue) {
+            this.end = end;
+            this.queue = queue;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.subscription = s;
+
+            if (this.finished)
+                s.cancel();
+            else
+                s.request(bufferSize);
+        }
+
+        @Override
+        public void onNext(ReadMessage message) {
+            if (this.finished)
+                return;
+
+            if (!message.hasEvent()) {
+                // Doesn't take room in the buffer, so its credit can be given back right away.
+                this.subscription.request(1);
+                return;
+            }
+
+            ResolvedEvent event = message.getEvent();
+
+            if (this.end != null && event.getOriginalEvent().getPosition().compareTo(this.end) >= 0) {
+                this.finished = true;
+                this.subscription.cancel();
+                enqueue(new Item(this, null, null));
+                startNext();
+                return;
+            }
+
+            enqueue(new Item(this, event, null));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (this.finished)
+                return;
+
+            this.finished = true;
+            enqueue(new Item(this, null, t));
+            startNext();
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.finished)
+                return;
+
+            this.finished = true;
+            enqueue(new Item(this, null, null));
+            startNext();
+        }
+
+        // The buffer has room for all the events the segment requested plus its terminal item, so this never waits.
+        private void enqueue(Item item) {
+            try {
+                this.queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void consumed() {
+            if (++this.consumed >= Math.max(1, bufferSize / 2)) {
+                this.subscription.request(this.consumed);
+                this.consumed = 0;
+            }
+        }
+
+        void cancel() {
+            this.finished = true;
+
+            if (this.subscription != null)
+                this.subscription.cancel();
+        }
+    }
+}
@@ -7,40 +7,54 @@ import com.google.protobuf.ByteString;
 import io.grpc.ManagedChannel;
 import io.grpc.Metadata;
 import io.grpc.StatusRuntimeException;
-import io.grpc.stub.StreamObserver;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 class AppendToStream {
+    // Past that many event payload bytes, an append stops recording its events and isn't retried anymore.
+    static final int MAX_REPLAY_SIZE_IN_BYTES = 16 * 1_024 * 1_024;
     private final GrpcClient client;
     private final String streamName;
-    private final List<EventData> events;
+    // Events are pulled from the iterator while they are written, so a large append is never held in memory at once.
+    private final Iterator<EventData> events;
     private final AppendToStreamOptions options;
 
     public AppendToStream(GrpcClient client, String streamName, Iterator<EventData> events, AppendToStreamOptions options) {
         this.client = client;
         this.streamName = streamName;
-        this.events = new ArrayList<>();
-        while (events.hasNext()) {
-            this.events.add(events.next());
-        }
+        this.events = events;
         this.options = options;
     }
 
     public CompletableFuture<WriteResult> execute() {
-        return this.client.run(channel -> ClientTelemetry.traceAppend(
-                this::append,
-                channel,
-                events,
+        // A retried append sends the events pulled by the previous attempts again, they are only kept around when
+        // retries are enabled, and only up to MAX_REPLAY_SIZE_IN_BYTES. The server deduplicates them by event id.
+        final Replay replay = this.client.getSettings().getRetryAttempts() > 0 ? new Replay(this.events) : null;
+
+        return this.client.runWithRetry(args -> ClientTelemetry.traceAppend(
+                (channel, events) -> {
+                    // Falls back to the regular append when the server doesn't support BatchAppend.
+                    if (args.supportFeature(FeatureFlags.BATCH_APPEND) && BatchAppendStream.supports(this.client.getSettings(), this.options)) {
+                        return this.client.getBatchAppendStream(args).append(this.streamName, this.options, events);
+                    }
+
+                    return append(channel, events);
+                },
+                args.getChannel(),
+                replay != null ? replay.iterator() : this.events,
                 this.streamName,
                 this.client.getSettings(),
-                this.options.getCredentials()));
+                this.options.getCredentials()), error -> (replay == null || replay.canReplay()) && RetryPolicy.isTransient(error));
     }
 
-    private CompletableFuture<WriteResult> append(ManagedChannel channel, List<EventData> events) {
+    private CompletableFuture<WriteResult> append(ManagedChannel channel, Iterator<EventData> events) {
         CompletableFuture<WriteResult> result = new CompletableFuture<>();
         StreamsOuterClass.AppendReq.Options.Builder options = this.options.getExpectedRevision().applyOnWire(StreamsOuterClass.AppendReq.Options.newBuilder()
                 .setStreamIdentifier(Shared.StreamIdentifier.newBuilder()
@@ -48,7 +62,7 @@ class AppendToStream {
                         .build()));
         StreamsGrpc.StreamsStub client = GrpcUtils.configureStub(StreamsGrpc.newStub(channel), this.client.getSettings(), this.options);
 
-        StreamObserver<StreamsOuterClass.AppendReq> requestStream = client.append(GrpcUtils.convertSingleResponse(result, resp -> {
+        ClientResponseObserver<StreamsOuterClass.AppendReq, StreamsOuterClass.AppendResp> responseObserver = GrpcUtils.convertSingleResponse(result, resp -> {
             if (resp.hasSuccess()) {
                 StreamsOuterClass.AppendResp.Success success = resp.getSuccess();
 
@@ -88,44 +102,172 @@ class AppendToStream {
             }
 
             throw new IllegalStateException("AppendResponse has neither Success or WrongExpectedVersion variants");
-        }));
-
-        try {
-            requestStream.onNext(StreamsOuterClass.AppendReq.newBuilder().setOptions(options).build());
-
-            for (EventData e : events) {
-                StreamsOuterClass.AppendReq.ProposedMessage.Builder msgBuilder = StreamsOuterClass.AppendReq.ProposedMessage.newBuilder()
-                        .setId(Shared.UUID.newBuilder()
-                                .setStructured(Shared.UUID.Structured.newBuilder()
-                                        .setMostSignificantBits(e.getEventId().getMostSignificantBits())
-                                        .setLeastSignificantBits(e.getEventId().getLeastSignificantBits())))
-                        .setData(ByteString.copyFrom(e.getEventData()))
-                        .putMetadata(SystemMetadataKeys.CONTENT_TYPE, e.getContentType())
-                        .putMetadata(SystemMetadataKeys.TYPE, e.getEventType());
-
-                if (e.getUserMetadata() != null) {
-                    msgBuilder.setCustomMetadata(ByteString.copyFrom(e.getUserMetadata()));
+        });
+
+        Pump pump = new Pump(options.build(), events, result, this.client.getWorkerExecutor());
+        client.append(new ClientResponseObserver<StreamsOuterClass.AppendReq, StreamsOuterClass.AppendResp>() {
+            @Override
+            public void beforeStart(ClientCallStreamObserver<StreamsOuterClass.AppendReq> requestStream) {
+                pump.requestStream = requestStream;
+                requestStream.setOnReadyHandler(pump::resume);
+            }
+
+            @Override
+            public void onNext(StreamsOuterClass.AppendResp value) {
+                responseObserver.onNext(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                responseObserver.onError(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        });
+
+        // In case the stream was already ready by the time the handler got registered.
+        pump.run();
+
+        return result;
+    }
+
+    // Records the events pulled from the caller's iterator, so each attempt of the append goes through all of them. Once
+    // the recorded events exceed MAX_REPLAY_SIZE_IN_BYTES, they are dropped and the current attempt carries on straight
+    // from the caller's iterator, it is the last one.
+    static class Replay {
+        private final Iterator<EventData> source;
+        private final List<EventData> pulled = new ArrayList<>();
+        private long pulledSize = 0;
+        private boolean overflowed = false;
+
+        Replay(Iterator<EventData> source) {
+            this.source = source;
+        }
+
+        synchronized boolean canReplay() {
+            return !this.overflowed;
+        }
+
+        Iterator<EventData> iterator() {
+            return new Iterator<EventData>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    synchronized (Replay.this) {
+                        return (!overflowed && this.index < pulled.size()) || source.hasNext();
+                    }
                 }
 
-                requestStream.onNext(StreamsOuterClass.AppendReq.newBuilder()
-                        .setProposedMessage(msgBuilder)
-                        .build());
+                @Override
+                public EventData next() {
+                    synchronized (Replay.this) {
+                        if (!overflowed && this.index < pulled.size())
+                            return pulled.get(this.index++);
+
+                        EventData event = source.next();
+                        this.index++;
+
+                        if (!overflowed)
+                            record(event);
+
+                        return event;
+                    }
+                }
+            };
+        }
+
+        private void record(EventData event) {
+            this.pulledSize += event.getWireEventData().size() + (event.getWireUserMetadata() != null ? event.getWireUserMetadata().size() : 0);
+
+            if (this.pulledSize > MAX_REPLAY_SIZE_IN_BYTES) {
+                this.overflowed = true;
+                this.pulled.clear();
+                return;
             }
-            requestStream.onCompleted();
-        } catch (StatusRuntimeException e) {
-            String leaderHost = e.getTrailers().get(Metadata.Key.of("leader-endpoint-host", Metadata.ASCII_STRING_MARSHALLER));
-            String leaderPort = e.getTrailers().get(Metadata.Key.of("leader-endpoint-port", Metadata.ASCII_STRING_MARSHALLER));
-
-            if (leaderHost != null && leaderPort != null) {
-                NotLeaderException reason = new NotLeaderException(leaderHost, Integer.valueOf(leaderPort));
-                result.completeExceptionally(reason);
-            } else {
-                result.completeExceptionally(e);
+
+            this.pulled.add(event);
+        }
+    }
+
+    // Writes the append request as long as the transport accepts more messages, and resumes when gRPC signals the
+    // stream is ready again. Resumed writes run on the worker executor, so the caller's iterator is never pulled from a
+    // gRPC transport thread.
+    private static class Pump implements Runnable {
+        private final StreamsOuterClass.AppendReq.Options options;
+        private final Iterator<EventData> events;
+        private final CompletableFuture<WriteResult> result;
+        private final Executor executor;
+        private volatile ClientCallStreamObserver<StreamsOuterClass.AppendReq> requestStream;
+        private boolean optionsSent = false;
+        private boolean completed = false;
+
+        Pump(StreamsOuterClass.AppendReq.Options options, Iterator<EventData> events, CompletableFuture<WriteResult> result, Executor executor) {
+            this.options = options;
+            this.events = events;
+            this.result = result;
+            this.executor = executor;
+        }
+
+        void resume() {
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    if (this.completed)
+                        return;
+
+                    this.completed = true;
+                }
+
+                this.requestStream.cancel("Append failed", e);
+                this.result.completeExceptionally(new ConnectionShutdownException());
             }
-        } catch (RuntimeException e) {
-            result.completeExceptionally(e);
         }
 
-        return result;
+        @Override
+        public synchronized void run() {
+            ClientCallStreamObserver<StreamsOuterClass.AppendReq> requestStream = this.requestStream;
+
+            if (requestStream == null || this.completed || this.result.isDone()) {
+                return;
+            }
+
+            try {
+                if (!this.optionsSent) {
+                    requestStream.onNext(StreamsOuterClass.AppendReq.newBuilder().setOptions(this.options).build());
+                    this.optionsSent = true;
+                }
+
+                while (requestStream.isReady() && this.events.hasNext()) {
+                    requestStream.onNext(StreamsOuterClass.AppendReq.newBuilder()
+                            .setProposedMessage(ProposedMessages.toAppendMessage(this.events.next()))
+                            .build());
+                }
+
+                if (!this.events.hasNext()) {
+                    this.completed = true;
+                    requestStream.onCompleted();
+                }
+            } catch (StatusRuntimeException e) {
+                this.completed = true;
+                String leaderHost = e.getTrailers().get(Metadata.Key.of("leader-endpoint-host", Metadata.ASCII_STRING_MARSHALLER));
+                String leaderPort = e.getTrailers().get(Metadata.Key.of("leader-endpoint-port", Metadata.ASCII_STRING_MARSHALLER));
+
+                if (leaderHost != null && leaderPort != null) {
+                    NotLeaderException reason = new NotLeaderException(leaderHost, Integer.valueOf(leaderPort));
+                    result.completeExceptionally(reason);
+                } else {
+                    result.completeExceptionally(e);
+                }
+            } catch (RuntimeException e) {
+                this.completed = true;
+                requestStream.cancel("Append failed", e);
+                result.completeExceptionally(e);
+            }
+        }
     }
 }
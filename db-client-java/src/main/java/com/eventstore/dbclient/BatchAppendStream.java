@@ -0,0 +1,418 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsGrpc;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Duration;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Long-lived BatchAppend bidirectional stream. Appends issued concurrently on the same channel are multiplexed over
+ * that single stream and told apart by their correlation id. Events are pulled from the caller's iterator only when
+ * the transport is ready to take more, and never while holding the stream's lock: the thread issuing the append pulls
+ * chunks until the transport is full, then the worker executor resumes the append once the transport is ready again.
+ */
+class BatchAppendStream {
+    private static final Logger logger = LoggerFactory.getLogger(BatchAppendStream.class);
+    // Upper bound of event payload bytes we put in a single BatchAppendReq message before starting a new chunk.
+    private static final int MAX_CHUNK_SIZE_IN_BYTES = 1_024 * 1_024;
+    private static final long DEFAULT_DEADLINE_IN_MS = 10_000;
+
+    private final UUID channelId;
+    private final ManagedChannel channel;
+    private final EventStoreDBClientSettings settings;
+    private final Map<UUID, PendingAppend> pending = new ConcurrentHashMap<>();
+    // Set before the call starts, see ResponseObserver.beforeStart.
+    private volatile ClientCallStreamObserver<StreamsOuterClass.BatchAppendReq> requestStream;
+    // Appends waiting for the transport to be ready again.
+    private final ArrayDeque<OutgoingAppend> outgoing = new ArrayDeque<>();
+    private final Executor executor;
+    private volatile boolean closed;
+
+    BatchAppendStream(UUID channelId, ManagedChannel channel, EventStoreDBClientSettings settings, Executor executor) {
+        this.channelId = channelId;
+        this.channel = channel;
+        this.settings = settings;
+        this.executor = executor;
+
+        StreamsGrpc.StreamsStub stub = GrpcUtils.configureStub(StreamsGrpc.newStub(channel), settings, new BatchAppendOptions());
+        stub.batchAppend(new ResponseObserver());
+    }
+
+    /**
+     * Checks if that stream can still be used to multiplex appends for the given channel.
+     */
+    boolean isUsableFor(UUID channelId, ManagedChannel channel) {
+        return !this.closed && this.channelId.equals(channelId) && this.channel == channel;
+    }
+
+    /**
+     * Checks if an append request can be sent through a shared stream. Call-level credentials, headers or leader
+     * requirement would need their own gRPC call metadata, so those requests stick with the regular append.
+     */
+    static boolean supports(EventStoreDBClientSettings settings, OptionsBase<?> options) {
+        return !options.hasUserCredentials()
+                && options.getHeaders().isEmpty()
+                && (!options.isLeaderRequired() || settings.getNodePreference() == NodePreference.LEADER);
+    }
+
+    CompletableFuture<WriteResult> append(String streamName, AppendToStreamOptions options, Iterator<EventData> events) {
+        CompletableFuture<WriteResult> result = new CompletableFuture<>();
+        UUID correlationId = UUID.randomUUID();
+
+        StreamsOuterClass.BatchAppendReq.Options.Builder wireOptions = options.getExpectedRevision().applyOnWire(
+                StreamsOuterClass.BatchAppendReq.Options.newBuilder()
+                        .setStreamIdentifier(Shared.StreamIdentifier.newBuilder()
+                                .setStreamName(ByteString.copyFromUtf8(streamName))
+                                .build())
+                        .setDeadline(toDuration(getDeadline(options))));
+
+        this.pending.put(correlationId, new PendingAppend(streamName, result));
+        produce(new OutgoingAppend(correlationId, wireOptions.build(), events));
+
+        return result;
+    }
+
+    // Writes the chunks of an append as long as the transport accepts more messages, then parks it until the stream's
+    // onReady handler resumes it. The chunks are pulled from the caller's iterator outside the lock, which only
+    // serializes the writes.
+    private void produce(OutgoingAppend append) {
+        while (true) {
+            synchronized (this) {
+                if (this.closed) {
+                    fail(append.correlationId, closedError());
+                    return;
+                }
+
+                if (!this.requestStream.isReady()) {
+                    this.outgoing.add(append);
+                    return;
+                }
+            }
+
+            StreamsOuterClass.BatchAppendReq request;
+
+            try {
+                request = append.nextChunk();
+            } catch (RuntimeException e) {
+                fail(append.correlationId, e);
+                return;
+            }
+
+            synchronized (this) {
+                if (this.closed) {
+                    fail(append.correlationId, closedError());
+                    return;
+                }
+
+                try {
+                    this.requestStream.onNext(request);
+                } catch (RuntimeException e) {
+                    fail(append.correlationId, e);
+                    return;
+                }
+            }
+
+            if (append.isDone())
+                return;
+        }
+    }
+
+    // gRPC transport threads don't pull the callers' iterators, the worker executor does.
+    private void resume(List<OutgoingAppend> appends) {
+        for (OutgoingAppend append : appends) {
+            try {
+                this.executor.execute(() -> produce(append));
+            } catch (RejectedExecutionException e) {
+                fail(append.correlationId, closedError());
+            }
+        }
+    }
+
+    private List<OutgoingAppend> takeOutgoing() {
+        List<OutgoingAppend> appends = new ArrayList<>(this.outgoing);
+        this.outgoing.clear();
+        return appends;
+    }
+
+    private static StatusRuntimeException closedError() {
+        return Status.UNAVAILABLE.withDescription("BatchAppend stream is closed").asRuntimeException();
+    }
+
+    private void onReady() {
+        List<OutgoingAppend> appends;
+
+        synchronized (this) {
+            appends = takeOutgoing();
+        }
+
+        resume(appends);
+    }
+
+    private void fail(UUID correlationId, Throwable error) {
+        PendingAppend append = this.pending.remove(correlationId);
+
+        if (append != null)
+            append.result.completeExceptionally(error);
+    }
+
+    /**
+     * Half-closes the stream. The server still answers to appends that are already in-flight.
+     */
+    synchronized void close() {
+        if (this.closed)
+            return;
+
+        this.closed = true;
+
+        try {
+            failOutgoing(closedError());
+            this.requestStream.onCompleted();
+        } catch (RuntimeException e) {
+            logger.debug("Error when closing BatchAppend stream", e);
+        }
+    }
+
+    private long getDeadline(AppendToStreamOptions options) {
+        if (options.getDeadline() != null)
+            return options.getDeadline();
+
+        if (this.settings.getDefaultDeadline() != null)
+            return this.settings.getDefaultDeadline();
+
+        return DEFAULT_DEADLINE_IN_MS;
+    }
+
+    // Appends that still had events to send can't be completed on this stream anymore.
+    private void failOutgoing(Throwable error) {
+        OutgoingAppend append;
+        while ((append = this.outgoing.poll()) != null)
+            fail(append.correlationId, error);
+    }
+
+    private void failAll(Throwable error) {
+        this.closed = true;
+
+        synchronized (this) {
+            this.outgoing.clear();
+        }
+
+        for (UUID id : this.pending.keySet()) {
+            PendingAppend append = this.pending.remove(id);
+
+            if (append != null)
+                append.result.completeExceptionally(error);
+        }
+    }
+
+    private void onResponse(StreamsOuterClass.BatchAppendResp resp) {
+        UUID correlationId = fromWire(resp.getCorrelationId());
+        PendingAppend append = this.pending.remove(correlationId);
+
+        if (append == null) {
+            logger.warn("Received a BatchAppend response for an unknown correlation id [{}]", correlationId);
+            return;
+        }
+
+        if (resp.hasSuccess()) {
+            append.result.complete(toWriteResult(resp.getSuccess()));
+            return;
+        }
+
+        append.result.completeExceptionally(toException(append.streamName, resp.getError()));
+    }
+
+    static WriteResult toWriteResult(StreamsOuterClass.BatchAppendResp.Success success) {
+        Position logPosition = null;
+        if (success.hasPosition()) {
+            Shared.AllStreamPosition p = success.getPosition();
+            logPosition = new Position(p.getCommitPosition(), p.getPreparePosition());
+        }
+
+        ExpectedRevision nextExpectedRevision = success.hasNoStream() ? ExpectedRevision.noStream()
+                : ExpectedRevision.expectedRevision(success.getCurrentRevision());
+
+        return new WriteResult(nextExpectedRevision, logPosition);
+    }
+
+    static Throwable toException(String streamName, com.google.rpc.Status status) {
+        try {
+            if (status.getDetails().is(Shared.WrongExpectedVersion.class)) {
+                Shared.WrongExpectedVersion wev = status.getDetails().unpack(Shared.WrongExpectedVersion.class);
+
+                ExpectedRevision expectedRevision;
+                switch (wev.getExpectedStreamPositionOptionCase()) {
+                    case EXPECTED_ANY:
+                        expectedRevision = ExpectedRevision.any();
+                        break;
+                    case EXPECTED_STREAM_EXISTS:
+                        expectedRevision = ExpectedRevision.streamExists();
+                        break;
+                    case EXPECTED_NO_STREAM:
+                        expectedRevision = ExpectedRevision.noStream();
+                        break;
+                    default:
+                        expectedRevision = ExpectedRevision.expectedRevision(wev.getExpectedStreamPosition());
+                        break;
+                }
+
+                ExpectedRevision currentRevision = wev.hasCurrentNoStream() ? ExpectedRevision.noStream()
+                        : ExpectedRevision.expectedRevision(wev.getCurrentStreamRevision());
+
+                return new WrongExpectedVersionException(streamName, expectedRevision, currentRevision);
+            }
+
+            if (status.getDetails().is(Shared.StreamDeleted.class)) {
+                return new StreamDeletedException(streamName);
+            }
+        } catch (InvalidProtocolBufferException e) {
+            logger.warn("Unable to decode BatchAppend error details", e);
+        }
+
+        return Status.fromCodeValue(status.getCodeValue())
+                .withDescription(status.getMessage())
+                .asRuntimeException();
+    }
+
+    private static Throwable toException(Throwable t) {
+        if (t instanceof StatusRuntimeException) {
+            StatusRuntimeException e = (StatusRuntimeException) t;
+
+            if (e.getTrailers() != null) {
+                String leaderHost = e.getTrailers().get(Metadata.Key.of("leader-endpoint-host", Metadata.ASCII_STRING_MARSHALLER));
+                String leaderPort = e.getTrailers().get(Metadata.Key.of("leader-endpoint-port", Metadata.ASCII_STRING_MARSHALLER));
+
+                if (leaderHost != null && leaderPort != null) {
+                    return new NotLeaderException(leaderHost, Integer.valueOf(leaderPort));
+                }
+            }
+        }
+
+        return t;
+    }
+
+    private static UUID fromWire(Shared.UUID id) {
+        if (id.hasStructured()) {
+            return new UUID(id.getStructured().getMostSignificantBits(), id.getStructured().getLeastSignificantBits());
+        }
+
+        return UUID.fromString(id.getString());
+    }
+
+    private static Duration toDuration(long millis) {
+        return Duration.newBuilder()
+                .setSeconds(millis / 1_000)
+                .setNanos((int) ((millis % 1_000) * 1_000_000))
+                .build();
+    }
+
+    private class ResponseObserver implements ClientResponseObserver<StreamsOuterClass.BatchAppendReq, StreamsOuterClass.BatchAppendResp> {
+        @Override
+        public void beforeStart(ClientCallStreamObserver<StreamsOuterClass.BatchAppendReq> requestStream) {
+            BatchAppendStream.this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(BatchAppendStream.this::onReady);
+        }
+
+        @Override
+        public void onNext(StreamsOuterClass.BatchAppendResp value) {
+            onResponse(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            logger.debug("BatchAppend stream on channel [{}] failed", channelId, t);
+            failAll(toException(t));
+        }
+
+        @Override
+        public void onCompleted() {
+            failAll(Status.UNAVAILABLE.withDescription("BatchAppend stream completed by the server").asRuntimeException());
+        }
+    }
+
+    // Builds the BatchAppendReq chunks of one append as its events are pulled from the caller's iterator. The first
+    // chunk carries the options and the last one is flagged as final.
+    private static class OutgoingAppend {
+        final UUID correlationId;
+        private final Shared.UUID wireCorrelationId;
+        private final Iterator<EventData> events;
+        private StreamsOuterClass.BatchAppendReq.Options options;
+        private EventData next;
+        private boolean done = false;
+
+        OutgoingAppend(UUID correlationId, StreamsOuterClass.BatchAppendReq.Options options, Iterator<EventData> events) {
+            this.correlationId = correlationId;
+            this.wireCorrelationId = ProposedMessages.toWire(correlationId);
+            this.options = options;
+            this.events = events;
+        }
+
+        boolean isDone() {
+            return this.done;
+        }
+
+        StreamsOuterClass.BatchAppendReq nextChunk() {
+            StreamsOuterClass.BatchAppendReq.Builder chunk = StreamsOuterClass.BatchAppendReq.newBuilder()
+                    .setCorrelationId(this.wireCorrelationId);
+
+            if (this.options != null) {
+                chunk.setOptions(this.options);
+                this.options = null;
+            }
+
+            int chunkSize = 0;
+            while (this.next != null || this.events.hasNext()) {
+                EventData event = this.next != null ? this.next : this.events.next();
+                int eventSize = event.getWireEventData().size() + (event.getWireUserMetadata() != null ? event.getWireUserMetadata().size() : 0);
+
+                if (chunk.getProposedMessagesCount() > 0 && chunkSize + eventSize > MAX_CHUNK_SIZE_IN_BYTES) {
+                    this.next = event;
+                    return chunk.build();
+                }
+
+                this.next = null;
+                chunk.addProposedMessages(ProposedMessages.toBatchAppendMessage(event));
+                chunkSize += eventSize;
+            }
+
+            this.done = true;
+            return chunk.setIsFinal(true).build();
+        }
+    }
+
+    private static class PendingAppend {
+        final String streamName;
+        final CompletableFuture<WriteResult> result;
+
+        PendingAppend(String streamName, CompletableFuture<WriteResult> result) {
+            this.streamName = streamName;
+            this.result = result;
+        }
+    }
+
+    private static class BatchAppendOptions extends OptionsBase<BatchAppendOptions> {
+        BatchAppendOptions() {
+            super(OperationKind.Streaming);
+        }
+    }
+}
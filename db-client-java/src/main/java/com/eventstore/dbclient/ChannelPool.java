@@ -0,0 +1,181 @@
+package com.eventstore.dbclient;
+
+import io.grpc.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Several channels to the same node, seen by the rest of the client as a single channel.
+ * <p>
+ * A channel is a single HTTP/2 connection, bound by the server's max concurrent streams and framed by a single event
+ * loop. Each call goes to the request channel with the fewest calls in flight, ties being broken round-robin. Calls
+ * marked with {@link #SUBSCRIPTION} go to the subscription channels instead, if there are any, so long-running
+ * subscriptions don't compete with request/response traffic on the same connections.
+ * </p>
+ */
+class ChannelPool extends ManagedChannel {
+    /**
+     * Marks a call as a long-running subscription.
+     */
+    static final CallOptions.Key<Boolean> SUBSCRIPTION = CallOptions.Key.createWithDefault("esdb-subscription", false);
+
+    private final Member[] requests;
+    private final Member[] subscriptions;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ChannelPool(List<ManagedChannel> requests, List<ManagedChannel> subscriptions) {
+        if (requests.isEmpty())
+            throw new IllegalArgumentException("A channel pool needs at least one request channel");
+
+        this.requests = toMembers(requests);
+        this.subscriptions = toMembers(subscriptions);
+    }
+
+    private static Member[] toMembers(List<ManagedChannel> channels) {
+        Member[] members = new Member[channels.size()];
+
+        for (int i = 0; i < members.length; i++)
+            members[i] = new Member(channels.get(i));
+
+        return members;
+    }
+
+    private Member select(CallOptions callOptions) {
+        Member[] members = callOptions.getOption(SUBSCRIPTION) && this.subscriptions.length > 0 ? this.subscriptions : this.requests;
+
+        if (members.length == 1)
+            return members[0];
+
+        int start = Math.floorMod(this.next.getAndIncrement(), members.length);
+        Member selected = members[start];
+
+        for (int i = 1; i < members.length && selected.inFlight.get() > 0; i++) {
+            Member candidate = members[(start + i) % members.length];
+
+            if (candidate.inFlight.get() < selected.inFlight.get())
+                selected = candidate;
+        }
+
+        return selected;
+    }
+
+    // Visible for testing.
+    int[] inFlight(boolean subscription) {
+        Member[] members = subscription ? this.subscriptions : this.requests;
+        int[] counts = new int[members.length];
+
+        for (int i = 0; i < members.length; i++)
+            counts[i] = members[i].inFlight.get();
+
+        return counts;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+        Member member = select(callOptions);
+        return member.track(member.channel.newCall(methodDescriptor, callOptions));
+    }
+
+    @Override
+    public String authority() {
+        return this.requests[0].channel.authority();
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        for (Member member : this.requests)
+            member.channel.shutdown();
+
+        for (Member member : this.subscriptions)
+            member.channel.shutdown();
+
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        for (Member member : this.requests)
+            member.channel.shutdownNow();
+
+        for (Member member : this.subscriptions)
+            member.channel.shutdownNow();
+
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.requests[0].channel.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (Member member : this.requests) {
+            if (!member.channel.isTerminated())
+                return false;
+        }
+
+        for (Member member : this.subscriptions) {
+            if (!member.channel.isTerminated())
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        for (Member member : this.requests) {
+            if (!member.channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                return false;
+        }
+
+        for (Member member : this.subscriptions) {
+            if (!member.channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelPool[authority=" + authority() + ", requests=" + this.requests.length + ", subscriptions=" + this.subscriptions.length + "]";
+    }
+
+    private static final class Member {
+        final ManagedChannel channel;
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        Member(ManagedChannel channel) {
+            this.channel = channel;
+        }
+
+        // Counts the call from the moment it starts until the moment it's closed, whatever its outcome.
+        <ReqT, RespT> ClientCall<ReqT, RespT> track(ClientCall<ReqT, RespT> call) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(call) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    inFlight.incrementAndGet();
+
+                    try {
+                        super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                inFlight.decrementAndGet();
+                                super.onClose(status, trailers);
+                            }
+                        }, headers);
+                    } catch (RuntimeException e) {
+                        inFlight.decrementAndGet();
+                        throw e;
+                    }
+                }
+            };
+        }
+    }
+}
@@ -9,8 +9,8 @@ import io.opentelemetry.api.trace.*;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -28,17 +28,25 @@ class ClientTelemetry {
                 ClientTelemetry.class.getPackage().getImplementationVersion());
     }
 
-    private static List<EventData> tryInjectTracingContext(Span span, List<EventData> events) {
-        List<EventData> injectedEvents = new ArrayList<>();
-        for (EventData event : events) {
-            boolean isJsonEvent = Objects.equals(event.getContentType(), ContentType.JSON);
-
-            injectedEvents.add(EventDataBuilder
-                    .binary(event.getEventId(), event.getEventType(), event.getEventData(), isJsonEvent)
-                    .metadataAsBytes(tryInjectTracingContext(span, event.getUserMetadata()))
-                    .build());
-        }
-        return injectedEvents;
+    // Events are decorated as they are pulled, so the append can stream them without building a second batch.
+    private static Iterator<EventData> tryInjectTracingContext(Span span, Iterator<EventData> events) {
+        return new Iterator<EventData>() {
+            @Override
+            public boolean hasNext() {
+                return events.hasNext();
+            }
+
+            @Override
+            public EventData next() {
+                EventData event = events.next();
+                boolean isJsonEvent = Objects.equals(event.getContentType(), ContentType.JSON);
+
+                return EventDataBuilder
+                        .binary(event.getEventId(), event.getEventType(), event.getWireEventData(), isJsonEvent)
+                        .metadataAsBytes(tryInjectTracingContext(span, event.getUserMetadata()))
+                        .build();
+            }
+        };
     }
 
     private static byte[] tryInjectTracingContext(Span span, byte[] userMetadataBytes) {
@@ -58,12 +66,12 @@ class ClientTelemetry {
         }
     }
 
-    private static SpanContext tryExtractTracingContext(byte[] userMetadataBytes) {
-        if (userMetadataBytes == null)
+    private static SpanContext tryExtractTracingContext(InputStream userMetadataStream) {
+        if (userMetadataStream == null)
             return null;
 
         try {
-            ObjectNode userMetadata = new ObjectMapper().readValue(userMetadataBytes, ObjectNode.class);
+            ObjectNode userMetadata = new ObjectMapper().readValue(userMetadataStream, ObjectNode.class);
 
             JsonNode traceIdNode = userMetadata.get(ClientTelemetryConstants.Metadata.TRACE_ID);
             JsonNode spanIdNode = userMetadata.get(ClientTelemetryConstants.Metadata.SPAN_ID);
@@ -85,9 +93,9 @@ class ClientTelemetry {
     }
 
     static CompletableFuture<WriteResult> traceAppend(
-            BiFunction<ManagedChannel, List<EventData>, CompletableFuture<WriteResult>> appendOperation,
+            BiFunction<ManagedChannel, Iterator<EventData>, CompletableFuture<WriteResult>> appendOperation,
             ManagedChannel channel,
-            List<EventData> events, String streamId, EventStoreDBClientSettings settings,
+            Iterator<EventData> events, String streamId, EventStoreDBClientSettings settings,
             UserCredentials optionalCallCredentials) {
         Span span = createSpan(
                 ClientTelemetryConstants.Operations.APPEND,
@@ -127,7 +135,7 @@ class ClientTelemetry {
             return;
         }
 
-        SpanContext remoteParentContext = tryExtractTracingContext(event.getUserMetadata());
+        SpanContext remoteParentContext = tryExtractTracingContext(event.getUserMetadataStream());
 
         if (remoteParentContext == null) {
             tracedOperation.run();
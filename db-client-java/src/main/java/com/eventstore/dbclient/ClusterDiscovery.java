@@ -32,57 +32,146 @@ class ClusterDiscovery implements Discovery {
         }
     }
 
-    private static CompletableFuture<Optional<ClusterInfo.Member>> attemptDiscovery(NodeSelector selector, ConnectionState factory, InetSocketAddress seed) {
-        factory.connect(seed);
-        GossipClient client = new GossipClient(factory.getSettings(), factory.getCurrentChannel());
-        return client.read().thenApply(info -> {
-            if (factory.getLastConnectedEndpoint() != null) {
-                info.getMembers().removeIf(member -> member.getHttpEndpoint().equals(factory.getLastConnectedEndpoint()));
-            }
-
-            return selector.determineBestFitNode(info);
-        });
-    }
-
     @Override
     public CompletableFuture<Void> run(ConnectionState state) {
         return CompletableFuture.runAsync(() -> discover(state));
     }
 
+    // Every seed is asked for the cluster gossip at the same time, each one over its own short-lived channel. A node is
+    // selected once half of the seeds, rounded up, picked it, so a seed stuck with a stale view, like a partitioned
+    // former leader, can't win on its own in a 3 node cluster. A pick is void when another seed reports that node as
+    // dead. A dead seed costs nothing as long as enough others answer: once every seed answered or the gossip timeout
+    // elapsed, the node with the most picks wins.
     void discover(ConnectionState state) {
         List<InetSocketAddress> candidates = resolution.resolve();
+        InetSocketAddress lastConnected = state.getLastConnectedEndpoint();
 
         if (candidates.size() > 1) {
             Collections.shuffle(candidates);
 
-            if (state.getLastConnectedEndpoint() != null) {
-                candidates.removeIf(candidate -> candidate.equals(state.getLastConnectedEndpoint()));
+            if (lastConnected != null) {
+                candidates.removeIf(candidate -> candidate.equals(lastConnected));
             }
         }
 
-        for (InetSocketAddress seed : candidates) {
-            logger.debug("Using seed node [{}] for cluster node discovery.", seed);
-            try {
-                Optional<ClusterInfo.Member> optionalMember = attemptDiscovery(this.nodeSelector, state, seed)
-                        .get(state.getSettings().getGossipTimeout(), TimeUnit.MILLISECONDS);
+        if (candidates.isEmpty())
+            throw new NoClusterNodeFoundException();
 
-                if (optionalMember.isPresent()) {
-                    ClusterInfo.Member member = optionalMember.get();
+        Votes votes = new Votes((candidates.size() + 1) / 2, candidates.size());
+        List<GossipClient> clients = new ArrayList<>();
+        ClusterInfo.Member member;
 
-                    if (!member.getHttpEndpoint().equals(state.getLastConnectedEndpoint())) {
-                        state.connect(member.getHttpEndpoint());
+        try {
+            for (InetSocketAddress seed : candidates) {
+                logger.debug("Using seed node [{}] for cluster node discovery.", seed);
+                GossipClient client = new GossipClient(state.getSettings(), state.openGossipChannel(seed));
+                clients.add(client);
+
+                client.read().whenComplete((info, error) -> {
+                    if (error != null) {
+                        logger.debug("Gossip request to seed node [{}] failed", seed, error);
+                        votes.add(null, null);
+                        return;
+                    }
+
+                    if (lastConnected != null) {
+                        info.getMembers().removeIf(m -> m.getHttpEndpoint().equals(lastConnected));
                     }
 
-                    logger.debug("Selected cluster node [{}] in state [{}] for connection attempt.", member.getHttpEndpoint(), member.getState());
+                    votes.add(info, this.nodeSelector.determineBestFitNode(info).orElse(null));
+                });
+            }
+
+            try {
+                member = votes.selected.get(state.getSettings().getGossipTimeout(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                member = votes.settle().orElseThrow(() -> e);
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Exception during the node selection process", e);
+            throw new NoClusterNodeFoundException();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            for (GossipClient client : clients)
+                client.cancel();
+        }
+
+        state.connect(member.getHttpEndpoint());
+        logger.debug("Selected cluster node [{}] in state [{}] for connection attempt.", member.getHttpEndpoint(), member.getState());
+    }
+
+    // Picks of the seeds that answered so far.
+    private static class Votes {
+        private final CompletableFuture<ClusterInfo.Member> selected = new CompletableFuture<>();
+        private final List<ClusterInfo> views = new ArrayList<>();
+        private final List<ClusterInfo.Member> picks = new ArrayList<>();
+        private final int quorum;
+        private int pending;
+
+        Votes(int quorum, int seeds) {
+            this.quorum = quorum;
+            this.pending = seeds;
+        }
+
+        synchronized void add(ClusterInfo view, ClusterInfo.Member pick) {
+            if (view != null) {
+                this.views.add(view);
+                this.picks.add(pick);
+            }
+
+            this.pending--;
+
+            for (ClusterInfo.Member candidate : this.picks) {
+                if (candidate != null && count(candidate) >= this.quorum) {
+                    this.selected.complete(candidate);
                     return;
                 }
-            } catch (ExecutionException | TimeoutException e) {
-                logger.error("Exception during the node selection process", e);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+            }
+
+            if (this.pending == 0) {
+                Optional<ClusterInfo.Member> best = settle();
+
+                if (best.isPresent())
+                    this.selected.complete(best.get());
+                else
+                    this.selected.completeExceptionally(new NoClusterNodeFoundException());
             }
         }
 
-        throw new NoClusterNodeFoundException();
+        synchronized Optional<ClusterInfo.Member> settle() {
+            ClusterInfo.Member best = null;
+            int bestCount = 0;
+
+            // Earlier answers win ties.
+            for (ClusterInfo.Member candidate : this.picks) {
+                int count = candidate == null ? 0 : count(candidate);
+
+                if (count > bestCount) {
+                    best = candidate;
+                    bestCount = count;
+                }
+            }
+
+            return Optional.ofNullable(best);
+        }
+
+        private int count(ClusterInfo.Member candidate) {
+            for (ClusterInfo view : this.views) {
+                for (ClusterInfo.Member member : view.getMembers()) {
+                    if (!member.isAlive() && member.getHttpEndpoint().equals(candidate.getHttpEndpoint()))
+                        return 0;
+                }
+            }
+
+            int count = 0;
+
+            for (ClusterInfo.Member pick : this.picks) {
+                if (pick != null && pick.getHttpEndpoint().equals(candidate.getHttpEndpoint()))
+                    count++;
+            }
+
+            return count;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,109 @@
+package com.eventstore.dbclient;
+
+import io.grpc.ManagedChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Polls the gossip of the node the client is connected to, in the background. When another node fits the node
+ * preference better, typically after a leader election, a channel to that node is opened and checked before the
+ * connection loop switches to it. Operations then move to the new node without waiting for one of them to fail and
+ * for a discovery round trip.
+ * <p>
+ * The switch retires the previous channel, so subscriptions running on it are cancelled once the drain timeout
+ * elapses, see {@link ConnectionState}. A node is only left for one that fits the preference strictly better, so the
+ * client doesn't move back and forth between equally good nodes.
+ * </p>
+ */
+class ClusterMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMonitor.class);
+    private final EventStoreDBClientSettings settings;
+    private final ConnectionState connection;
+    private final AtomicReference<WorkItemArgs> currentArgs;
+    private final Consumer<Msg> mailbox;
+    private final NodeSelector nodeSelector;
+    private final ScheduledExecutorService scheduler;
+
+    ClusterMonitor(EventStoreDBClientSettings settings, ConnectionState connection, AtomicReference<WorkItemArgs> currentArgs, Consumer<Msg> mailbox) {
+        this.settings = settings;
+        this.connection = connection;
+        this.currentArgs = currentArgs;
+        this.mailbox = mailbox;
+        this.nodeSelector = new NodeSelector(settings.getNodePreference());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "esdb-cluster-monitor-" + UUID.randomUUID());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void start() {
+        long interval = this.settings.getGossipPollInterval();
+        this.scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+
+    private void poll() {
+        // Nothing to compare with while the connection loop is (re)connecting.
+        WorkItemArgs args = this.currentArgs.get();
+
+        if (args == null)
+            return;
+
+        try {
+            ClusterInfo info = new GossipClient(this.settings, args.getChannel())
+                    .read()
+                    .get(this.settings.getGossipTimeout(), TimeUnit.MILLISECONDS);
+
+            Optional<ClusterInfo.Member> best = this.nodeSelector.determineBestFitNode(info);
+
+            if (!best.isPresent() || isGoodEnough(info, args, best.get()))
+                return;
+
+            ClusterInfo.Member member = best.get();
+            logger.info("Node [{}] in state [{}] is a better fit than [{}], switching to it", member.getHttpEndpoint(), member.getState(), args.getEndpoint());
+            ManagedChannel channel = this.connection.open(member.getHttpEndpoint());
+
+            try {
+                // Also establishes the connection, so the switch doesn't wait for it.
+                ServerInfo serverInfo = ServerFeatures.getSupportedFeatures(this.settings, channel).orElse(null);
+                this.mailbox.accept(new SwitchChannel(args.getId(), member.getHttpEndpoint(), channel, serverInfo));
+            } catch (RuntimeException e) {
+                ConnectionState.discard(channel);
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            // The connection loop deals with unreachable nodes when operations fail, we just try again later.
+            logger.debug("Background gossip poll on endpoint [{}] failed", args.getEndpoint(), e);
+        }
+    }
+
+    private boolean isGoodEnough(ClusterInfo info, WorkItemArgs args, ClusterInfo.Member best) {
+        for (ClusterInfo.Member member : info.getMembers()) {
+            if (!member.getHttpEndpoint().equals(args.getEndpoint()))
+                continue;
+
+            if (!member.isAlive() || !NodeSelector.isEligible(member))
+                return false;
+
+            return this.settings.getNodePreference() == NodePreference.RANDOM || member.getState() == best.getState();
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventstore.dbclient;
+
+/**
+ * When an operation is rejected because the client already has as many operations in flight as its adaptive
+ * concurrency limit allows. See {@link ConcurrencyLimitPolicy#REJECT}.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    private final int limit;
+
+    ConcurrencyLimitExceededException(int limit) {
+        super(String.format("Too many operations in flight, the current limit is %d", limit));
+        this.limit = limit;
+    }
+
+    /**
+     * Concurrency limit when the operation was rejected.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
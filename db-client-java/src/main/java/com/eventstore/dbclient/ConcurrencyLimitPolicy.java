@@ -0,0 +1,19 @@
+package com.eventstore.dbclient;
+
+/**
+ * What happens to an operation issued while the client already has as many operations in flight as its adaptive
+ * concurrency limit allows.
+ */
+public enum ConcurrencyLimitPolicy {
+    /**
+     * The operation waits for an operation in flight to complete. Waiting operations count as pending operations, see
+     * {@link ConnectionSettingsBuilder#maxPendingOperations(int)} and
+     * {@link ConnectionSettingsBuilder#connectionWaitTimeout(int)}.
+     */
+    WAIT,
+
+    /**
+     * The operation fails right away with {@link ConcurrencyLimitExceededException}.
+     */
+    REJECT
+}
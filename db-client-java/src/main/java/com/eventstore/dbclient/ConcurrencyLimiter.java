@@ -0,0 +1,182 @@
+package com.eventstore.dbclient;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Adaptive limit of the operations a client has in flight.
+ * <p>
+ * The limit is adjusted with the gradient between the long-term average round-trip time and the latest one: as long as
+ * round-trip times are stable the limit grows by about its square root, once they rise because operations start
+ * queueing on the node, the limit shrinks proportionally. Operations failing with an overload error, like an exceeded
+ * deadline, shrink it too. The client therefore stays near the knee of the node's latency curve rather than piling up
+ * operations the node can't serve.
+ * </p>
+ */
+class ConcurrencyLimiter {
+    private static final int INITIAL_LIMIT = 20;
+    private static final int MIN_LIMIT = 1;
+    // Share of the new estimate in the limit, damps the oscillations.
+    private static final double SMOOTHING = 0.2;
+    // How far above the long-term average the round-trip time can be before the limit shrinks.
+    private static final double TOLERANCE = 1.5;
+    private static final double LONG_WINDOW = 600;
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double BACKOFF_RATIO = 0.9;
+    private final int maxLimit;
+    private final ConcurrencyLimitPolicy policy;
+    private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private double limit;
+    private int inFlight = 0;
+    private double longRtt = 0;
+    private long samples = 0;
+    private boolean closed = false;
+
+    ConcurrencyLimiter(int maxLimit, ConcurrencyLimitPolicy policy) {
+        this.maxLimit = maxLimit;
+        this.policy = policy;
+        this.limit = Math.min(INITIAL_LIMIT, maxLimit);
+    }
+
+    /**
+     * Completes once the operation can start. Every acquired slot must be released.
+     */
+    CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            if (this.closed)
+                return failed(new ConnectionShutdownException());
+
+            if (this.inFlight < (int) this.limit) {
+                this.inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+
+            if (this.policy == ConcurrencyLimitPolicy.REJECT)
+                return failed(new ConcurrencyLimitExceededException((int) this.limit));
+
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            this.waiting.add(slot);
+
+            return slot;
+        }
+    }
+
+    /**
+     * Gives up on a slot returned by {@link #acquire()} that wasn't granted yet. Returns false if the slot was granted
+     * in the meantime, the operation then owns it and has to release it.
+     */
+    synchronized boolean cancel(CompletableFuture<Void> slot) {
+        return this.waiting.remove(slot);
+    }
+
+    /**
+     * Frees the slot of an operation started at the given time (as per {@link System#nanoTime()}), and adjusts the
+     * limit according to its outcome.
+     */
+    void release(long startedAt, Throwable error) {
+        this.release(System.nanoTime() - startedAt, error, true);
+    }
+
+    /**
+     * Frees the slot of an operation whose duration says nothing about the node's latency, like a read or a
+     * subscription, without adjusting the limit.
+     */
+    void release() {
+        this.release(0, null, false);
+    }
+
+    private void release(long rtt, Throwable error, boolean sample) {
+        List<CompletableFuture<Void>> ready = new ArrayList<>();
+
+        synchronized (this) {
+            this.inFlight--;
+
+            if (sample) {
+                if (error == null)
+                    this.onSample(rtt);
+                else if (isOverload(error))
+                    this.limit = Math.max(MIN_LIMIT, this.limit * BACKOFF_RATIO);
+            }
+
+            while (!this.waiting.isEmpty() && this.inFlight < (int) this.limit) {
+                this.inFlight++;
+                ready.add(this.waiting.poll());
+            }
+        }
+
+        // Waiting operations start outside the lock.
+        for (CompletableFuture<Void> slot : ready)
+            slot.complete(null);
+    }
+
+    private void onSample(long rtt) {
+        this.samples++;
+
+        if (this.samples <= WARMUP_SAMPLES) {
+            this.longRtt += (rtt - this.longRtt) / this.samples;
+            return;
+        }
+
+        this.longRtt += (rtt - this.longRtt) / LONG_WINDOW;
+
+        // When the round-trip time dropped well below the long-term average, like after a burst, the average catches
+        // up faster, otherwise the limit would keep growing on stale evidence.
+        if (this.longRtt > 2.0 * rtt)
+            this.longRtt *= 0.95;
+
+        // The client isn't using its limit, there is nothing to learn about the node's capacity.
+        if (this.inFlight < this.limit / 2)
+            return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * this.longRtt / Math.max(1, rtt)));
+        double estimate = this.limit * gradient + Math.sqrt(this.limit);
+        double next = this.limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+
+        this.limit = Math.max(MIN_LIMIT, Math.min(this.maxLimit, next));
+    }
+
+    private static boolean isOverload(Throwable error) {
+        Throwable cause = RetryPolicy.unwrap(error);
+
+        if (!(cause instanceof StatusRuntimeException))
+            return false;
+
+        Status.Code code = ((StatusRuntimeException) cause).getStatus().getCode();
+        return code == Status.Code.DEADLINE_EXCEEDED || code == Status.Code.RESOURCE_EXHAUSTED;
+    }
+
+    private static CompletableFuture<Void> failed(Exception e) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        result.completeExceptionally(e);
+        return result;
+    }
+
+    synchronized int getLimit() {
+        return (int) this.limit;
+    }
+
+    synchronized int getInFlight() {
+        return this.inFlight;
+    }
+
+    /**
+     * Fails the operations still waiting for a slot.
+     */
+    void close() {
+        List<CompletableFuture<Void>> pending;
+
+        synchronized (this) {
+            this.closed = true;
+            pending = new ArrayList<>(this.waiting);
+            this.waiting.clear();
+        }
+
+        for (CompletableFuture<Void> slot : pending)
+            slot.completeExceptionally(new ConnectionShutdownException());
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventstore.dbclient;
+
+class ConnectionAttemptCompleted implements Msg {
+    final int attempt;
+    final ServerInfo serverInfo;
+    final Exception error;
+
+    public ConnectionAttemptCompleted(int attempt, ServerInfo serverInfo, Exception error) {
+        this.attempt = attempt;
+        this.serverInfo = serverInfo;
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionAttemptCompleted[attempt=" + attempt + ", success=" + (error == null) + "]";
+    }
+
+    @Override
+    public void accept(ConnectionService connectionService) {
+        connectionService.attemptCompleted(this);
+    }
+}
@@ -5,10 +5,16 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Main gRPC connection management service.
@@ -21,16 +27,38 @@ class ConnectionService implements Runnable {
     private final Discovery discovery;
     private final EventStoreDBClientSettings settings;
     private final ConnectionState connection;
+    // Snapshot of the confirmed channel, read by callers to run operations without going through the message loop.
+    private final AtomicReference<WorkItemArgs> currentArgs;
+    private final ClusterMonitor monitor;
+    // Runs the connection attempts and the drain of replaced channels, off the connection loop.
+    private final ScheduledExecutorService scheduler;
+    // Operations waiting for a confirmed channel.
+    private final List<RunWorkItem> waiting = new ArrayList<>();
     private UUID channelId = UUID.randomUUID();
     private ServerInfo serverInfo = null;
+    private boolean connecting = false;
+    private int attempts = 0;
 
-    ConnectionService(EventStoreDBClientSettings settings, Discovery discovery) {
+    ConnectionService(EventStoreDBClientSettings settings, Discovery discovery, ConcurrencyLimiter limiter, AtomicInteger pending) {
         this.settings = settings;
         this.discovery = discovery;
-        this.connection = new ConnectionState(settings);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "esdb-connection-" + UUID.randomUUID());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.connection = new ConnectionState(settings, this.scheduler);
         this.queue = new LinkedBlockingQueue<>();
         this.closed = new AtomicBoolean(false);
-        this.client = new GrpcClient(settings, this.closed, this.queue);
+        this.currentArgs = new AtomicReference<>();
+        this.client = new GrpcClient(settings, this.closed, this.queue, this.currentArgs, limiter, pending);
+
+        if (discovery instanceof ClusterDiscovery && settings.getGossipPollInterval() > 0) {
+            this.monitor = new ClusterMonitor(settings, this.connection, this.currentArgs, this.queue::offer);
+            this.monitor.start();
+        } else {
+            this.monitor = null;
+        }
     }
 
     GrpcClient getHandle() {
@@ -54,28 +82,6 @@ class ConnectionService implements Runnable {
         }
     }
 
-    private void sleep(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            logger.error("Thread is interrupted", e);
-            throw new RuntimeException(e);
-        }
-    }
-
-    private boolean loadServerFeatures() {
-        try {
-            this.serverInfo = ServerFeatures
-                    .getSupportedFeatures(this.settings, this.connection.getCurrentChannel())
-                    .orElse(null);
-
-            return true;
-        } catch (ServerFeatures.RetryableException e) {
-            logger.warn("An exception happened when fetching server supported features. Retrying connection attempt.", e);
-            return false;
-        }
-    }
-
     private void drainPendingRequests() {
         logger.debug("Draining pending requests...");
         ArrayList<Msg> msgs = new ArrayList<>();
@@ -110,46 +116,120 @@ class ConnectionService implements Runnable {
             return;
         }
 
-        for (int attempts = 1; attempts <= this.settings.getMaxDiscoverAttempts() + 1; attempts++) {
-            if (attempts > this.settings.getMaxDiscoverAttempts()) {
-                logger.error("Maximum discovery attempt count reached: {}", settings.getMaxDiscoverAttempts());
-                this.forceExit();
-                return;
-            }
+        if (this.connecting) {
+            logger.debug("Skipping connection attempt as a connection attempt is already in progress.");
+            return;
+        }
+
+        // From now on, operations have to wait for the new channel to be confirmed.
+        this.currentArgs.set(null);
+        this.connecting = true;
+        this.attempts = 0;
+        this.scheduleAttempt(candidate, 0);
+    }
+
+    private void scheduleAttempt(InetSocketAddress candidate, long delayInMs) {
+        if (this.attempts >= this.settings.getMaxDiscoverAttempts()) {
+            logger.error("Maximum discovery attempt count reached: {}", settings.getMaxDiscoverAttempts());
+            this.forceExit();
+            return;
+        }
+
+        final int attempt = ++this.attempts;
 
-            logger.debug("Start connection attempt ({}/{})", attempts, settings.getMaxDiscoverAttempts());
+        try {
+            this.scheduler.schedule(() -> this.attempt(attempt, candidate), delayInMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            this.forceExit(e);
+        }
+    }
+
+    // Runs on the scheduler thread, so the connection loop keeps accepting messages while we are connecting. The outcome
+    // is sent back to the loop.
+    private void attempt(int attempt, InetSocketAddress candidate) {
+        logger.debug("Start connection attempt ({}/{})", attempt, settings.getMaxDiscoverAttempts());
 
+        try {
             // Node selection.
             if (candidate != null) {
                 this.connection.connect(candidate);
                 logger.debug("Prepared channel to proposed leader candidate [{}]", candidate);
             } else {
-                try {
-                    // TODO - Should we consider a discovery timeout?
-                    this.discovery.run(this.connection).get();
-
-                    if (this.loadServerFeatures()) {
-                        this.channelId = UUID.randomUUID();
-                        this.connection.confirmChannel();
-                        logger.info("Connection to endpoint [{}] created successfully", this.connection.getLastConnectedEndpoint());
-                        break;
-                    }
-                } catch (InterruptedException e) {
-                    forceExit(e);
-                } catch (ExecutionException e) {
-                    logger.error("Error when running discovery process", e);
-                    // In this case, it's better to clear any connection internal state like the previous selected node
-                    // that has failed. It's possible that node might still be the best candidate if it manages to
-                    // recover in the meantime.
-                    this.connection.clear();
-                }
+                // TODO - Should we consider a discovery timeout?
+                this.discovery.run(this.connection).get();
             }
 
-            // In case a candidate was provided, but we failed to connect to it.
-            // We force a new discovery process in that case.
-            candidate = null;
-            this.sleep(this.settings.getDiscoveryInterval());
+            ServerInfo info = ServerFeatures
+                    .getSupportedFeatures(this.settings, this.connection.getCurrentChannel())
+                    .orElse(null);
+
+            // The client was closed while we were connecting, nobody is going to use that channel.
+            if (this.closed.get()) {
+                this.connection.shutdown();
+                return;
+            }
+
+            this.queue.offer(new ConnectionAttemptCompleted(attempt, info, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            this.queue.offer(new ConnectionAttemptCompleted(attempt, null, e));
+        }
+    }
+
+    public void attemptCompleted(ConnectionAttemptCompleted args) {
+        if (this.closed.get() || !this.connecting || args.attempt != this.attempts)
+            return;
+
+        if (args.error == null) {
+            this.connecting = false;
+            this.channelId = UUID.randomUUID();
+            this.serverInfo = args.serverInfo;
+            this.connection.confirmChannel();
+            this.currentArgs.set(new WorkItemArgs(
+                    this.channelId,
+                    this.connection.getCurrentChannel(),
+                    this.connection.getLastConnectedEndpoint(),
+                    this.serverInfo));
+            logger.info("Connection to endpoint [{}] created successfully", this.connection.getLastConnectedEndpoint());
+
+            List<RunWorkItem> ready = new ArrayList<>(this.waiting);
+            this.waiting.clear();
+
+            for (RunWorkItem item : ready)
+                this.process(item);
+
+            return;
+        }
+
+        if (args.error instanceof ServerFeatures.RetryableException) {
+            logger.warn("An exception happened when fetching server supported features. Retrying connection attempt.", args.error);
+        } else {
+            logger.error("Error when running discovery process", args.error);
+            // In this case, it's better to clear any connection internal state like the previous selected node
+            // that has failed. It's possible that node might still be the best candidate if it manages to
+            // recover in the meantime.
+            this.connection.clear();
         }
+
+        // In case a candidate was provided, but we failed to connect to it, the next attempt runs a new discovery
+        // process.
+        this.scheduleAttempt(null, this.settings.getDiscoveryInterval());
+    }
+
+    public void switchChannel(SwitchChannel args) {
+        if (this.closed.get() || this.connecting || !this.channelId.equals(args.previousId)) {
+            logger.debug("Discarding channel to endpoint [{}], the connection changed in the meantime", args.endpoint);
+            ConnectionState.discard(args.channel);
+            return;
+        }
+
+        this.channelId = UUID.randomUUID();
+        this.serverInfo = args.serverInfo;
+        // New operations go to the new channel right away, the previous one is closed afterwards.
+        this.currentArgs.set(new WorkItemArgs(this.channelId, args.channel, args.endpoint, this.serverInfo));
+        this.connection.adopt(args.endpoint, args.channel);
+        logger.info("Switched connection to endpoint [{}]", args.endpoint);
     }
 
     public void process(RunWorkItem args) {
@@ -159,25 +239,20 @@ class ConnectionService implements Runnable {
             return;
         }
 
-        // It's possible we haven't connected yet.
-        if (this.connection.getCurrentChannel() == null) {
-            logger.debug("Channel is not resolved yet, connecting...");
+        WorkItemArgs workArgs = this.currentArgs.get();
 
-            try {
-                this.createChannel(this.channelId, null);
-            } catch (RuntimeException e) {
-                args.getItem().accept(null, e);
-                throw e;
-            }
+        if (workArgs != null) {
+            args.getItem().accept(workArgs, null);
+            return;
         }
 
-        WorkItemArgs workArgs = new WorkItemArgs(
-                this.channelId,
-                this.connection.getCurrentChannel(),
-                this.connection.getLastConnectedEndpoint(),
-                this.serverInfo);
+        // It's possible we haven't connected yet, the operation runs once the channel is confirmed.
+        this.waiting.add(args);
 
-        args.getItem().accept(workArgs, null);
+        if (!this.connecting) {
+            logger.debug("Channel is not resolved yet, connecting...");
+            this.createChannel(this.channelId, null);
+        }
     }
 
     public void shutdown(Shutdown args) {
@@ -188,7 +263,19 @@ class ConnectionService implements Runnable {
 
         logger.info("Received a shutdown request, closing connection to endpoint [{}]", this.connection.getLastConnectedEndpoint());
         this.closed.set(true);
+        this.currentArgs.set(null);
+
+        if (this.monitor != null)
+            this.monitor.shutdown();
+
+        // Also cancels the timers of the channels still draining, the connection state closes those right away.
+        this.scheduler.shutdownNow();
         this.connection.shutdown();
+
+        for (RunWorkItem item : this.waiting)
+            item.reportError(new ConnectionShutdownException());
+
+        this.waiting.clear();
         this.drainPendingRequests();
         logger.info("Connection to endpoint [{}] was closed successfully", this.connection.getLastConnectedEndpoint());
         args.complete();
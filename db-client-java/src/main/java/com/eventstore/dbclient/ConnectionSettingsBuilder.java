@@ -6,10 +6,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Utility to create client settings programmatically.
@@ -32,6 +35,18 @@ public class ConnectionSettingsBuilder {
     private List<ClientInterceptor> _interceptors = new ArrayList<>();
     private String _tlsCaFile = null;
     private Set<String> _features = new HashSet<>();
+    private Executor _executor = null;
+    private int _channelPoolSize = 1;
+    private int _subscriptionChannelPoolSize = 0;
+    private NodePreference _readNodePreference = null;
+    private int _gossipPollInterval = 0;
+    private int _retryAttempts = 0;
+    private int _retryBackoff = 100;
+    private int _retryBudget = 10_000;
+    private int _maxConcurrency = 0;
+    private ConcurrencyLimitPolicy _concurrencyLimitPolicy = ConcurrencyLimitPolicy.WAIT;
+    private int _maxPendingOperations = 0;
+    private int _connectionWaitTimeout = 0;
 
     ConnectionSettingsBuilder() {}
 
@@ -56,7 +71,19 @@ public class ConnectionSettingsBuilder {
                 _defaultDeadline,
                 _interceptors,
                 _tlsCaFile,
-                _features);
+                _features,
+                _executor,
+                _channelPoolSize,
+                _subscriptionChannelPoolSize,
+                _readNodePreference,
+                _gossipPollInterval,
+                _retryAttempts,
+                _retryBackoff,
+                _retryBudget,
+                _maxConcurrency,
+                _concurrencyLimitPolicy,
+                _maxPendingOperations,
+                _connectionWaitTimeout);
     }
 
     /**
@@ -237,6 +264,146 @@ public class ConnectionSettingsBuilder {
         return this;
     }
 
+    /**
+     * Executor used to complete the futures returned by the client. By default, futures complete on the thread that
+     * received the server response, without any extra thread hop. The executor also runs the blocking requests of the
+     * HTTP fallback for older servers, and pulls the events of appends once the transport is ready to take more.
+     */
+    public ConnectionSettingsBuilder executor(Executor executor) {
+        this._executor = executor;
+        return this;
+    }
+
+    /**
+     * Completes the futures returned by the client on virtual threads. Requires Java 21 or later.
+     *
+     * @throws IllegalStateException if the running JVM doesn't support virtual threads.
+     */
+    public ConnectionSettingsBuilder useVirtualThreads() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            this._executor = (Executor) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        }
+
+        return this;
+    }
+
+    /**
+     * How many channels (HTTP/2 connections) are opened to the selected node for request/response operations. Each
+     * operation goes to the channel with the fewest operations in flight. Defaults to 1.
+     */
+    public ConnectionSettingsBuilder channelPoolSize(int value) {
+        this._channelPoolSize = value;
+        return this;
+    }
+
+    /**
+     * How many channels are opened to the selected node for subscriptions only, so a busy subscription doesn't slow
+     * down request/response operations. 0, the default, means subscriptions share the request/response channels.
+     */
+    public ConnectionSettingsBuilder subscriptionChannelPoolSize(int value) {
+        this._subscriptionChannelPoolSize = value;
+        return this;
+    }
+
+    /**
+     * Preferred node type for reads and subscriptions. When it's different from the node preference, the client keeps a
+     * second connection to such a node for reads and subscriptions, while writes keep going to the node picked by
+     * {@link #nodePreference(NodePreference)}. Reads requiring the leader are not affected. Only used with a cluster.
+     */
+    public ConnectionSettingsBuilder readNodePreference(NodePreference value) {
+        this._readNodePreference = value;
+        return this;
+    }
+
+    /**
+     * How often (in milliseconds) the client polls the gossip of the node it's connected to in the background, to move to
+     * a better fitting node, like a newly elected leader, before operations fail. Only used with a cluster. 0, the
+     * default, disables background polling.
+     * <p>
+     * A switch retires the previous channel: calls still running on it get a few seconds to complete, then they are
+     * cancelled. Subscriptions are long-running calls, so they end up cancelled with an error after a switch and have
+     * to be restarted by the application, see {@link SubscriptionListener#onCancelled}.
+     * </p>
+     */
+    public ConnectionSettingsBuilder gossipPollInterval(int value) {
+        this._gossipPollInterval = value;
+        return this;
+    }
+
+    /**
+     * How many times an operation that is safe to run again is retried after failing because the node it ran on is not
+     * the leader anymore or became unavailable. Appends are retried on a new leader, they are idempotent thanks to their
+     * event ids. To be sent again, the events pulled from the iterator of an append are kept in memory until it
+     * completes, up to 16MiB of event data and metadata: past that, they are dropped and the append isn't retried. Reads
+     * and subscriptions are retried as long as nothing was delivered yet. 0, the default, disables retries.
+     */
+    public ConnectionSettingsBuilder retryAttempts(int value) {
+        this._retryAttempts = value;
+        return this;
+    }
+
+    /**
+     * Delay (in milliseconds) before the first retry of an operation, doubled on each following retry. Defaults to 100.
+     */
+    public ConnectionSettingsBuilder retryBackoff(int value) {
+        this._retryBackoff = value;
+        return this;
+    }
+
+    /**
+     * Maximum time (in milliseconds), counted from the first attempt, during which an operation can be retried. It is
+     * wall-clock time: the attempts themselves count as much as the delays between them. A retry is only scheduled when
+     * it would start within the budget. Defaults to 10000.
+     */
+    public ConnectionSettingsBuilder retryBudget(int value) {
+        this._retryBudget = value;
+        return this;
+    }
+
+    /**
+     * Upper bound of the adaptive limit of operations in flight. The limit grows while round-trip times are stable and
+     * shrinks when they rise or when operations time out, so the client doesn't overload the node during bursts. Past
+     * the limit, operations wait or are rejected, see {@link #concurrencyLimitPolicy(ConcurrencyLimitPolicy)}. Reads and
+     * subscriptions only count until their call is started. 0, the default, disables the limit.
+     */
+    public ConnectionSettingsBuilder maxConcurrency(int value) {
+        this._maxConcurrency = value;
+        return this;
+    }
+
+    /**
+     * What happens to operations issued past the adaptive concurrency limit. Defaults to
+     * {@link ConcurrencyLimitPolicy#WAIT}.
+     */
+    public ConnectionSettingsBuilder concurrencyLimitPolicy(ConcurrencyLimitPolicy value) {
+        this._concurrencyLimitPolicy = value;
+        return this;
+    }
+
+    /**
+     * Maximum number of operations waiting for the client to connect, or reconnect, to a node, or waiting for a slot
+     * under the concurrency limit, see {@link ConcurrencyLimitPolicy#WAIT}. Past that, operations fail right away with
+     * {@link TooManyPendingOperationsException}, so callers can shed load during an outage instead of piling up. 0, the
+     * default, means no limit.
+     */
+    public ConnectionSettingsBuilder maxPendingOperations(int value) {
+        this._maxPendingOperations = value;
+        return this;
+    }
+
+    /**
+     * How long (in milliseconds) an operation waits for the client to connect, or reconnect, to a node, or for a slot
+     * under the concurrency limit, before failing with a {@link java.util.concurrent.TimeoutException}. 0, the default,
+     * means operations wait as long as the discovery process runs, or as long as no slot frees up.
+     */
+    public ConnectionSettingsBuilder connectionWaitTimeout(int value) {
+        this._connectionWaitTimeout = value;
+        return this;
+    }
+
     void parseGossipSeed(String host) {
         String[] hostParts = host.split(":");
 
@@ -306,22 +473,7 @@ public class ConnectionSettingsBuilder {
             String value = entry[1].toLowerCase();
             switch (entry[0].toLowerCase()) {
                 case "nodepreference":
-                    switch (value) {
-                        case "leader":
-                            builder._nodePreference = NodePreference.LEADER;
-                            break;
-                        case "follower":
-                            builder._nodePreference = NodePreference.FOLLOWER;
-                            break;
-                        case "readonlyreplica":
-                            builder._nodePreference = NodePreference.READ_ONLY_REPLICA;
-                            break;
-                        case "random":
-                            builder._nodePreference = NodePreference.RANDOM;
-                            break;
-                        default:
-                            throw new RuntimeException(String.format("Unsupported node preference '%s'", value));
-                    }
+                    builder._nodePreference = parseNodePreference(value);
                     break;
 
                 case "maxdiscoverattempts":
@@ -454,6 +606,142 @@ public class ConnectionSettingsBuilder {
                     userKeyFile = entry[1];
                     break;
 
+                case "channelpoolsize":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 1)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._channelPoolSize = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "subscriptionchannelpoolsize":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._subscriptionChannelPoolSize = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "readnodepreference":
+                    builder._readNodePreference = parseNodePreference(value);
+                    break;
+
+                case "gossippollinterval":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._gossipPollInterval = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "retryattempts":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._retryAttempts = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "retrybackoff":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._retryBackoff = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "retrybudget":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._retryBudget = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "maxconcurrency":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._maxConcurrency = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "concurrencylimitpolicy":
+                    switch (value) {
+                        case "wait":
+                            builder._concurrencyLimitPolicy = ConcurrencyLimitPolicy.WAIT;
+                            break;
+
+                        case "reject":
+                            builder._concurrencyLimitPolicy = ConcurrencyLimitPolicy.REJECT;
+                            break;
+
+                        default:
+                            invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "maxpendingoperations":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._maxPendingOperations = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
+                case "connectionwaittimeout":
+                    try {
+                        int parsedValue = Integer.parseInt(value);
+
+                        if (parsedValue < 0)
+                            invalidParamFormat(entry[0], value);
+
+                        builder._connectionWaitTimeout = parsedValue;
+                    } catch (NumberFormatException e) {
+                        invalidParamFormat(entry[0], value);
+                    }
+                    break;
+
                 case "feature":
                     builder._features.add(value);
                     break;
@@ -473,6 +761,21 @@ public class ConnectionSettingsBuilder {
         return builder.buildConnectionSettings();
     }
 
+    static NodePreference parseNodePreference(String value) {
+        switch (value) {
+            case "leader":
+                return NodePreference.LEADER;
+            case "follower":
+                return NodePreference.FOLLOWER;
+            case "readonlyreplica":
+                return NodePreference.READ_ONLY_REPLICA;
+            case "random":
+                return NodePreference.RANDOM;
+            default:
+                throw new RuntimeException(String.format("Unsupported node preference '%s'", value));
+        }
+    }
+
     static void invalidParamFormat(String param, String value) {
         throw new RuntimeException(String.format("Invalid '%s' value format: '%s'", param, value));
     }
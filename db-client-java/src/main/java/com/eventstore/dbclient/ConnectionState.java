@@ -12,13 +12,24 @@ import org.slf4j.LoggerFactory;
 import javax.net.ssl.SSLException;
 import java.io.File;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 class ConnectionState {
     private final static Logger logger = LoggerFactory.getLogger(ConnectionState.class);
     private final static int MAX_INBOUND_MESSAGE_LENGTH = 17 * 1_024 * 1_024; // 17MiB
+    private final static long CHANNEL_DRAIN_TIMEOUT_IN_SECS = 5;
     private final EventStoreDBClientSettings settings;
     private final SslContext sslContext;
+    // Runs the timers forcing the termination of replaced channels.
+    private final ScheduledExecutorService drainer;
+    // Replaced channels still draining, forcefully terminated on shutdown as the drainer timers won't run anymore.
+    private final Set<ManagedChannel> retired = ConcurrentHashMap.newKeySet();
     private InetSocketAddress previous;
     private ManagedChannel currentChannel;
 
@@ -28,8 +39,9 @@ class ConnectionState {
     // * If we managed to read the server features (if not, it was a not found error then it's not fatal, just old node version)
     private boolean confirmedChannel;
 
-    ConnectionState(EventStoreDBClientSettings settings) {
+    ConnectionState(EventStoreDBClientSettings settings, ScheduledExecutorService drainer) {
         this.settings = settings;
+        this.drainer = drainer;
 
         if (settings.isTls()) {
             try {
@@ -56,15 +68,15 @@ class ConnectionState {
         }
     }
 
-    InetSocketAddress getLastConnectedEndpoint() {
+    synchronized InetSocketAddress getLastConnectedEndpoint() {
         return this.confirmedChannel ? this.previous : null;
     }
 
-    void confirmChannel() {
+    synchronized void confirmChannel() {
         this.confirmedChannel = true;
     }
 
-    ManagedChannel getCurrentChannel() {
+    synchronized ManagedChannel getCurrentChannel() {
         return this.currentChannel;
     }
 
@@ -72,9 +84,44 @@ class ConnectionState {
         return this.settings;
     }
 
-    void connect(InetSocketAddress addr) {
-        this.closeChannel();
+    synchronized void connect(InetSocketAddress addr) {
+        this.retireChannel();
+        this.currentChannel = this.open(addr);
+        this.confirmedChannel = false;
+        this.previous = addr;
+    }
+
+    // Replaces the current channel with one that was opened and checked outside the connection loop.
+    synchronized void adopt(InetSocketAddress addr, ManagedChannel channel) {
+        this.retireChannel();
+        this.currentChannel = channel;
+        this.confirmedChannel = true;
+        this.previous = addr;
+    }
+
+    // Opens a channel, or a pool of channels, to the given node without touching the current channel.
+    ManagedChannel open(InetSocketAddress addr) {
+        if (settings.getChannelPoolSize() <= 1 && settings.getSubscriptionChannelPoolSize() <= 0)
+            return this.createChannel(addr);
+
+        List<ManagedChannel> requests = new ArrayList<>();
+        List<ManagedChannel> subscriptions = new ArrayList<>();
+
+        for (int i = 0; i < Math.max(1, settings.getChannelPoolSize()); i++)
+            requests.add(this.createChannel(addr));
+
+        for (int i = 0; i < settings.getSubscriptionChannelPoolSize(); i++)
+            subscriptions.add(this.createChannel(addr));
+
+        return new ChannelPool(requests, subscriptions);
+    }
+
+    // A single channel, never pooled, for a gossip request.
+    ManagedChannel openGossipChannel(InetSocketAddress addr) {
+        return this.createChannel(addr);
+    }
 
+    private ManagedChannel createChannel(InetSocketAddress addr) {
         NettyChannelBuilder builder = NettyChannelBuilder
                 .forAddress(addr)
                 .maxInboundMessageSize(MAX_INBOUND_MESSAGE_LENGTH)
@@ -96,9 +143,42 @@ class ConnectionState {
         else
             builder.keepAliveTime(settings.getKeepAliveInterval(), TimeUnit.MILLISECONDS);
 
-        this.currentChannel = builder.build();
-        this.confirmedChannel = false;
-        this.previous = addr;
+        return builder.build();
+    }
+
+    // Closes a channel that was opened but is never going to be used, along with the stubs cached for it.
+    static void discard(ManagedChannel channel) {
+        channel.shutdownNow();
+        StubCache.invalidate(channel);
+    }
+
+    // Lets the calls in flight on the current channel complete, without waiting for them. The channel is forcefully
+    // terminated if they don't complete in time.
+    private void retireChannel() {
+        final ManagedChannel channel = this.currentChannel;
+
+        if (channel == null)
+            return;
+
+        this.currentChannel = null;
+        logger.trace("Draining existing gRPC channel [{}] in the background", channel);
+        channel.shutdown();
+        StubCache.invalidate(channel);
+        this.retired.add(channel);
+
+        try {
+            this.drainer.schedule(() -> {
+                this.retired.remove(channel);
+
+                if (!channel.isTerminated()) {
+                    logger.trace("Forcing shutdown of gRPC channel [{}]", channel);
+                    channel.shutdownNow();
+                }
+            }, CHANNEL_DRAIN_TIMEOUT_IN_SECS, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            this.retired.remove(channel);
+            channel.shutdownNow();
+        }
     }
 
     private void closeChannel() {
@@ -113,16 +193,23 @@ class ConnectionState {
             } catch (InterruptedException e) {
                 throw new RuntimeException(e);
             } finally {
+                StubCache.invalidate(this.currentChannel);
                 this.currentChannel = null;
             }
         }
     }
 
-    public void shutdown() {
+    public synchronized void shutdown() {
+        for (ManagedChannel channel : this.retired) {
+            logger.trace("Forcing shutdown of draining gRPC channel [{}]", channel);
+            channel.shutdownNow();
+        }
+
+        this.retired.clear();
         this.closeChannel();
     }
 
-    public void clear() {
+    public synchronized void clear() {
         this.previous = null;
         this.confirmedChannel = false;
     }
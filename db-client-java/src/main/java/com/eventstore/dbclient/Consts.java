@@ -3,4 +3,7 @@ package com.eventstore.dbclient;
 class Consts {
     public static long DEFAULT_KEEP_ALIVE_TIMEOUT_IN_MS = 10000; // 10secs
     public static long DEFAULT_KEEP_ALIVE_INTERVAL_IN_MS = 10000; // 10secs
+    public static int DEFAULT_SCAN_PARALLELISM = 4;
+    public static long DEFAULT_CHUNK_SIZE = 256L * 1_024 * 1_024; // 256MiB, server's default transaction file chunk size
+    public static int MAX_READ_INBOUND_WINDOW = 512; // messages requested from the server ahead of delivery
 }
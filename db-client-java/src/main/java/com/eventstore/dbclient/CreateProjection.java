@@ -49,7 +49,7 @@ class CreateProjection {
             client.create(request, GrpcUtils.convertSingleResponse(result));
 
             return result;
-        }).thenApplyAsync(result -> {
+        }).thenApply(result -> {
             if (emitEnabled) {
                 UpdateProjectionOptions options = UpdateProjectionOptions.get().emitEnabled(true);
                 UpdateProjection update = new UpdateProjection(client, projectionName, query, options);
@@ -1,5 +1,7 @@
 package com.eventstore.dbclient;
 
+import com.google.protobuf.ByteString;
+
 import java.util.UUID;
 
 /**
@@ -9,10 +11,20 @@ public final class EventData {
     private final UUID eventId;
     private final String eventType;
     private final String contentType;
-    private final byte[] eventData;
-    private final byte[] userMetadata;
+    // Payloads are held the way they are sent on the wire. When they were given as arrays, they are copied, since
+    // callers may reuse them, and the arrays are kept so the getters keep returning them as-is.
+    private final ByteString eventData;
+    private final ByteString userMetadata;
+    private volatile byte[] eventDataBytes;
+    private volatile byte[] userMetadataBytes;
 
     EventData(UUID eventId, String eventType, String contentType, byte[] eventData, byte[] userMetadata) {
+        this(eventId, eventType, contentType, copy(eventData), copy(userMetadata));
+        this.eventDataBytes = eventData;
+        this.userMetadataBytes = userMetadata;
+    }
+
+    EventData(UUID eventId, String eventType, String contentType, ByteString eventData, ByteString userMetadata) {
         this.eventId = eventId;
         this.eventType = eventType;
         this.contentType = contentType;
@@ -20,6 +32,10 @@ public final class EventData {
         this.userMetadata = userMetadata;
     }
 
+    static ByteString copy(byte[] bytes) {
+        return bytes == null ? null : ByteString.copyFrom(bytes);
+    }
+
     /**
      * Returns event's unique identifier
      */
@@ -45,13 +61,35 @@ public final class EventData {
      * Returns event's payload data
      */
     public byte[] getEventData() {
-        return eventData;
+        byte[] bytes = eventDataBytes;
+
+        if (bytes == null && eventData != null) {
+            bytes = eventData.toByteArray();
+            eventDataBytes = bytes;
+        }
+
+        return bytes;
     }
 
     /**
      * Returns event's custom user metadata.
      */
     public byte[] getUserMetadata() {
+        byte[] bytes = userMetadataBytes;
+
+        if (bytes == null && userMetadata != null) {
+            bytes = userMetadata.toByteArray();
+            userMetadataBytes = bytes;
+        }
+
+        return bytes;
+    }
+
+    ByteString getWireEventData() {
+        return eventData;
+    }
+
+    ByteString getWireUserMetadata() {
         return userMetadata;
     }
 
@@ -2,7 +2,9 @@ package com.eventstore.dbclient;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.protobuf.ByteString;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 /**
@@ -11,6 +13,8 @@ import java.util.UUID;
 public class EventDataBuilder {
     private byte[] eventData;
     private byte[] metadata;
+    private ByteString wireEventData;
+    private ByteString wireMetadata;
     private String eventType;
     private boolean isJson;
     private UUID id;
@@ -107,6 +111,109 @@ public class EventDataBuilder {
         return self;
     }
 
+    /**
+     * Configures an event data builder to host a JSON payload held in a buffer. The buffer's remaining bytes are copied,
+     * its position is left untouched.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder json(String eventType, ByteBuffer eventData) {
+        return json(null, eventType, eventData);
+    }
+
+    /**
+     * Configures an event data builder to host a JSON payload held in a buffer. The buffer's remaining bytes are copied,
+     * its position is left untouched.
+     * @param id event's id.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder json(UUID id, String eventType, ByteBuffer eventData) {
+        return binary(id, eventType, eventData, true);
+    }
+
+    /**
+     * Configures an event data builder to host a binary payload held in a buffer. The buffer's remaining bytes are
+     * copied, its position is left untouched.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder binary(String eventType, ByteBuffer eventData) {
+        return binary(null, eventType, eventData);
+    }
+
+    /**
+     * Configures an event data builder to host a binary payload held in a buffer. The buffer's remaining bytes are
+     * copied, its position is left untouched.
+     * @param id event's id.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder binary(UUID id, String eventType, ByteBuffer eventData) {
+        return binary(id, eventType, eventData, false);
+    }
+
+    /**
+     * Configures an event data builder to host a payload held in a buffer. Direct buffers are supported. The buffer's
+     * remaining bytes are copied, its position is left untouched. To send a payload without copying it, wrap it with
+     * {@link com.google.protobuf.UnsafeByteOperations#unsafeWrap(ByteBuffer)} and use
+     * {@link #binary(UUID, String, ByteString, boolean)} instead.
+     * @param id event's id.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @param isJson whether the payload is JSON or not.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder binary(UUID id, String eventType, ByteBuffer eventData, boolean isJson) {
+        return binary(id, eventType, ByteString.copyFrom(eventData.duplicate()), isJson);
+    }
+
+    /**
+     * Configures an event data builder to host a JSON payload that is already a protobuf {@link ByteString}.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder json(String eventType, ByteString eventData) {
+        return binary(null, eventType, eventData, true);
+    }
+
+    /**
+     * Configures an event data builder to host a binary payload that is already a protobuf {@link ByteString}.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder binary(String eventType, ByteString eventData) {
+        return binary(null, eventType, eventData, false);
+    }
+
+    /**
+     * Configures an event data builder to host a binary payload that is already a protobuf {@link ByteString}. The
+     * payload is sent as-is without being copied: when it was created with
+     * {@link com.google.protobuf.UnsafeByteOperations}, the wrapped bytes must not be modified until the append
+     * operation completes.
+     * @param id event's id.
+     * @param eventType event's type.
+     * @param eventData event's payload.
+     * @param isJson whether the payload is JSON or not.
+     * @return an event data builder.
+     */
+    public static EventDataBuilder binary(UUID id, String eventType, ByteString eventData, boolean isJson) {
+        EventDataBuilder self = new EventDataBuilder();
+
+        self.wireEventData = eventData;
+        self.eventType = eventType;
+        self.isJson = isJson;
+        self.id = id;
+
+        return self;
+    }
+
     /**
      * Sets event's unique identifier.
      */
@@ -124,6 +231,7 @@ public class EventDataBuilder {
         try {
             JsonMapper mapper = new JsonMapper();
             this.metadata = mapper.writeValueAsBytes(value);
+            this.wireMetadata = null;
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -136,6 +244,26 @@ public class EventDataBuilder {
      */
     public EventDataBuilder metadataAsBytes(byte[] value) {
         this.metadata = value;
+        this.wireMetadata = null;
+        return this;
+    }
+
+    /**
+     * Sets event's custom user metadata from a buffer. The buffer's remaining bytes are copied, its position
+     * is left untouched.
+     */
+    public EventDataBuilder metadataAsBytes(ByteBuffer value) {
+        return metadataAsBytes(value == null ? null : ByteString.copyFrom(value.duplicate()));
+    }
+
+    /**
+     * Sets event's custom user metadata from a protobuf {@link ByteString}. The metadata is sent as-is without being
+     * copied: when it was created with {@link com.google.protobuf.UnsafeByteOperations}, the wrapped bytes must not be
+     * modified until the append operation completes.
+     */
+    public EventDataBuilder metadataAsBytes(ByteString value) {
+        this.metadata = null;
+        this.wireMetadata = value;
         return this;
     }
 
@@ -147,6 +275,13 @@ public class EventDataBuilder {
     public EventData build() {
         UUID eventId = this.id == null ? UUID.randomUUID() : this.id;
         String contentType = this.isJson ? ContentType.JSON : ContentType.BYTES;
-        return new EventData(eventId, this.eventType, contentType, this.eventData, this.metadata);
+
+        if (this.wireEventData == null && this.wireMetadata == null)
+            return new EventData(eventId, this.eventType, contentType, this.eventData, this.metadata);
+
+        ByteString data = this.wireEventData != null ? this.wireEventData : EventData.copy(this.eventData);
+        ByteString metadata = this.wireMetadata != null ? this.wireMetadata : EventData.copy(this.metadata);
+
+        return new EventData(eventId, this.eventType, contentType, data, metadata);
     }
 }
@@ -6,8 +6,8 @@ import org.reactivestreams.Publisher;
 
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -39,6 +39,12 @@ public class EventStoreDBClient extends EventStoreDBClientBase {
 
     /**
      * Appends events to a given stream.
+     * <p>
+     * The iterator is consumed asynchronously, as the transport is ready to take more events: the calling thread pulls
+     * events until the transport is full, then the user provided executor, or the client's worker threads, pull the
+     * rest. The iterator must therefore not rely on being called from the thread issuing the append, and a slow
+     * iterator only delays its own append.
+     * </p>
      * @param streamName stream's name.
      * @param events events to send.
      * @see WriteResult
@@ -62,6 +68,12 @@ public class EventStoreDBClient extends EventStoreDBClientBase {
 
     /**
      * Appends events to a given stream.
+     * <p>
+     * The iterator is consumed asynchronously, as the transport is ready to take more events: the calling thread pulls
+     * events until the transport is full, then the user provided executor, or the client's worker threads, pull the
+     * rest. The iterator must therefore not rely on being called from the thread issuing the append, and a slow
+     * iterator only delays its own append.
+     * </p>
      * @param streamName stream's name.
      * @param options append stream request's options.
      * @param events events to send.
@@ -132,7 +144,26 @@ public class EventStoreDBClient extends EventStoreDBClientBase {
         if (options == null)
             options = ReadStreamOptions.get();
 
-        return new ReadStream(this.getGrpcClient(), streamName, options);
+        return new ReadStream(this.getReadGrpcClient(options), streamName, options);
+    }
+
+    /**
+     * Reads events from a given stream without holding all of them in memory. Events are requested from the server as
+     * the returned iterator is consumed.
+     * @param streamName stream's name.
+     */
+    public ReadIterator readStreamIterator(String streamName) {
+        return this.readStreamIterator(streamName, ReadStreamOptions.get());
+    }
+
+    /**
+     * Reads events from a given stream without holding all of them in memory. Events are requested from the server as
+     * the returned iterator is consumed.
+     * @param streamName stream's name.
+     * @param options read request's operations.
+     */
+    public ReadIterator readStreamIterator(String streamName, ReadStreamOptions options) {
+        return new ReadIterator(readStreamReactive(streamName, options), Consts.MAX_READ_INBOUND_WINDOW);
     }
 
     /**
@@ -201,7 +232,75 @@ public class EventStoreDBClient extends EventStoreDBClientBase {
         if (options == null)
             options = ReadAllOptions.get();
 
-        return new ReadAll(this.getGrpcClient(), options);
+        return new ReadAll(this.getReadGrpcClient(options), options);
+    }
+
+    /**
+     * Scans the $all stream page by page. Each page is a separate read request continuing from the last event of the
+     * previous one, the next page is fetched while the current one is being consumed. Pages failing with a transient
+     * error are read again as per the client's retry policy, see {@link EventStoreDBClientSettings#getRetryAttempts()}.
+     * @param options options of the read $all request. Max count limits the total number of events of the scan.
+     * @param pageSize maximum number of events per page.
+     */
+    public ReadAllPages readAllPages(ReadAllOptions options, int pageSize) {
+        if (options == null)
+            options = ReadAllOptions.get();
+
+        return new ReadAllPages(this.getReadGrpcClient(options), options, pageSize);
+    }
+
+    /**
+     * Reads the $all stream with several concurrent read requests. Meant for offline reprocessing of the whole log.
+     * The reads go over this client's read connection: see
+     * {@link ConnectionSettingsBuilder#readNodePreference(NodePreference)} to keep them away from the leader, and
+     * {@link ConnectionSettingsBuilder#channelPoolSize(int)} to spread them over several HTTP/2 connections.
+     * @param options options of the read $all requests, only forwards reads are supported. Max count is ignored.
+     * @param scanOptions how the scan is split and how events are returned.
+     * @return a scanner once the range of $all has been determined.
+     */
+    public CompletableFuture<AllScanner> scanAll(ReadAllOptions options, ScanAllOptions scanOptions) {
+        final ReadAllOptions readOptions = options == null ? ReadAllOptions.get() : options;
+        final ScanAllOptions scan = scanOptions == null ? ScanAllOptions.get() : scanOptions;
+
+        if (readOptions.getDirection() != Direction.Forwards)
+            throw new IllegalArgumentException("Scanning $all is only supported forwards");
+
+        // The probe for the last event shares the call options of the segments and goes over the same connection.
+        ReadAllOptions lastEventOptions = ReadAllOptions.get().backwards().fromEnd().maxCount(1)
+                .requiresLeader(readOptions.isLeaderRequired());
+        if (readOptions.hasUserCredentials())
+            lastEventOptions.authenticated(readOptions.getCredentials());
+        if (readOptions.getDeadline() != null)
+            lastEventOptions.deadline(readOptions.getDeadline());
+        for (Map.Entry<String, String> header : readOptions.getHeaders().entrySet())
+            lastEventOptions.header(header.getKey(), header.getValue());
+        lastEventOptions.setWaitForPosition(readOptions.getWaitForPosition());
+
+        final GrpcClient client = this.getReadGrpcClient(readOptions);
+
+        return readEventsFromPublisher(new ReadAll(client, lastEventOptions)).thenCompose(result -> {
+            Position last = result.getEvents().isEmpty() ? null : result.getEvents().get(0).getOriginalEvent().getPosition();
+            List<Position> candidates = AllScanner.boundaries(readOptions.getPosition(), last, scan.getSegments(), scan.getChunkSize());
+
+            return AllScanner.resolveBoundaries(client, readOptions, candidates);
+        }).thenApply(boundaries -> new AllScanner(client, readOptions, scan, boundaries));
+    }
+
+    /**
+     * Reads events from the $all stream without holding all of them in memory. Events are requested from the server as
+     * the returned iterator is consumed.
+     */
+    public ReadIterator readAllIterator() {
+        return this.readAllIterator(ReadAllOptions.get());
+    }
+
+    /**
+     * Reads events from the $all stream without holding all of them in memory. Events are requested from the server as
+     * the returned iterator is consumed.
+     * @param options options of the read $all request.
+     */
+    public ReadIterator readAllIterator(ReadAllOptions options) {
+        return new ReadIterator(readAllReactive(options), Consts.MAX_READ_INBOUND_WINDOW);
     }
 
     /**
@@ -233,7 +332,7 @@ public class EventStoreDBClient extends EventStoreDBClientBase {
         if (options == null)
             options = SubscribeToStreamOptions.get();
 
-        return new SubscribeToStream(this.getGrpcClient(), streamName, listener, options).execute();
+        return new SubscribeToStream(this.getReadGrpcClient(options), streamName, listener, options).execute();
     }
 
     /**
@@ -263,7 +362,7 @@ public class EventStoreDBClient extends EventStoreDBClientBase {
         if (options == null)
             options = SubscribeToAllOptions.get();
 
-        return new SubscribeToAll(this.getGrpcClient(), listener, options).execute();
+        return new SubscribeToAll(this.getReadGrpcClient(options), listener, options).execute();
     }
 
     /**
@@ -336,46 +435,9 @@ public class EventStoreDBClient extends EventStoreDBClientBase {
         return new DeleteStream(this.getGrpcClient(), streamName, false, options).execute();
     }
 
-    private static CompletableFuture<ReadResult> readEventsFromPublisher(Publisher<ReadMessage> eventPublisher) {
-        CompletableFuture<ReadResult> future = new CompletableFuture<>();
-        List<ResolvedEvent> events = new LinkedList<>();
-
-        eventPublisher.subscribe(new ReadSubscriber() {
-            long firstStreamPosition = 0;
-            long lastStreamPosition = 0;
-            Position lastAllStreamPosition = null;
-
-            @Override
-            public void onEvent(ReadMessage e) {
-                if (e.hasFirstStreamPosition()) {
-                    firstStreamPosition = e.getFirstStreamPosition();
-                    return;
-                }
-
-                if (e.hasLastStreamPosition()) {
-                    lastStreamPosition = e.getLastStreamPosition();
-                    return;
-                }
-
-                if (e.hasLastAllPosition()) {
-                    lastAllStreamPosition = e.getLastAllPosition();
-                    return;
-                }
-
-                if (e.hasEvent())
-                    events.add(e.getEvent());
-            }
-
-            @Override
-            public void onError(Throwable t) {
-                future.completeExceptionally(t);
-            }
-
-            @Override
-            public void onComplete() {
-                future.complete(new ReadResult(events, firstStreamPosition, lastStreamPosition, lastAllStreamPosition));
-            }
-        });
-        return future;
+    static CompletableFuture<ReadResult> readEventsFromPublisher(Publisher<ReadMessage> eventPublisher) {
+        ReadResultSubscriber subscriber = new ReadResultSubscriber();
+        eventPublisher.subscribe(subscriber);
+        return subscriber.getResult();
     }
 }
@@ -10,15 +10,19 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class EventStoreDBClientBase {
     final Logger logger = LoggerFactory.getLogger(EventStoreDBClientBase.class);
     final private GrpcClient client;
+    // Connection used by reads and subscriptions, same as client unless a different read node preference is set.
+    final private GrpcClient readClient;
 
     EventStoreDBClientBase(EventStoreDBClientSettings settings) {
+        boolean cluster = settings.getHosts().length != 1 || settings.isDnsDiscover();
         Discovery discovery;
 
-        if (settings.getHosts().length == 1 && !settings.isDnsDiscover()) {
+        if (!cluster) {
             discovery = new SingleNodeDiscovery(settings.getHosts()[0]);
         } else {
             discovery = new ClusterDiscovery(settings);
@@ -26,11 +30,29 @@ public class EventStoreDBClientBase {
 
         // Required to instruct Netty to use BouncyCastle for TLS
         Security.addProvider(new BouncyCastleProvider());
-        ConnectionService service = new ConnectionService(settings, discovery);
-        this.client = service.getHandle();
 
+        // Both connections share the limits, they apply to the client as a whole.
+        ConcurrencyLimiter limiter = settings.getMaxConcurrency() > 0 ? new ConcurrencyLimiter(settings.getMaxConcurrency(), settings.getConcurrencyLimitPolicy()) : null;
+        AtomicInteger pending = new AtomicInteger();
+        this.client = startConnection(settings, discovery, limiter, pending);
+
+        NodePreference readNodePreference = settings.getReadNodePreference();
+
+        if (cluster && readNodePreference != null && readNodePreference != settings.getNodePreference()) {
+            EventStoreDBClientSettings readSettings = settings.withNodePreference(readNodePreference);
+            this.readClient = startConnection(readSettings, new ClusterDiscovery(readSettings), limiter, pending);
+        } else {
+            this.readClient = this.client;
+        }
+    }
+
+    private GrpcClient startConnection(EventStoreDBClientSettings settings, Discovery discovery, ConcurrencyLimiter limiter, AtomicInteger pending) {
+        ConnectionService service = new ConnectionService(settings, discovery, limiter, pending);
         CompletableFuture.runAsync(service, createConnectionLoopExecutor());
+
+        return service.getHandle();
     }
+
     private Executor createConnectionLoopExecutor() {
         return Executors.newSingleThreadExecutor(r -> {
             Thread thread = new Thread(r, "esdb-client-" + UUID.randomUUID());
@@ -44,7 +66,10 @@ public class EventStoreDBClientBase {
      * Closes a connection and cleans all its allocated resources.
      */
     public CompletableFuture<Void> shutdown() {
-        return this.client.shutdown();
+        if (this.readClient == this.client)
+            return this.client.shutdown();
+
+        return CompletableFuture.allOf(this.client.shutdown(), this.readClient.shutdown());
     }
 
     /**
@@ -57,6 +82,16 @@ public class EventStoreDBClientBase {
         return this.client.isShutdown();
     }
 
+    /**
+     * Number of operations waiting for the client to connect, or reconnect, to a node, or waiting for a slot under the
+     * concurrency limit. Operations issued while a connection and a slot are available don't wait and aren't counted.
+     * @return the number of operations waiting for a connection.
+     */
+    public int getPendingOperationCount() {
+        // Shared by both connections.
+        return this.client.getPendingOperationCount();
+    }
+
     public CompletableFuture<Optional<ServerVersion>> getServerVersion() {
         return client.getServerVersion();
     }
@@ -64,4 +99,9 @@ public class EventStoreDBClientBase {
     GrpcClient getGrpcClient() {
         return client;
     }
+
+    // Reads requiring the leader stay on the main connection.
+    GrpcClient getReadGrpcClient(OptionsBase<?> options) {
+        return options.isLeaderRequired() ? client : readClient;
+    }
 }
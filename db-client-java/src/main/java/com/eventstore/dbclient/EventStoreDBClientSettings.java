@@ -5,6 +5,7 @@ import io.grpc.ClientInterceptor;
 import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Gathers all the settings related to a gRPC client with an EventStoreDB database.
@@ -22,6 +23,16 @@ import java.util.Set;
  *     <li>tlsVerifyCert: true</li>
  *     <li>keepAliveTimeout: 10000</li>
  *     <li>keepAliveInterval: 10000</li>
+ *     <li>channelPoolSize: 1</li>
+ *     <li>subscriptionChannelPoolSize: 0</li>
+ *     <li>gossipPollInterval: 0 (disabled)</li>
+ *     <li>retryAttempts: 0 (disabled)</li>
+ *     <li>retryBackoff: 100</li>
+ *     <li>retryBudget: 10000</li>
+ *     <li>maxConcurrency: 0 (disabled)</li>
+ *     <li>concurrencyLimitPolicy: wait</li>
+ *     <li>maxPendingOperations: 0 (unbounded)</li>
+ *     <li>connectionWaitTimeout: 0 (until discovery gives up)</li>
  * </ul>
  */
 public class EventStoreDBClientSettings {
@@ -41,6 +52,18 @@ public class EventStoreDBClientSettings {
     private final List<ClientInterceptor> interceptors;
     private final String tlsCaFile;
     private final Set<String> features;
+    private final Executor executor;
+    private final int channelPoolSize;
+    private final int subscriptionChannelPoolSize;
+    private final NodePreference readNodePreference;
+    private final int gossipPollInterval;
+    private final int retryAttempts;
+    private final int retryBackoff;
+    private final int retryBudget;
+    private final int maxConcurrency;
+    private final ConcurrencyLimitPolicy concurrencyLimitPolicy;
+    private final int maxPendingOperations;
+    private final int connectionWaitTimeout;
 
     /**
      * If the dns discovery is enabled.
@@ -167,6 +190,106 @@ public class EventStoreDBClientSettings {
      */
     public Set<String> getFeatures() { return features; }
 
+    /**
+     * Executor used to complete the futures returned by the client.
+     * @return the executor, or null if futures complete on the thread that received the server response.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * How many channels (HTTP/2 connections) are opened to the selected node for request/response operations. Each
+     * operation goes to the channel with the fewest operations in flight.
+     */
+    public int getChannelPoolSize() {
+        return channelPoolSize;
+    }
+
+    /**
+     * How many channels are opened to the selected node for subscriptions only. 0 means subscriptions share the
+     * request/response channels.
+     */
+    public int getSubscriptionChannelPoolSize() {
+        return subscriptionChannelPoolSize;
+    }
+
+    /**
+     * Preferred node type for reads and subscriptions, which then go through a separate connection, while the other
+     * operations keep using {@link #getNodePreference()}.
+     * @return the read node preference, or null if reads use the same connection as the other operations.
+     */
+    public NodePreference getReadNodePreference() {
+        return readNodePreference;
+    }
+
+    /**
+     * How often (in milliseconds) the client polls the gossip of the node it's connected to in the background, to move to
+     * a better fitting node, like a newly elected leader, before operations fail. 0 disables background polling.
+     * Switching to another node cancels the subscriptions running on the previous one, once they had a few seconds to
+     * complete.
+     */
+    public int getGossipPollInterval() {
+        return gossipPollInterval;
+    }
+
+    /**
+     * How many times an operation that is safe to run again is retried after failing because the node it ran on is not
+     * the leader anymore or became unavailable. Retries are issued once the connection to the new node is confirmed.
+     * 0 disables retries.
+     */
+    public int getRetryAttempts() {
+        return retryAttempts;
+    }
+
+    /**
+     * Delay (in milliseconds) before the first retry of an operation, doubled on each following retry.
+     */
+    public int getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    /**
+     * Maximum time (in milliseconds), counted from the first attempt, during which an operation can be retried. The
+     * attempts count as much as the delays between them.
+     */
+    public int getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Upper bound of the adaptive limit of operations in flight. The limit follows the round-trip times of the
+     * operations, so it stays around the point where the node's latency starts to grow. 0 disables the limit.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * What happens to operations issued past the adaptive concurrency limit.
+     */
+    public ConcurrencyLimitPolicy getConcurrencyLimitPolicy() {
+        return concurrencyLimitPolicy;
+    }
+
+    /**
+     * Maximum number of operations waiting for the client to connect, or reconnect, to a node, or waiting for a slot
+     * under the concurrency limit, see {@link ConcurrencyLimitPolicy#WAIT}. Past that, operations fail right away with
+     * {@link TooManyPendingOperationsException}. 0 means no limit.
+     */
+    public int getMaxPendingOperations() {
+        return maxPendingOperations;
+    }
+
+    /**
+     * How long (in milliseconds) an operation waits for the client to connect, or reconnect, to a node, or for a slot
+     * under the concurrency limit, before failing with a {@link java.util.concurrent.TimeoutException}. 0 means operations
+     * wait as long as the discovery process runs, or as long as no slot frees up.
+     */
+    public int getConnectionWaitTimeout() {
+        return connectionWaitTimeout;
+    }
+
     EventStoreDBClientSettings(
             boolean dnsDiscover,
             int maxDiscoverAttempts,
@@ -183,7 +306,19 @@ public class EventStoreDBClientSettings {
             Long defaultDeadline,
             List<ClientInterceptor> interceptors,
             String tlsCaFile,
-            Set<String> features
+            Set<String> features,
+            Executor executor,
+            int channelPoolSize,
+            int subscriptionChannelPoolSize,
+            NodePreference readNodePreference,
+            int gossipPollInterval,
+            int retryAttempts,
+            int retryBackoff,
+            int retryBudget,
+            int maxConcurrency,
+            ConcurrencyLimitPolicy concurrencyLimitPolicy,
+            int maxPendingOperations,
+            int connectionWaitTimeout
     ) {
         this.dnsDiscover = dnsDiscover;
         this.maxDiscoverAttempts = maxDiscoverAttempts;
@@ -201,6 +336,51 @@ public class EventStoreDBClientSettings {
         this.interceptors = interceptors;
         this.tlsCaFile = tlsCaFile;
         this.features = features;
+        this.executor = executor;
+        this.channelPoolSize = channelPoolSize;
+        this.subscriptionChannelPoolSize = subscriptionChannelPoolSize;
+        this.readNodePreference = readNodePreference;
+        this.gossipPollInterval = gossipPollInterval;
+        this.retryAttempts = retryAttempts;
+        this.retryBackoff = retryBackoff;
+        this.retryBudget = retryBudget;
+        this.maxConcurrency = maxConcurrency;
+        this.concurrencyLimitPolicy = concurrencyLimitPolicy;
+        this.maxPendingOperations = maxPendingOperations;
+        this.connectionWaitTimeout = connectionWaitTimeout;
+    }
+
+    // Same settings, connecting to a different kind of node for all operations.
+    EventStoreDBClientSettings withNodePreference(NodePreference nodePreference) {
+        return new EventStoreDBClientSettings(
+                dnsDiscover,
+                maxDiscoverAttempts,
+                discoveryInterval,
+                gossipTimeout,
+                nodePreference,
+                tls,
+                tlsVerifyCert,
+                defaultCredentials,
+                defaultClientCertificate,
+                hosts,
+                keepAliveTimeout,
+                keepAliveInterval,
+                defaultDeadline,
+                interceptors,
+                tlsCaFile,
+                features,
+                executor,
+                channelPoolSize,
+                subscriptionChannelPoolSize,
+                null,
+                gossipPollInterval,
+                retryAttempts,
+                retryBackoff,
+                retryBudget,
+                maxConcurrency,
+                concurrencyLimitPolicy,
+                maxPendingOperations,
+                connectionWaitTimeout);
     }
 
     /**
@@ -2,6 +2,7 @@ package com.eventstore.dbclient;
 
 import com.eventstore.dbclient.proto.shared.Shared;
 import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.Empty;
 
 import java.util.Objects;
 
@@ -62,6 +63,7 @@ public abstract class ExpectedRevision {
     abstract StreamsOuterClass.AppendReq.Options.Builder applyOnWire(StreamsOuterClass.AppendReq.Options.Builder options);
     abstract StreamsOuterClass.DeleteReq.Options.Builder applyOnWire(StreamsOuterClass.DeleteReq.Options.Builder options);
     abstract StreamsOuterClass.TombstoneReq.Options.Builder applyOnWire(StreamsOuterClass.TombstoneReq.Options.Builder options);
+    abstract StreamsOuterClass.BatchAppendReq.Options.Builder applyOnWire(StreamsOuterClass.BatchAppendReq.Options.Builder options);
 
     public long toRawLong() {
         if (this instanceof  NoStreamExpectedRevision)
@@ -105,6 +107,11 @@ public abstract class ExpectedRevision {
             return options.setNoStream(Shared.Empty.getDefaultInstance());
         }
 
+        @Override
+        public StreamsOuterClass.BatchAppendReq.Options.Builder applyOnWire(StreamsOuterClass.BatchAppendReq.Options.Builder options) {
+            return options.setNoStream(Empty.getDefaultInstance());
+        }
+
         @Override
         public String toString() {
             return "ExpectedNoStream";
@@ -127,6 +134,11 @@ public abstract class ExpectedRevision {
             return options.setAny(Shared.Empty.getDefaultInstance());
         }
 
+        @Override
+        public StreamsOuterClass.BatchAppendReq.Options.Builder applyOnWire(StreamsOuterClass.BatchAppendReq.Options.Builder options) {
+            return options.setAny(Empty.getDefaultInstance());
+        }
+
         @Override
         public String toString() {
             return "ExpectedAny";
@@ -149,6 +161,11 @@ public abstract class ExpectedRevision {
             return options.setStreamExists(Shared.Empty.getDefaultInstance());
         }
 
+        @Override
+        public StreamsOuterClass.BatchAppendReq.Options.Builder applyOnWire(StreamsOuterClass.BatchAppendReq.Options.Builder options) {
+            return options.setStreamExists(Empty.getDefaultInstance());
+        }
+
         @Override
         public String toString() {
             return "ExpectedStreamExists";
@@ -190,6 +207,11 @@ public abstract class ExpectedRevision {
             return options.setRevision(version);
         }
 
+        @Override
+        public StreamsOuterClass.BatchAppendReq.Options.Builder applyOnWire(StreamsOuterClass.BatchAppendReq.Options.Builder options) {
+            return options.setStreamPosition(version);
+        }
+
         @Override
         public String toString() {
             return Long.toString(this.version);
@@ -48,7 +48,7 @@ final class GetPersistentSubscriptionInfo {
                     Optional.of(parseInfoFromWire(resp.getSubscriptionInfo()))
                 ));
 
-                tmp.whenCompleteAsync((opt, error) -> {
+                tmp.whenComplete((opt, error) -> {
                     if (error instanceof StatusRuntimeException) {
                         StatusRuntimeException status = (StatusRuntimeException) error;
 
@@ -66,29 +66,32 @@ final class GetPersistentSubscriptionInfo {
                     result.complete(opt);
                 });
             } else {
-                HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), String.format("/subscriptions/%s/%s/info", urlEncode(stream), urlEncode(groupName)));
-                try {
-                    http.setRequestMethod("GET");
-                    int code = http.getResponseCode();
-
-                    if (code == 404) {
-                        result.complete(Optional.empty());
-                    } else {
-                        Exception error = checkForError(http.getResponseCode());
-                        if (error != null) {
-                            result.completeExceptionally(error);
+                // Blocking I/O, kept off the thread issuing the operation.
+                client.runBlocking(result, () -> {
+                    HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), String.format("/subscriptions/%s/%s/info", urlEncode(stream), urlEncode(groupName)));
+                    try {
+                        http.setRequestMethod("GET");
+                        int code = http.getResponseCode();
+
+                        if (code == 404) {
+                            result.complete(Optional.empty());
                         } else {
-                            String content = readContent(http);
-                            JsonNode node = getObjectMapper().readTree(content);
-
-                            result.complete(Optional.of(parseSubscriptionInfo(node)));
+                            Exception error = checkForError(http.getResponseCode());
+                            if (error != null) {
+                                result.completeExceptionally(error);
+                            } else {
+                                String content = readContent(http);
+                                JsonNode node = getObjectMapper().readTree(content);
+
+                                result.complete(Optional.of(parseSubscriptionInfo(node)));
+                            }
                         }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    } finally {
+                        http.disconnect();
                     }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                } finally {
-                    http.disconnect();
-                }
+                });
             }
 
             return result;
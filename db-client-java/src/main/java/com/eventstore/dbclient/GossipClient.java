@@ -25,13 +25,22 @@ class GossipClient {
     }
 
     public void shutdown() {
+        _channel.shutdown();
+        StubCache.invalidate(_channel);
+
         try {
-            _channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+            _channel.awaitTermination(5, TimeUnit.SECONDS);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
         }
     }
 
+    // Cancels the pending requests without waiting for the channel to terminate.
+    public void cancel() {
+        _channel.shutdownNow();
+        StubCache.invalidate(_channel);
+    }
+
     public CompletableFuture<ClusterInfo> read() {
         CompletableFuture<ClusterInfo> result = new CompletableFuture<>();
 
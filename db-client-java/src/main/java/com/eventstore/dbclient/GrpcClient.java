@@ -1,56 +1,118 @@
 package com.eventstore.dbclient;
 
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsGrpc;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 class GrpcClient {
     private static final Logger logger = LoggerFactory.getLogger(GrpcClient.class);
+    private static final long POSITION_POLL_DELAY_IN_MS = 10;
+    private static final long POSITION_POLL_MAX_DELAY_IN_MS = 100;
     private final AtomicBoolean closed;
     private final LinkedBlockingQueue<Msg> queue;
+    private final AtomicReference<WorkItemArgs> currentArgs;
     private final EventStoreDBClientSettings settings;
+    private final RetryPolicy retryPolicy;
+    // Operations waiting for the connection to be confirmed, shared with the client's other connection if any.
+    private final AtomicInteger pending;
+    // null when the concurrency of operations isn't limited. Shared with the client's other connection if any.
+    private final ConcurrencyLimiter limiter;
+    private BatchAppendStream batchAppendStream;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workers;
 
-    GrpcClient(EventStoreDBClientSettings settings, AtomicBoolean closed, LinkedBlockingQueue<Msg> queue) {
+    GrpcClient(EventStoreDBClientSettings settings, AtomicBoolean closed, LinkedBlockingQueue<Msg> queue, AtomicReference<WorkItemArgs> currentArgs, ConcurrencyLimiter limiter, AtomicInteger pending) {
         this.settings = settings;
         this.closed = closed;
         this.queue = queue;
+        this.currentArgs = currentArgs;
+        this.retryPolicy = new RetryPolicy(settings);
+        this.limiter = limiter;
+        this.pending = pending;
     }
 
     public boolean isShutdown() {
         return this.closed.get();
     }
 
+    /**
+     * Number of operations waiting for the connection to be confirmed, or for a concurrency slot.
+     */
+    int getPendingOperationCount() {
+        return this.pending.get();
+    }
+
+    // The queue is unbounded so pushing a message never blocks, there is no need to hop to another thread.
     private CompletableFuture<Void> push(Msg msg) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                if (this.closed.get()) {
-                    if (msg instanceof RunWorkItem) {
-                        RunWorkItem args = (RunWorkItem) msg;
-                        args.reportError(new ConnectionShutdownException());
-                    }
+        CompletableFuture<Void> result = new CompletableFuture<>();
 
-                    if (msg instanceof Shutdown) {
-                        ((Shutdown) msg).complete();
-                    }
+        try {
+            if (this.closed.get()) {
+                if (msg instanceof RunWorkItem) {
+                    RunWorkItem args = (RunWorkItem) msg;
+                    args.reportError(new ConnectionShutdownException());
+                }
 
-                    return;
+                if (msg instanceof Shutdown) {
+                    ((Shutdown) msg).complete();
                 }
 
-                this.queue.put(msg);
-                logger.debug("Scheduled msg: {}", msg);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+                result.complete(null);
+                return result;
             }
-        });
+
+            this.queue.put(msg);
+            logger.debug("Scheduled msg: {}", msg);
+            result.complete(null);
+        } catch (InterruptedException e) {
+            result.completeExceptionally(new RuntimeException(e));
+        }
+
+        return result;
+    }
+
+    // When the user provided an executor, the returned future completes on it so dependent stages don't run on
+    // gRPC transport threads or on the connection loop.
+    private <A> CompletableFuture<A> completeOnExecutor(CompletableFuture<A> source) {
+        final Executor executor = this.settings.getExecutor();
+
+        if (executor == null)
+            return source;
+
+        final CompletableFuture<A> result = new CompletableFuture<>();
+        source.whenCompleteAsync((outcome, error) -> {
+            if (error != null)
+                result.completeExceptionally(error);
+            else
+                result.complete(outcome);
+        }, executor);
+
+        return result;
     }
 
     public CompletableFuture<Optional<ServerVersion>> getServerVersion() {
@@ -62,11 +124,148 @@ class GrpcClient {
     }
 
     public <A> CompletableFuture<A> runWithArgs(Function<WorkItemArgs, CompletableFuture<A>> action) {
+        return completeOnExecutor(runOnce(action, false));
+    }
+
+    /**
+     * Same as {@link #runWithArgs(Function)}, but when the retry policy is enabled and the operation fails with an
+     * error accepted by {@code retryable}, the operation is issued again once the connection to the new leader, or to
+     * another node, is confirmed. Only meant for operations that are safe to run twice.
+     */
+    public <A> CompletableFuture<A> runWithRetry(Function<WorkItemArgs, CompletableFuture<A>> action, Predicate<Throwable> retryable) {
+        return runWithRetry(action, retryable, false);
+    }
+
+    /**
+     * Same as {@link #runWithRetry(Function, Predicate)}, for reads and subscriptions. Their call only holds a
+     * concurrency slot until it is started, as it lasts as long as the caller consumes it, and its duration says
+     * nothing about the node's latency.
+     */
+    public <A> CompletableFuture<A> runStreaming(Function<WorkItemArgs, CompletableFuture<A>> action, Predicate<Throwable> retryable) {
+        return runWithRetry(action, retryable, true);
+    }
+
+    private <A> CompletableFuture<A> runWithRetry(Function<WorkItemArgs, CompletableFuture<A>> action, Predicate<Throwable> retryable, boolean streaming) {
+        if (!this.retryPolicy.isEnabled())
+            return completeOnExecutor(runOnce(action, streaming));
+
+        final CompletableFuture<A> result = new CompletableFuture<>();
+        attempt(action, retryable, streaming, 1, System.nanoTime(), result);
+
+        return completeOnExecutor(result);
+    }
+
+    private <A> void attempt(Function<WorkItemArgs, CompletableFuture<A>> action, Predicate<Throwable> retryable, boolean streaming, int retry, long startedAt, CompletableFuture<A> result) {
+        runOnce(action, streaming).whenComplete((outcome, error) -> {
+            if (error == null) {
+                result.complete(outcome);
+                return;
+            }
+
+            long delayInMs = -1;
+
+            if (!this.closed.get() && retryable.test(RetryPolicy.unwrap(error)))
+                delayInMs = this.retryPolicy.delayBeforeRetry(retry, startedAt);
+
+            if (delayInMs < 0) {
+                result.completeExceptionally(error);
+                return;
+            }
+
+            logger.debug("Retrying operation ({}/{}) in {}ms after: {}", retry, this.settings.getRetryAttempts(), delayInMs, error.toString());
+
+            try {
+                // The connection service is already reconnecting at this point, the new attempt waits for the
+                // connection to be confirmed.
+                getScheduler().schedule(() -> attempt(action, retryable, streaming, retry + 1, startedAt, result), delayInMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    // Past the concurrency limit, the operation waits for a slot or is rejected before reaching the connection.
+    private <A> CompletableFuture<A> runOnce(Function<WorkItemArgs, CompletableFuture<A>> action, boolean streaming) {
+        final ConcurrencyLimiter limiter = this.limiter;
+
+        if (limiter == null)
+            return dispatch(action);
+
+        return awaitSlot(limiter, limiter.acquire()).thenCompose(x -> {
+            if (streaming) {
+                // Given back once the call is started, or when the operation fails before reaching the channel.
+                final AtomicBoolean released = new AtomicBoolean(false);
+                final Runnable release = () -> {
+                    if (released.compareAndSet(false, true))
+                        limiter.release();
+                };
+
+                final CompletableFuture<A> result = dispatch(args -> {
+                    try {
+                        return action.apply(args);
+                    } finally {
+                        release.run();
+                    }
+                });
+
+                result.whenComplete((outcome, error) -> release.run());
+                return result;
+            }
+
+            final long startedAt = System.nanoTime();
+            final CompletableFuture<A> result = dispatch(action);
+
+            result.whenComplete((outcome, error) -> limiter.release(startedAt, error));
+            return result;
+        });
+    }
+
+    // An operation waiting for a concurrency slot is pending, like one waiting for the connection: it counts towards
+    // the max pending operations and gives up after the connection wait timeout.
+    private CompletableFuture<Void> awaitSlot(ConcurrencyLimiter limiter, CompletableFuture<Void> slot) {
+        if (slot.isDone())
+            return slot;
+
+        final int maxPending = this.settings.getMaxPendingOperations();
+
+        if (this.pending.incrementAndGet() > maxPending && maxPending > 0) {
+            this.pending.decrementAndGet();
+
+            if (!limiter.cancel(slot))
+                return slot;
+
+            CompletableFuture<Void> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new TooManyPendingOperationsException(maxPending));
+            return rejected;
+        }
+
+        slot.whenComplete((x, error) -> this.pending.decrementAndGet());
+
+        final int waitTimeout = this.settings.getConnectionWaitTimeout();
+
+        if (waitTimeout > 0) {
+            try {
+                ScheduledFuture<?> timer = getScheduler().schedule(() -> {
+                    if (limiter.cancel(slot))
+                        slot.completeExceptionally(new TimeoutException(
+                                String.format("No concurrency slot was available after %dms", waitTimeout)));
+                }, waitTimeout, TimeUnit.MILLISECONDS);
+
+                slot.whenComplete((x, error) -> timer.cancel(false));
+            } catch (RejectedExecutionException e) {
+                // The client is shutting down, closing the limiter fails the operation.
+            }
+        }
+
+        return slot;
+    }
+
+    private <A> CompletableFuture<A> dispatch(Function<WorkItemArgs, CompletableFuture<A>> action) {
         final CompletableFuture<A> result = new CompletableFuture<>();
         final String msgId = UUID.randomUUID().toString();
         final LinkedBlockingQueue<Msg> queue = this.queue;
 
-        return this.push(new RunWorkItem(msgId, (args, fatalError) -> {
+        final WorkItem item = (args, fatalError) -> {
             if (fatalError != null) {
                 result.completeExceptionally(fatalError);
                 return;
@@ -78,21 +277,28 @@ class GrpcClient {
                     return;
                 }
 
+                // Some operations, like traced appends, wrap their errors.
+                Throwable cause = RetryPolicy.unwrap(error);
+
                 try {
-                    if (error instanceof NotLeaderException) {
-                        NotLeaderException ex = (NotLeaderException) error;
-                        // TODO - Currently we don't retry on not leader exception but we might consider
-                        // allowing this on a case-by-case basis.
-                        result.completeExceptionally(ex);
+                    // The reconnection request is queued before the caller learns about the error, so an operation
+                    // retried right away waits for the new connection instead of hitting the old node again.
+                    if (cause instanceof NotLeaderException) {
+                        NotLeaderException ex = (NotLeaderException) cause;
+                        closeBatchAppendStream();
+                        currentArgs.compareAndSet(args, null);
                         queue.put(new CreateChannel(args.getId(), ex.getLeaderEndpoint()));
+                        result.completeExceptionally(ex);
 
                         return;
                     }
 
-                    if (error instanceof StatusRuntimeException) {
-                        StatusRuntimeException ex = (StatusRuntimeException) error;
+                    if (cause instanceof StatusRuntimeException) {
+                        StatusRuntimeException ex = (StatusRuntimeException) cause;
 
                         if (ex.getStatus().getCode().equals(Status.Code.UNAVAILABLE)) {
+                            closeBatchAppendStream();
+                            currentArgs.compareAndSet(args, null);
                             queue.put(new CreateChannel(args.getId()));
                         }
                     }
@@ -103,16 +309,249 @@ class GrpcClient {
                     result.completeExceptionally(e);
                 }
             });
-        })).thenComposeAsync(x -> result);
+        };
+
+        // Fast path: when a confirmed channel is available, the operation runs right away on the calling thread.
+        // Only reconnections, discovery and shutdown go through the connection message loop. Work items must therefore
+        // not block, those that do, like the HTTP fallback of older servers, hand their blocking part to runBlocking.
+        final WorkItemArgs snapshot = this.currentArgs.get();
+        if (snapshot != null && !this.closed.get()) {
+            try {
+                item.accept(snapshot, null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+
+            return result;
+        }
+
+        // Slow path: the operation waits for the connection to be confirmed, as long as there is room for it.
+        final int maxPending = this.settings.getMaxPendingOperations();
+
+        if (this.pending.incrementAndGet() > maxPending && maxPending > 0) {
+            this.pending.decrementAndGet();
+            result.completeExceptionally(new TooManyPendingOperationsException(maxPending));
+            return result;
+        }
+
+        // Whichever comes first between the connection, the shutdown or the wait timeout settles the operation.
+        final AtomicBoolean settled = new AtomicBoolean(false);
+        final AtomicReference<ScheduledFuture<?>> timeout = new AtomicReference<>();
+        final WorkItem pendingItem = (args, fatalError) -> {
+            if (!settled.compareAndSet(false, true))
+                return;
+
+            this.pending.decrementAndGet();
+            ScheduledFuture<?> timer = timeout.get();
+
+            if (timer != null)
+                timer.cancel(false);
+
+            item.accept(args, fatalError);
+        };
+
+        final int waitTimeout = this.settings.getConnectionWaitTimeout();
+
+        if (waitTimeout > 0) {
+            try {
+                timeout.set(getScheduler().schedule(() -> pendingItem.accept(null, new TimeoutException(
+                        String.format("No connection was available after %dms", waitTimeout))), waitTimeout, TimeUnit.MILLISECONDS));
+            } catch (RejectedExecutionException e) {
+                // The client is shutting down, the connection service fails the operation.
+            }
+        }
+
+        return this.push(new RunWorkItem(msgId, pendingItem)).thenCompose(x -> result);
+    }
+
+    /**
+     * Returns the BatchAppend stream bound to the channel of the given work item, opening a new one if the previous
+     * stream was closed or belongs to a channel that has since been replaced.
+     */
+    synchronized BatchAppendStream getBatchAppendStream(WorkItemArgs args) {
+        if (this.batchAppendStream == null || !this.batchAppendStream.isUsableFor(args.getId(), args.getChannel())) {
+            if (this.batchAppendStream != null)
+                this.batchAppendStream.close();
+
+            logger.debug("Opening BatchAppend stream on endpoint [{}]", args.getEndpoint());
+            this.batchAppendStream = new BatchAppendStream(args.getId(), args.getChannel(), this.settings, getWorkerExecutor());
+        }
+
+        return this.batchAppendStream;
+    }
+
+    // Timers of the client: position polling, retries and connection wait timeouts.
+    synchronized ScheduledExecutorService getScheduler() {
+        if (this.scheduler == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "esdb-client-scheduler-" + UUID.randomUUID());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            // Wait timeouts are cancelled as soon as the operation runs, they shouldn't linger until their deadline.
+            executor.setRemoveOnCancelPolicy(true);
+            this.scheduler = executor;
+        }
+
+        return this.scheduler;
+    }
+
+    /**
+     * Runs the blocking part of a work item on the user provided executor, or on the client's worker threads, so it
+     * never stalls the thread issuing the operation. {@code result} fails if {@code work} throws.
+     */
+    void runBlocking(CompletableFuture<?> result, Runnable work) {
+        try {
+            getWorkerExecutor().execute(() -> {
+                try {
+                    work.run();
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new ConnectionShutdownException());
+        }
+    }
+
+    // Runs user code and blocking work off gRPC transport threads and the threads issuing operations.
+    synchronized Executor getWorkerExecutor() {
+        if (this.settings.getExecutor() != null)
+            return this.settings.getExecutor();
+
+        if (this.workers == null) {
+            this.workers = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "esdb-client-worker-" + UUID.randomUUID());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return this.workers;
+    }
+
+    /**
+     * Completes once the node this client is connected to has caught up with the position the options wait for, or
+     * right away if they don't wait for any.
+     */
+    CompletableFuture<Void> awaitPosition(OptionsBase<?> options) {
+        final Position target = options.getWaitForPosition();
+
+        if (target == null)
+            return CompletableFuture.completedFuture(null);
+
+        long timeoutInMs = 10_000;
+
+        if (options.getDeadline() != null) {
+            timeoutInMs = options.getDeadline();
+        } else if (this.settings.getDefaultDeadline() != null) {
+            timeoutInMs = this.settings.getDefaultDeadline();
+        }
+
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        pollPosition(target, options, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMs), 1, result);
+
+        return result;
+    }
+
+    private void pollPosition(Position target, OptionsBase<?> options, long deadline, int attempt, CompletableFuture<Void> result) {
+        runWithArgs(args -> readLastPosition(args.getChannel(), options)).whenComplete((last, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+
+            if (last.compareTo(target) >= 0) {
+                result.complete(null);
+                return;
+            }
+
+            if (System.nanoTime() - deadline >= 0) {
+                result.completeExceptionally(new TimeoutException(String.format("Node didn't reach position %s, last known position is %s", target, last)));
+                return;
+            }
+
+            try {
+                long delayInMs = Math.min(POSITION_POLL_MAX_DELAY_IN_MS, attempt * POSITION_POLL_DELAY_IN_MS);
+                getScheduler().schedule(() -> pollPosition(target, options, deadline, attempt + 1, result), delayInMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(new ConnectionShutdownException());
+            }
+        });
+    }
+
+    // Position of the last event of $all, or the beginning of the log if it's empty.
+    private CompletableFuture<Position> readLastPosition(ManagedChannel channel, OptionsBase<?> options) {
+        final CompletableFuture<Position> result = new CompletableFuture<>();
+        StreamsOuterClass.ReadReq request = StreamsOuterClass.ReadReq.newBuilder()
+                .setOptions(StreamsOuterClass.ReadReq.Options.newBuilder()
+                        .setAll(StreamsOuterClass.ReadReq.Options.AllOptions.newBuilder()
+                                .setEnd(Shared.Empty.getDefaultInstance()))
+                        .setReadDirection(StreamsOuterClass.ReadReq.Options.ReadDirection.Backwards)
+                        .setCount(1)
+                        .setNoFilter(Shared.Empty.getDefaultInstance())
+                        .setUuidOption(StreamsOuterClass.ReadReq.Options.UUIDOption.newBuilder()
+                                .setStructured(Shared.Empty.getDefaultInstance())))
+                .build();
+
+        GrpcUtils.configureStub(StreamsGrpc.newStub(channel), this.settings, options).read(request, new StreamObserver<StreamsOuterClass.ReadResp>() {
+            private Position last = new Position(0, 0);
+
+            @Override
+            public void onNext(StreamsOuterClass.ReadResp resp) {
+                if (resp.hasEvent() && resp.getEvent().hasCommitPosition()) {
+                    this.last = new Position(resp.getEvent().getCommitPosition(), resp.getEvent().getEvent().getPreparePosition());
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                result.complete(this.last);
+            }
+        });
+
+        return result;
+    }
+
+    // Half-closing the stream lets the in-flight appends complete while not holding the channel open when it
+    // gets replaced or shut down.
+    private synchronized void closeBatchAppendStream() {
+        if (this.batchAppendStream != null) {
+            this.batchAppendStream.close();
+            this.batchAppendStream = null;
+        }
     }
 
     public CompletableFuture<Void> shutdown() {
         final CompletableFuture<Void> completion = new CompletableFuture<>();
 
-        return this.push(new Shutdown(completion::complete)).thenComposeAsync(x -> completion);
+        closeBatchAppendStream();
+
+        if (this.limiter != null)
+            this.limiter.close();
+
+        synchronized (this) {
+            if (this.scheduler != null)
+                this.scheduler.shutdown();
+
+            if (this.workers != null)
+                this.workers.shutdown();
+        }
+
+        return completeOnExecutor(this.push(new Shutdown(completion::complete)).thenCompose(x -> completion));
     }
 
     public EventStoreDBClientSettings getSettings() {
         return this.settings;
     }
+
+    RetryPolicy getRetryPolicy() {
+        return this.retryPolicy;
+    }
 }
\ No newline at end of file
@@ -117,23 +117,6 @@ final class GrpcUtils {
     }
 
     static public <S extends AbstractAsyncStub<S>, O> S configureStub(S stub, EventStoreDBClientSettings settings, OptionsBase<O> options, Long forceDeadlineInMs) {
-        S finalStub = stub;
-        ConnectionMetadata metadata = new ConnectionMetadata();
-
-        if (options.getKind() != OperationKind.Streaming) {
-            long deadlineInMs = 10_000;
-
-            if (forceDeadlineInMs != null) {
-                deadlineInMs = forceDeadlineInMs;
-            } else if (options.getDeadline() != null) {
-                deadlineInMs = options.getDeadline();
-            } else if (settings.getDefaultDeadline() != null) {
-                deadlineInMs = settings.getDefaultDeadline();
-            }
-
-            finalStub = finalStub.withDeadlineAfter(deadlineInMs, TimeUnit.MILLISECONDS);
-        }
-
         UserCredentials credentials = null;
 
         if (options.hasUserCredentials()) {
@@ -142,16 +125,22 @@ final class GrpcUtils {
             credentials = settings.getDefaultCredentials();
         }
 
-        if (credentials != null) {
-            metadata.authenticated(credentials);
-        }
+        boolean requiresLeader = options.isLeaderRequired() || settings.getNodePreference() == NodePreference.LEADER;
+        S configured = StubCache.get(stub, credentials, requiresLeader, options.getHeaders());
 
-        if (options.isLeaderRequired() || settings.getNodePreference() == NodePreference.LEADER) {
-            metadata.requiresLeader();
-        }
+        if (options.getKind() == OperationKind.Streaming)
+            return configured;
 
-        metadata.headers(options.getHeaders());
+        long deadlineInMs = 10_000;
+
+        if (forceDeadlineInMs != null) {
+            deadlineInMs = forceDeadlineInMs;
+        } else if (options.getDeadline() != null) {
+            deadlineInMs = options.getDeadline();
+        } else if (settings.getDefaultDeadline() != null) {
+            deadlineInMs = settings.getDefaultDeadline();
+        }
 
-        return finalStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata.build()));
+        return configured.withDeadlineAfter(deadlineInMs, TimeUnit.MILLISECONDS);
     }
 }
\ No newline at end of file
@@ -53,33 +53,36 @@ final class ListPersistentSubscriptions {
                     return infos;
                 }));
             } else {
-                String suffix = "";
+                // Blocking I/O, kept off the thread issuing the operation.
+                client.runBlocking(result, () -> {
+                    String suffix = "";
 
-                if (!stream.equals("")) {
-                    suffix = String.format("/%s", urlEncode(stream));
-                }
-
-                HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), String.format("/subscriptions%s", suffix));
-                try {
-                    http.setRequestMethod("GET");
-
-                    Exception error = checkForError(http.getResponseCode());
-                    if (error != null) {
-                        result.completeExceptionally(error);
-                    } else {
-                        String content = readContent(http);
-                        List<A> ps = new ArrayList<>();
+                    if (!stream.equals("")) {
+                        suffix = String.format("/%s", urlEncode(stream));
+                    }
 
-                        for (JsonNode node : getObjectMapper().readTree(content)) {
-                            ps.add(func.apply(parseSubscriptionInfo(node)));
+                    HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), String.format("/subscriptions%s", suffix));
+                    try {
+                        http.setRequestMethod("GET");
+
+                        Exception error = checkForError(http.getResponseCode());
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        } else {
+                            String content = readContent(http);
+                            List<A> ps = new ArrayList<>();
+
+                            for (JsonNode node : getObjectMapper().readTree(content)) {
+                                ps.add(func.apply(parseSubscriptionInfo(node)));
+                            }
+                            result.complete(ps);
                         }
-                        result.complete(ps);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    } finally {
+                        http.disconnect();
                     }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                } finally {
-                    http.disconnect();
-                }
+                });
             }
 
             return result;
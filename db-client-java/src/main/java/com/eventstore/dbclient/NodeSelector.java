@@ -46,6 +46,11 @@ public class NodeSelector {
                 .findFirst();
     }
 
+    // Whether the member is in a state that can serve operations at all.
+    static boolean isEligible(ClusterInfo.Member member) {
+        return !invalidStates.contains(member.getState());
+    }
+
     private static class MemberComparator implements Comparator<ClusterInfo.Member> {
         private final ClusterInfo.MemberState preferredState;
 
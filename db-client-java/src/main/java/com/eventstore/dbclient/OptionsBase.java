@@ -9,6 +9,7 @@ class OptionsBase<T> {
     private UserCredentials credentials;
     private boolean requiresLeader;
     private Map<String, String> headers = new HashMap<>();
+    private Position waitForPosition;
 
     protected OptionsBase() {
         this(OperationKind.Regular);
@@ -115,4 +116,12 @@ class OptionsBase<T> {
     Map<String, String> getHeaders() {
         return this.headers;
     }
-}
\ No newline at end of file
+
+    Position getWaitForPosition() {
+        return this.waitForPosition;
+    }
+
+    void setWaitForPosition(Position position) {
+        this.waitForPosition = position;
+    }
+}
\ No newline at end of file
@@ -38,4 +38,16 @@ class OptionsWithResolveLinkTosBase<T> extends OptionsBase<T> {
     public T notResolveLinkTos() {
         return this.resolveLinkTos(false);
     }
+
+    /**
+     * Waits, before reading, until the node serving the request has caught up with the given position of the
+     * transaction log, like the {@link WriteResult#getLogPosition()} of a previous append. Useful when reads go to
+     * followers or read-only replicas, see {@link ConnectionSettingsBuilder#readNodePreference(NodePreference)}. The
+     * node's position is found by reading the last event of $all, so this requires read access to $all.
+     */
+    @SuppressWarnings("unchecked")
+    public T waitForPosition(Position position) {
+        this.setWaitForPosition(position);
+        return (T)this;
+    }
 }
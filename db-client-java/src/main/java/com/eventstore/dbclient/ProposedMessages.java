@@ -0,0 +1,109 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodes the proposed messages of Append and BatchAppend requests, which share the same wire layout.
+ * <p>
+ * The system metadata map (content type and event type) is the same for most events of an application. Instead of
+ * populating the protobuf map field of every message, the encoded map entries are cached per event type, then content
+ * type, and attached as pre-serialized field 2 data, which the server reads as the regular map.
+ * </p>
+ */
+final class ProposedMessages {
+    private static final int METADATA_FIELD_NUMBER = 2;
+    private static final int MAX_CACHED_METADATA = 1_024;
+    // Keyed by event type, then content type, so that a lookup doesn't allocate a composite key for every event.
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, UnknownFieldSet>> METADATA_CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger CACHED_METADATA = new AtomicInteger();
+
+    private ProposedMessages() {}
+
+    static StreamsOuterClass.AppendReq.ProposedMessage toAppendMessage(EventData event) {
+        StreamsOuterClass.AppendReq.ProposedMessage.Builder builder = StreamsOuterClass.AppendReq.ProposedMessage.newBuilder()
+                .setId(toWire(event.getEventId()))
+                .setData(event.getWireEventData())
+                .setUnknownFields(systemMetadata(event.getContentType(), event.getEventType()));
+
+        if (event.getWireUserMetadata() != null)
+            builder.setCustomMetadata(event.getWireUserMetadata());
+
+        return builder.build();
+    }
+
+    static StreamsOuterClass.BatchAppendReq.ProposedMessage toBatchAppendMessage(EventData event) {
+        StreamsOuterClass.BatchAppendReq.ProposedMessage.Builder builder = StreamsOuterClass.BatchAppendReq.ProposedMessage.newBuilder()
+                .setId(toWire(event.getEventId()))
+                .setData(event.getWireEventData())
+                .setUnknownFields(systemMetadata(event.getContentType(), event.getEventType()));
+
+        if (event.getWireUserMetadata() != null)
+            builder.setCustomMetadata(event.getWireUserMetadata());
+
+        return builder.build();
+    }
+
+    static Shared.UUID toWire(UUID id) {
+        return Shared.UUID.newBuilder()
+                .setStructured(Shared.UUID.Structured.newBuilder()
+                        .setMostSignificantBits(id.getMostSignificantBits())
+                        .setLeastSignificantBits(id.getLeastSignificantBits())
+                        .build())
+                .build();
+    }
+
+    static UnknownFieldSet systemMetadata(String contentType, String eventType) {
+        ConcurrentHashMap<String, UnknownFieldSet> byContentType = METADATA_CACHE.get(eventType);
+
+        if (byContentType != null) {
+            UnknownFieldSet fields = byContentType.get(contentType);
+
+            if (fields != null)
+                return fields;
+        }
+
+        UnknownFieldSet fields = UnknownFieldSet.newBuilder()
+                .addField(METADATA_FIELD_NUMBER, UnknownFieldSet.Field.newBuilder()
+                        .addLengthDelimited(encodeEntry(SystemMetadataKeys.CONTENT_TYPE, contentType))
+                        .addLengthDelimited(encodeEntry(SystemMetadataKeys.TYPE, eventType))
+                        .build())
+                .build();
+
+        // Event types are usually a small, fixed set. Stop caching if they're not, rather than growing forever.
+        if (CACHED_METADATA.get() < MAX_CACHED_METADATA) {
+            if (byContentType == null)
+                byContentType = METADATA_CACHE.computeIfAbsent(eventType, type -> new ConcurrentHashMap<>());
+
+            if (byContentType.putIfAbsent(contentType, fields) == null)
+                CACHED_METADATA.incrementAndGet();
+        }
+
+        return fields;
+    }
+
+    // A map entry is a message with the key as field 1 and the value as field 2.
+    private static ByteString encodeEntry(String key, String value) {
+        try {
+            int size = CodedOutputStream.computeStringSize(1, key) + CodedOutputStream.computeStringSize(2, value);
+            ByteString.Output output = ByteString.newOutput(size);
+            CodedOutputStream coded = CodedOutputStream.newInstance(output, size);
+
+            coded.writeString(1, key);
+            coded.writeString(2, value);
+            coded.flush();
+
+            return output.toByteString();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
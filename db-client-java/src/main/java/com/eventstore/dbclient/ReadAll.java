@@ -5,11 +5,20 @@ import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
 
 class ReadAll extends AbstractRead {
     private final ReadAllOptions options;
+    private final StreamPosition<Position> position;
+    private final long count;
 
     public ReadAll(GrpcClient client, ReadAllOptions options) {
+        this(client, options, options.getPosition(), options.getMaxCount());
+    }
+
+    // Used when paging through $all, so every page shares the same options but starts from a different position.
+    ReadAll(GrpcClient client, ReadAllOptions options, StreamPosition<Position> position, long count) {
         super(client, options);
 
         this.options = options;
+        this.position = position;
+        this.count = count;
     }
 
     @Override
@@ -17,12 +26,12 @@ class ReadAll extends AbstractRead {
         StreamsOuterClass.ReadReq.Options.AllOptions.Builder optionsOrBuilder =
                 StreamsOuterClass.ReadReq.Options.AllOptions.newBuilder();
 
-        if (this.options.getPosition().isEnd()) {
+        if (this.position.isEnd()) {
             optionsOrBuilder.setEnd(Shared.Empty.getDefaultInstance());
-        } else if (this.options.getPosition().isStart()) {
+        } else if (this.position.isStart()) {
             optionsOrBuilder.setStart(Shared.Empty.getDefaultInstance());
         } else {
-            StreamPosition.Position<Position> position = (StreamPosition.Position<Position>) this.options.getPosition();
+            StreamPosition.Position<Position> position = (StreamPosition.Position<Position>) this.position;
             optionsOrBuilder.setPosition(StreamsOuterClass.ReadReq.Options.Position.newBuilder()
                     .setCommitPosition(position.getPositionOrThrow().getCommitUnsigned())
                     .setPreparePosition(position.getPositionOrThrow().getPrepareUnsigned()));
@@ -32,7 +41,7 @@ class ReadAll extends AbstractRead {
                 .setAll(optionsOrBuilder)
                 .setResolveLinks(this.options.shouldResolveLinkTos())
                 .setControlOption(StreamsOuterClass.ReadReq.Options.ControlOption.newBuilder().setCompatibility(1))
-                .setCount(this.options.getMaxCount())
+                .setCount(this.count)
                 .setNoFilter(Shared.Empty.getDefaultInstance())
                 .setReadDirection(this.options.getDirection() == Direction.Forwards ?
                         StreamsOuterClass.ReadReq.Options.ReadDirection.Forwards :
@@ -0,0 +1,163 @@
+package com.eventstore.dbclient;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages of a $all scan, see {@link EventStoreDBClient#readAllPages(ReadAllOptions, int)}. Every page is a
+ * {@link ReadResult} holding at most the requested page size of events.
+ */
+public class ReadAllPages implements Iterator<ReadResult>, AutoCloseable {
+    private final GrpcClient client;
+    private final ReadAllOptions options;
+    private final int pageSize;
+    private long remaining;
+    private Position continuation;
+    private CompletableFuture<ReadResult> nextPage;
+    private boolean closed = false;
+    // The read of the page being fetched.
+    private ReadResultSubscriber inFlight;
+
+    ReadAllPages(GrpcClient client, ReadAllOptions options, int pageSize) {
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+
+        this.client = client;
+        this.options = options;
+        this.pageSize = pageSize;
+        this.remaining = options.getMaxCount();
+        this.continuation = null;
+        this.nextPage = fetch(options.getPosition(), requestedCount());
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.nextPage != null;
+    }
+
+    /**
+     * Blocks until the next page is available.
+     * @throws RuntimeException if the page couldn't be read.
+     */
+    @Override
+    public ReadResult next() {
+        if (this.nextPage == null)
+            throw new NoSuchElementException();
+
+        long requested = requestedCount();
+        ReadResult raw;
+
+        try {
+            raw = this.nextPage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            close();
+
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+
+            throw new RuntimeException(e.getCause());
+        }
+
+        // Reading from a position includes the event at that position, which was the last event of the previous page.
+        List<ResolvedEvent> events = new ArrayList<>(this.pageSize);
+        for (ResolvedEvent event : raw.getEvents()) {
+            if (events.isEmpty() && this.continuation != null && this.continuation.equals(event.getOriginalEvent().getPosition()))
+                continue;
+
+            if (events.size() < this.pageSize)
+                events.add(event);
+        }
+
+        boolean reachedEnd = raw.getEvents().size() < requested;
+        this.remaining -= events.size();
+
+        if (reachedEnd || events.isEmpty() || this.remaining <= 0) {
+            this.nextPage = null;
+        } else {
+            this.continuation = events.get(events.size() - 1).getOriginalEvent().getPosition();
+            this.nextPage = fetch(StreamPosition.position(this.continuation), requestedCount());
+        }
+
+        return new ReadResult(events, raw.getFirstStreamPosition(), raw.getLastStreamPosition(), raw.getLastAllStreamPosition());
+    }
+
+    /**
+     * Stops the scan. The read of a page that is already being fetched is cancelled.
+     */
+    @Override
+    public void close() {
+        ReadResultSubscriber read;
+
+        synchronized (this) {
+            this.closed = true;
+            read = this.inFlight;
+            this.inFlight = null;
+        }
+
+        this.nextPage = null;
+
+        if (read != null)
+            read.cancel();
+    }
+
+    // Continuation pages ask for one more event since the first one is the previous page's last event.
+    private long requestedCount() {
+        long count = Math.min(this.pageSize, this.remaining);
+        return this.continuation == null ? count : count + 1;
+    }
+
+    private CompletableFuture<ReadResult> fetch(StreamPosition<Position> from, long count) {
+        CompletableFuture<ReadResult> result = new CompletableFuture<>();
+        fetch(from, count, 1, System.nanoTime(), result);
+        return result;
+    }
+
+    // A read failing before it received anything was already retried by the client, as per its retry policy. A page
+    // cut short by a transient failure is read again from the start, under the same policy. Once closed, result never
+    // completes since nobody waits for it.
+    private void fetch(StreamPosition<Position> from, long count, int retry, long startedAt, CompletableFuture<ReadResult> result) {
+        ReadResultSubscriber read = new ReadResultSubscriber();
+
+        synchronized (this) {
+            if (this.closed)
+                return;
+
+            this.inFlight = read;
+        }
+
+        new ReadAll(this.client, this.options, from, count).subscribe(read);
+        read.getResult().whenComplete((page, error) -> {
+            if (error == null) {
+                result.complete(page);
+                return;
+            }
+
+            long delayInMs = -1;
+
+            if (read.hasReceived() && RetryPolicy.isTransient(error))
+                delayInMs = this.client.getRetryPolicy().delayBeforeRetry(retry, startedAt);
+
+            if (delayInMs >= 0) {
+                try {
+                    this.client.getScheduler().schedule(() -> fetch(from, count, retry + 1, startedAt, result),
+                            delayInMs, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // The client is shutting down, the error is reported as is.
+                }
+            }
+
+            result.completeExceptionally(error);
+        });
+    }
+}
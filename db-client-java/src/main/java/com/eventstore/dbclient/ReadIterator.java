@@ -0,0 +1,173 @@
+package com.eventstore.dbclient;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pull-based view of a read operation. Only a bounded number of messages is buffered at any time: more events are
+ * requested from the server as the caller consumes them, so arbitrarily large streams can be read in constant memory.
+ * The iterator must be closed if it's not consumed until the end.
+ */
+public class ReadIterator implements Iterator<ResolvedEvent>, AutoCloseable {
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final int bufferSize;
+    private final int replenishThreshold;
+    private volatile Subscription subscription;
+    private volatile Throwable error;
+    private ResolvedEvent next;
+    private boolean finished = false;
+    private int consumed = 0;
+    private long firstStreamPosition = 0;
+    private long lastStreamPosition = 0;
+    private Position lastAllStreamPosition = null;
+
+    ReadIterator(Publisher<ReadMessage> publisher, int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.replenishThreshold = Math.max(1, bufferSize / 2);
+        // One extra slot so the terminal signal always fits.
+        this.queue = new ArrayBlockingQueue<>(bufferSize + 1);
+
+        publisher.subscribe(new Subscriber<ReadMessage>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                s.request(ReadIterator.this.bufferSize);
+            }
+
+            @Override
+            public void onNext(ReadMessage message) {
+                queue.offer(message);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error = t;
+                queue.offer(END);
+            }
+
+            @Override
+            public void onComplete() {
+                queue.offer(END);
+            }
+        });
+    }
+
+    /**
+     * Blocks until the next event is available or the read operation ends.
+     * @throws RuntimeException if the read operation failed.
+     */
+    @Override
+    public boolean hasNext() {
+        while (next == null && !finished) {
+            Object item;
+
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException(e);
+            }
+
+            if (item == END) {
+                finished = true;
+                break;
+            }
+
+            if (++consumed >= replenishThreshold) {
+                subscription.request(consumed);
+                consumed = 0;
+            }
+
+            ReadMessage message = (ReadMessage) item;
+
+            if (message.hasFirstStreamPosition()) {
+                firstStreamPosition = message.getFirstStreamPosition();
+            } else if (message.hasLastStreamPosition()) {
+                lastStreamPosition = message.getLastStreamPosition();
+            } else if (message.hasLastAllPosition()) {
+                lastAllStreamPosition = message.getLastAllPosition();
+            } else if (message.hasEvent()) {
+                next = message.getEvent();
+            }
+        }
+
+        if (next == null && error != null) {
+            Throwable t = error;
+            error = null;
+
+            if (t instanceof RuntimeException)
+                throw (RuntimeException) t;
+
+            throw new RuntimeException(t);
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public ResolvedEvent next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        ResolvedEvent event = next;
+        next = null;
+        return event;
+    }
+
+    /**
+     * Returns the remaining events as a sequential {@link Stream}. Closing the stream closes this iterator.
+     */
+    public Stream<ResolvedEvent> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * When reading from a regular stream, returns the first event revision number of the stream. Only available once
+     * the server sent it.
+     */
+    public long getFirstStreamPosition() {
+        return firstStreamPosition;
+    }
+
+    /**
+     * When reading from a regular stream, returns the last event revision number of the stream. Only available once
+     * the server sent it.
+     */
+    public long getLastStreamPosition() {
+        return lastStreamPosition;
+    }
+
+    /**
+     * When reading from $all stream, returns the last event position. Only available once the server sent it.
+     * @return null if reading from a regular stream.
+     */
+    public Position getLastAllStreamPosition() {
+        return lastAllStreamPosition;
+    }
+
+    /**
+     * Cancels the read operation if it's still running.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        next = null;
+
+        if (subscription != null)
+            subscription.cancel();
+    }
+}
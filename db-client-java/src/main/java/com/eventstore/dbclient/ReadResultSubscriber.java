@@ -0,0 +1,57 @@
+package com.eventstore.dbclient;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Collects all the messages of a read into a ReadResult.
+class ReadResultSubscriber extends ReadSubscriber {
+    private final CompletableFuture<ReadResult> result = new CompletableFuture<>();
+    private final List<ResolvedEvent> events = new LinkedList<>();
+    private long firstStreamPosition = 0;
+    private long lastStreamPosition = 0;
+    private Position lastAllStreamPosition = null;
+    private volatile boolean received = false;
+
+    CompletableFuture<ReadResult> getResult() {
+        return this.result;
+    }
+
+    // Whether the read got any message before it completed, reads failing before that were already retried.
+    boolean hasReceived() {
+        return this.received;
+    }
+
+    @Override
+    public void onEvent(ReadMessage e) {
+        received = true;
+
+        if (e.hasFirstStreamPosition()) {
+            firstStreamPosition = e.getFirstStreamPosition();
+            return;
+        }
+
+        if (e.hasLastStreamPosition()) {
+            lastStreamPosition = e.getLastStreamPosition();
+            return;
+        }
+
+        if (e.hasLastAllPosition()) {
+            lastAllStreamPosition = e.getLastAllPosition();
+            return;
+        }
+
+        if (e.hasEvent())
+            events.add(e.getEvent());
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        result.completeExceptionally(t);
+    }
+
+    @Override
+    public void onComplete() {
+        result.complete(new ReadResult(events, firstStreamPosition, lastStreamPosition, lastAllStreamPosition));
+    }
+}
@@ -5,18 +5,34 @@ import org.reactivestreams.Subscription;
 
 abstract class ReadSubscriber implements Subscriber<ReadMessage> {
 
-    private Subscription subscription;
+    private volatile Subscription subscription;
+    private volatile boolean cancelled = false;
 
     @Override
     public final void onSubscribe(Subscription s) {
         this.subscription = s;
-        request(Long.MAX_VALUE);
+
+        if (this.cancelled)
+            s.cancel();
+        else
+            request(Long.MAX_VALUE);
     }
 
     public final void request(long n) {
         this.subscription.request(n);
     }
 
+    /**
+     * Stops the read, no more events are delivered.
+     */
+    public final void cancel() {
+        this.cancelled = true;
+        Subscription s = this.subscription;
+
+        if (s != null)
+            s.cancel();
+    }
+
     @Override
     public final void onNext(ReadMessage resolvedEvent) {
         onEvent(resolvedEvent);
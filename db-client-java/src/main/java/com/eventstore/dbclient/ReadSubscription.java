@@ -7,18 +7,27 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
+// gRPC callbacks are the single producer of a bounded prefetch queue, which is drained towards the subscriber according
+// to its demand. Whichever thread wins `wip` runs the drain loop, other threads only record that there is more work.
+// Server credit is only returned once messages leave the queue, so it never overflows and the transport thread never
+// has to wait.
 class ReadSubscription implements Subscription {
     private final Subscriber<? super ReadMessage> subscriber;
-    private ClientCallStreamObserver<?> streamObserver;
+    private final SpscArrayQueue<ReadMessage> queue = new SpscArrayQueue<>(Consts.MAX_READ_INBOUND_WINDOW);
+    private final int limit = Consts.MAX_READ_INBOUND_WINDOW - (Consts.MAX_READ_INBOUND_WINDOW >> 2);
     private final AtomicLong requested = new AtomicLong(0);
+    private final AtomicInteger wip = new AtomicInteger(0);
+    private final AtomicBoolean upstreamCancelled = new AtomicBoolean(false);
     private final AtomicBoolean terminated = new AtomicBoolean(false);
-    private final Lock lock = new ReentrantLock();
-    private final Condition hasRequested = lock.newCondition();
+    private volatile ClientCallStreamObserver<?> streamObserver;
+    private volatile boolean done = false;
+    private volatile boolean cancelled = false;
+    private Throwable error;
+    // Only accessed from the drain loop.
+    private int consumed = 0;
 
     ReadSubscription(Subscriber<? super ReadMessage> subscriber) {
         this.subscriber = subscriber;
@@ -28,6 +37,22 @@ class ReadSubscription implements Subscription {
         this.streamObserver = streamObserver;
     }
 
+    // Called once the gRPC call has started, messages can't be requested before that.
+    public void onStarted() {
+        ClientCallStreamObserver<?> observer = this.streamObserver;
+
+        if (observer == null) {
+            return;
+        }
+
+        // The subscriber may have cancelled before the call could be.
+        if (cancelled) {
+            cancelUpstream();
+        } else {
+            observer.request(Consts.MAX_READ_INBOUND_WINDOW);
+        }
+    }
+
     public void onError(Throwable error) {
         if (error instanceof StatusRuntimeException) {
             StatusRuntimeException statusRuntimeException = (StatusRuntimeException) error;
@@ -35,48 +60,156 @@ class ReadSubscription implements Subscription {
                 return;
             }
         }
-        if (!terminated.get()) {
-            subscriber.onError(error);
-        }
-        cancel();
+
+        terminate(error);
     }
 
     public void onNext(ReadMessage message) {
-        lock.lock();
-        while (requested.get() == 0 && !terminated.get()) {
-            hasRequested.awaitUninterruptibly();
+        if (done || cancelled) {
+            return;
         }
-        if (!terminated.get()) {
-            subscriber.onNext(message);
-            requested.decrementAndGet();
+
+        if (!queue.offer(message)) {
+            cancelUpstream();
+            terminate(new IllegalStateException("Read buffer overflow, the server sent more messages than requested"));
+            return;
         }
-        lock.unlock();
+
+        drain();
     }
 
     public void onCompleted() {
-        if (terminated.compareAndSet(false, true)) {
-            subscriber.onComplete();
-        }
+        terminate(null);
     }
 
     @Override
     public void request(long n) {
         if (n <= 0) {
-            subscriber.onError(new IllegalArgumentException("non-positive subscription request: " + n));
+            cancelUpstream();
+            terminate(new IllegalArgumentException("non-positive subscription request: " + n));
+            return;
         }
-        lock.lock();
-        requested.updateAndGet(current -> current + n);
-        hasRequested.signal();
-        lock.unlock();
+
+        requested.getAndUpdate(current -> {
+            long next = current + n;
+            return next < 0 ? Long.MAX_VALUE : next;
+        });
+        drain();
     }
 
     @Override
     public void cancel() {
-        if (terminated.compareAndSet(false, true)) {
-            if (streamObserver != null) {
-                streamObserver.cancel("Stream has been cancelled manually.", null);
-            }
+        if (cancelled) {
+            return;
+        }
+
+        cancelled = true;
+        cancelUpstream();
+
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    private void cancelUpstream() {
+        ClientCallStreamObserver<?> observer = this.streamObserver;
+
+        if (observer != null && upstreamCancelled.compareAndSet(false, true)) {
+            observer.cancel("Stream has been cancelled manually.", null);
         }
     }
 
+    private void terminate(Throwable error) {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.error = error;
+        done = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        do {
+            long r = requested.get();
+            long emitted = 0;
+
+            while (emitted != r) {
+                boolean isDone = done;
+                ReadMessage message = queue.poll();
+                boolean empty = message == null;
+
+                if (checkTerminated(isDone, empty)) {
+                    return;
+                }
+
+                if (empty) {
+                    break;
+                }
+
+                try {
+                    subscriber.onNext(message);
+                } catch (Throwable t) {
+                    cancelled = true;
+                    cancelUpstream();
+                    queue.clear();
+                    subscriber.onError(t);
+                    return;
+                }
+
+                emitted++;
+
+                if (++consumed == limit) {
+                    consumed = 0;
+                    ClientCallStreamObserver<?> observer = this.streamObserver;
+                    if (observer != null && !done) {
+                        observer.request(limit);
+                    }
+                }
+            }
+
+            if (emitted == r && checkTerminated(done, queue.isEmpty())) {
+                return;
+            }
+
+            if (emitted != 0 && r != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private boolean checkTerminated(boolean isDone, boolean empty) {
+        if (cancelled) {
+            queue.clear();
+            return true;
+        }
+
+        if (!isDone) {
+            return false;
+        }
+
+        // Errors skip whatever is still buffered, completion waits for the subscriber to go through it.
+        if (error != null) {
+            cancelled = true;
+            queue.clear();
+            subscriber.onError(error);
+            return true;
+        }
+
+        if (empty) {
+            cancelled = true;
+            subscriber.onComplete();
+            return true;
+        }
+
+        return false;
+    }
 }
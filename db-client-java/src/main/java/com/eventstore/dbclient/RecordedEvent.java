@@ -4,9 +4,12 @@ import com.eventstore.dbclient.proto.persistentsubscriptions.Persistent;
 import com.eventstore.dbclient.proto.shared.Shared;
 import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.protobuf.ByteString;
 
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Map;
@@ -17,43 +20,48 @@ import java.util.UUID;
  * Represents a previously written event.
  */
 public class RecordedEvent {
+    // Fields are decoded from their wire representation on first access, so events that are only looked at briefly
+    // (e.g. filtered out by type) don't pay for decoding what they never use.
     @NotNull
-    private final String streamId;
+    private final ByteString streamName;
+    private volatile String streamId;
     @NotNull
     private final long revision;
     @NotNull
-    private final UUID eventId;
+    private final Shared.UUID wireEventId;
+    private volatile UUID eventId;
+    private final long commitPosition;
+    private final long preparePosition;
+    private volatile Position position;
     @NotNull
-    private final String eventType;
+    private final Map<String, String> systemMetadata;
+    private volatile Instant created;
+    // Payloads stay in the buffers protobuf parsed them into, byte arrays are only created on demand.
     @NotNull
-    private final byte[] eventData;
+    private final ByteString eventData;
     @NotNull
-    private final byte[] userMetadata;
-    @NotNull
-    private final Instant created;
-    @NotNull
-    private final Position position;
-    @NotNull
-    private final String contentType;
+    private final ByteString userMetadata;
+    private volatile byte[] eventDataBytes;
+    private volatile byte[] userMetadataBytes;
 
     RecordedEvent(
-            @NotNull String eventStreamId,
+            @NotNull ByteString streamName,
             @NotNull long streamRevision,
-            @NotNull UUID eventId,
-            @NotNull Position position,
+            @NotNull Shared.UUID eventId,
+            long commitPosition,
+            long preparePosition,
             @NotNull Map<String, String> systemMetadata,
-            @NotNull byte[] eventData,
-            @NotNull byte[] userMetadata
+            @NotNull ByteString eventData,
+            @NotNull ByteString userMetadata
     ) {
-        this.streamId = eventStreamId;
+        this.streamName = streamName;
         this.revision = streamRevision;
-        this.eventId = eventId;
-        this.position = position;
+        this.wireEventId = eventId;
+        this.commitPosition = commitPosition;
+        this.preparePosition = preparePosition;
+        this.systemMetadata = systemMetadata;
         this.eventData = eventData;
         this.userMetadata = userMetadata;
-        this.eventType = systemMetadata.get(SystemMetadataKeys.TYPE);
-        this.contentType = systemMetadata.get(SystemMetadataKeys.CONTENT_TYPE);
-        this.created = systemMetadataDateToInstant(systemMetadata.get(SystemMetadataKeys.CREATED));
     }
 
     /**
@@ -73,7 +81,14 @@ public class RecordedEvent {
      */
     @NotNull
     public String getStreamId() {
-        return streamId;
+        String value = streamId;
+
+        if (value == null) {
+            value = streamName.toStringUtf8();
+            streamId = value;
+        }
+
+        return value;
     }
 
     /**
@@ -89,7 +104,20 @@ public class RecordedEvent {
      */
     @NotNull
     public UUID getEventId() {
-        return eventId;
+        UUID value = eventId;
+
+        if (value == null) {
+            if (wireEventId.hasStructured()) {
+                Shared.UUID.Structured structured = wireEventId.getStructured();
+                value = new UUID(structured.getMostSignificantBits(), structured.getLeastSignificantBits());
+            } else {
+                value = UUID.fromString(wireEventId.getString());
+            }
+
+            eventId = value;
+        }
+
+        return value;
     }
 
     /**
@@ -97,14 +125,43 @@ public class RecordedEvent {
      */
     @NotNull
     public String getEventType() {
-        return eventType;
+        return systemMetadata.get(SystemMetadataKeys.TYPE);
     }
 
     /**
-     * The event's payload data.
+     * The event's payload data. The array is created on first access, prefer {@link #getEventDataBuffer()} or
+     * {@link #getEventDataStream()} to read the payload without copying it.
      */
     public byte[] getEventData() {
-        return eventData;
+        byte[] bytes = eventDataBytes;
+
+        if (bytes == null) {
+            bytes = eventData.toByteArray();
+            eventDataBytes = bytes;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Read-only view of the event's payload data, without copying it.
+     */
+    public ByteBuffer getEventDataBuffer() {
+        return eventData.asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Stream over the event's payload data, without copying it.
+     */
+    public InputStream getEventDataStream() {
+        return eventData.newInput();
+    }
+
+    /**
+     * Size of the event's payload data in bytes.
+     */
+    public int getEventDataSize() {
+        return eventData.size();
     }
 
     /**
@@ -117,10 +174,32 @@ public class RecordedEvent {
     }
 
     /**
-     * The event's metadata.
+     * The event's metadata. The array is created on first access, prefer {@link #getUserMetadataBuffer()} or
+     * {@link #getUserMetadataStream()} to read the metadata without copying it.
      */
     public byte[] getUserMetadata() {
-        return userMetadata;
+        byte[] bytes = userMetadataBytes;
+
+        if (bytes == null) {
+            bytes = userMetadata.toByteArray();
+            userMetadataBytes = bytes;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Read-only view of the event's metadata, without copying it.
+     */
+    public ByteBuffer getUserMetadataBuffer() {
+        return userMetadata.asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Stream over the event's metadata, without copying it.
+     */
+    public InputStream getUserMetadataStream() {
+        return userMetadata.newInput();
     }
 
     /**
@@ -128,7 +207,14 @@ public class RecordedEvent {
      */
     @NotNull
     public Instant getCreated() {
-        return created;
+        Instant value = created;
+
+        if (value == null) {
+            value = systemMetadataDateToInstant(systemMetadata.get(SystemMetadataKeys.CREATED));
+            created = value;
+        }
+
+        return value;
     }
 
     /**
@@ -136,7 +222,14 @@ public class RecordedEvent {
      */
     @NotNull
     public Position getPosition() {
-        return position;
+        Position value = position;
+
+        if (value == null) {
+            value = new Position(commitPosition, preparePosition);
+            position = value;
+        }
+
+        return value;
     }
 
     /**
@@ -144,7 +237,7 @@ public class RecordedEvent {
      */
     @NotNull
     public String getContentType() {
-        return contentType;
+        return systemMetadata.get(SystemMetadataKeys.CONTENT_TYPE);
     }
 
     @Override
@@ -152,64 +245,50 @@ public class RecordedEvent {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RecordedEvent that = (RecordedEvent) o;
-        return streamId.equals(that.streamId) && revision == that.revision && eventId.equals(that.eventId);
+        return streamName.equals(that.streamName) && revision == that.revision && getEventId().equals(that.getEventId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(streamId, revision, eventId);
+        return Objects.hash(getStreamId(), revision, getEventId());
     }
 
     static RecordedEvent fromWire(StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent wireEvent) {
-        UUID eventId;
-        if (wireEvent.getId().hasStructured()) {
-            Shared.UUID.Structured structured = wireEvent.getId().getStructured();
-            eventId = new UUID(structured.getMostSignificantBits(), structured.getLeastSignificantBits());
-        } else {
-            eventId = UUID.fromString(wireEvent.getId().getString());
-        }
-
         return new RecordedEvent(
-                wireEvent.getStreamIdentifier().getStreamName().toStringUtf8(),
+                wireEvent.getStreamIdentifier().getStreamName(),
                 wireEvent.getStreamRevision(),
-                eventId,
-                new Position(wireEvent.getCommitPosition(), wireEvent.getPreparePosition()),
+                wireEvent.getId(),
+                wireEvent.getCommitPosition(),
+                wireEvent.getPreparePosition(),
                 wireEvent.getMetadataMap(),
-                wireEvent.getData().toByteArray(),
-                wireEvent.getCustomMetadata().toByteArray());
+                wireEvent.getData(),
+                wireEvent.getCustomMetadata());
     }
 
     static RecordedEvent fromWire(Persistent.ReadResp.ReadEvent.RecordedEvent wireEvent) {
-        UUID eventId;
-        if (wireEvent.getId().hasStructured()) {
-            Shared.UUID.Structured structured = wireEvent.getId().getStructured();
-            eventId = new UUID(structured.getMostSignificantBits(), structured.getLeastSignificantBits());
-        } else {
-            eventId = UUID.fromString(wireEvent.getId().getString());
-        }
-
         return new RecordedEvent(
-                wireEvent.getStreamIdentifier().getStreamName().toStringUtf8(),
+                wireEvent.getStreamIdentifier().getStreamName(),
                 wireEvent.getStreamRevision(),
-                eventId,
-                new Position(wireEvent.getCommitPosition(), wireEvent.getPreparePosition()),
+                wireEvent.getId(),
+                wireEvent.getCommitPosition(),
+                wireEvent.getPreparePosition(),
                 wireEvent.getMetadataMap(),
-                wireEvent.getData().toByteArray(),
-                wireEvent.getCustomMetadata().toByteArray());
+                wireEvent.getData(),
+                wireEvent.getCustomMetadata());
     }
 
     @Override
     public String toString() {
         return "RecordedEvent{" +
-                "streamId='" + streamId + '\'' +
+                "streamId='" + getStreamId() + '\'' +
                 ", revision=" + revision +
-                ", eventId=" + eventId +
-                ", eventType='" + eventType + '\'' +
-                ", eventData=" + Arrays.toString(eventData) +
-                ", userMetadata=" + Arrays.toString(userMetadata) +
-                ", created=" + created +
-                ", position=" + position +
-                ", contentType='" + contentType + '\'' +
+                ", eventId=" + getEventId() +
+                ", eventType='" + getEventType() + '\'' +
+                ", eventData=" + Arrays.toString(getEventData()) +
+                ", userMetadata=" + Arrays.toString(getUserMetadata()) +
+                ", created=" + getCreated() +
+                ", position=" + getPosition() +
+                ", contentType='" + getContentType() + '\'' +
                 '}';
     }
 }
@@ -47,31 +47,34 @@ final class ReplayParkedMessages {
 
                stub.replayParked(req, GrpcUtils.convertSingleResponse(result, resp -> 42 ));
            } else {
-               String query;
-               if (options.getStopAt() != null) {
-                   query = String.format("?stopAt=%s", options.getStopAt());
-               } else {
-                   query = "";
-               }
+               // Blocking I/O, kept off the thread issuing the operation.
+               client.runBlocking(result, () -> {
+                   String query;
+                   if (options.getStopAt() != null) {
+                       query = String.format("?stopAt=%s", options.getStopAt());
+                   } else {
+                       query = "";
+                   }
 
-               HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), String.format("/subscriptions/%s/%s/replayParked%s", urlEncode(stream), urlEncode(groupName), query));
+                   HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), String.format("/subscriptions/%s/%s/replayParked%s", urlEncode(stream), urlEncode(groupName), query));
 
-               try {
-                   http.setDoOutput(true);
-                   http.setRequestMethod("POST");
-                   http.setFixedLengthStreamingMode(0);
+                   try {
+                       http.setDoOutput(true);
+                       http.setRequestMethod("POST");
+                       http.setFixedLengthStreamingMode(0);
 
-                   Exception error = checkForError(http.getResponseCode());
-                   if (error != null) {
-                       result.completeExceptionally(error);
-                   } else {
-                       result.complete(42);
+                       Exception error = checkForError(http.getResponseCode());
+                       if (error != null) {
+                           result.completeExceptionally(error);
+                       } else {
+                           result.complete(42);
+                       }
+                   } catch (IOException e) {
+                       throw new RuntimeException(e);
+                   } finally {
+                       http.disconnect();
                    }
-               } catch (IOException e) {
-                   throw new RuntimeException(e);
-               } finally {
-                   http.disconnect();
-               }
+               });
            }
 
            return result;
@@ -21,24 +21,27 @@ class RestartPersistentSubscriptionSubsystem {
 
                 stub.restartSubsystem(Shared.Empty.getDefaultInstance(), GrpcUtils.convertSingleResponse(result, resp -> 42));
             } else {
-                HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), "/subscriptions/restart");
-
-                try {
-                    http.setDoOutput(true);
-                    http.setRequestMethod("POST");
-                    http.setFixedLengthStreamingMode(0);
-
-                    Exception error = checkForError(http.getResponseCode());
-                    if (error != null) {
-                        result.completeExceptionally(error);
-                    } else {
-                        result.complete(42);
+                // Blocking I/O, kept off the thread issuing the operation.
+                client.runBlocking(result, () -> {
+                    HttpURLConnection http = args.getHttpConnection(options, client.getSettings(), "/subscriptions/restart");
+
+                    try {
+                        http.setDoOutput(true);
+                        http.setRequestMethod("POST");
+                        http.setFixedLengthStreamingMode(0);
+
+                        Exception error = checkForError(http.getResponseCode());
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        } else {
+                            result.complete(42);
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    } finally {
+                        http.disconnect();
                     }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                } finally {
-                    http.disconnect();
-                }
+                });
             }
 
             return result;
@@ -0,0 +1,70 @@
+package com.eventstore.dbclient;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides if, and when, a failed operation is issued again. Retries are opt-in, see
+ * {@link EventStoreDBClientSettings#getRetryAttempts()}. Operations choose which errors they can be retried on, only
+ * operations that are safe to run twice go through the policy.
+ */
+class RetryPolicy {
+    // Past that, doubling the backoff would exceed any sensible budget anyway.
+    private static final int MAX_BACKOFF_SHIFT = 16;
+    private final int attempts;
+    private final long backoffInMs;
+    private final long budgetInMs;
+
+    RetryPolicy(EventStoreDBClientSettings settings) {
+        this.attempts = settings.getRetryAttempts();
+        this.backoffInMs = settings.getRetryBackoff();
+        this.budgetInMs = settings.getRetryBudget();
+    }
+
+    boolean isEnabled() {
+        return this.attempts > 0;
+    }
+
+    /**
+     * Delay (in milliseconds) before the given retry, starting at 1, of an operation first issued at the given time
+     * (as per {@link System#nanoTime()}). Returns -1 if the operation mustn't be retried anymore, either because it ran
+     * out of attempts or because the retry would start after the budget, counted in wall-clock time from that first
+     * attempt.
+     */
+    long delayBeforeRetry(int retry, long startedAt) {
+        if (retry > this.attempts)
+            return -1;
+
+        long delayInMs = this.backoffInMs << Math.min(retry - 1, MAX_BACKOFF_SHIFT);
+        long elapsedInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        if (elapsedInMs + delayInMs > this.budgetInMs)
+            return -1;
+
+        return delayInMs;
+    }
+
+    /**
+     * Errors after which the operation is expected to succeed on the new leader, or on another node.
+     */
+    static boolean isTransient(Throwable error) {
+        Throwable cause = unwrap(error);
+
+        if (cause instanceof NotLeaderException)
+            return true;
+
+        return cause instanceof StatusRuntimeException
+                && ((StatusRuntimeException) cause).getStatus().getCode() == Status.Code.UNAVAILABLE;
+    }
+
+    static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null)
+            error = error.getCause();
+
+        return error;
+    }
+}
@@ -0,0 +1,112 @@
+package com.eventstore.dbclient;
+
+/**
+ * Options of a parallel $all scan.
+ * @see EventStoreDBClient#scanAll(ReadAllOptions, ScanAllOptions)
+ */
+public class ScanAllOptions {
+    private int parallelism;
+    private int segments;
+    private boolean ordered;
+    private long chunkSize;
+    private int bufferSize;
+
+    private ScanAllOptions() {
+        this.parallelism = Consts.DEFAULT_SCAN_PARALLELISM;
+        this.segments = Consts.DEFAULT_SCAN_PARALLELISM * 2;
+        this.ordered = true;
+        this.chunkSize = Consts.DEFAULT_CHUNK_SIZE;
+        this.bufferSize = Consts.MAX_READ_INBOUND_WINDOW;
+    }
+
+    /**
+     * Returns options with default values.
+     */
+    public static ScanAllOptions get() {
+        return new ScanAllOptions();
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    int getSegments() {
+        return segments;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    long getChunkSize() {
+        return chunkSize;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * How many segments are read concurrently. Default: 4.
+     */
+    public ScanAllOptions parallelism(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * In how many segments the position range is split. More segments than connections balance the work better.
+     * Default: twice the parallelism.
+     */
+    public ScanAllOptions segments(int segments) {
+        if (segments <= 0)
+            throw new IllegalArgumentException("Segment count must be positive: " + segments);
+
+        this.segments = segments;
+        return this;
+    }
+
+    /**
+     * Events are returned in $all order. Segments are still read concurrently but only up to their buffer size ahead
+     * of the caller. This is the default.
+     */
+    public ScanAllOptions ordered() {
+        this.ordered = true;
+        return this;
+    }
+
+    /**
+     * Events are returned as soon as any segment receives them. Use the event's position to know where it stands.
+     */
+    public ScanAllOptions unordered() {
+        this.ordered = false;
+        return this;
+    }
+
+    /**
+     * Transaction file chunk size of the server. The range is split on chunk boundaries, then every boundary is moved
+     * to the first event at or after it. The server may reject reads from positions that aren't chunk boundaries, so it
+     * must match the server's chunk size. Default: 256MiB.
+     */
+    public ScanAllOptions chunkSize(long chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * How many events each segment buffers ahead of the caller.
+     */
+    public ScanAllOptions bufferSize(int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+
+        this.bufferSize = bufferSize;
+        return this;
+    }
+}
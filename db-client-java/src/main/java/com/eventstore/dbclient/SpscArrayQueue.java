@@ -0,0 +1,57 @@
+package com.eventstore.dbclient;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded single-producer single-consumer queue. A slot is free when it holds null, so producer and consumer only
+// synchronize through the slots themselves. Capacity is rounded up to the next power of two.
+final class SpscArrayQueue<E> {
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private long producerIndex;
+    private long consumerIndex;
+
+    SpscArrayQueue(int capacity) {
+        int actual = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1));
+        this.buffer = new AtomicReferenceArray<>(actual);
+        this.mask = actual - 1;
+    }
+
+    // Only called by the producer.
+    boolean offer(E value) {
+        int offset = (int) producerIndex & mask;
+
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+
+        buffer.lazySet(offset, value);
+        producerIndex++;
+        return true;
+    }
+
+    // Only called by the consumer.
+    E poll() {
+        int offset = (int) consumerIndex & mask;
+        E value = buffer.get(offset);
+
+        if (value == null) {
+            return null;
+        }
+
+        buffer.lazySet(offset, null);
+        consumerIndex++;
+        return value;
+    }
+
+    // Only called by the consumer.
+    boolean isEmpty() {
+        return buffer.get((int) consumerIndex & mask) == null;
+    }
+
+    // Only called by the consumer.
+    void clear() {
+        while (poll() != null) {
+            // Drop everything.
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.eventstore.dbclient;
+
+import io.grpc.Channel;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.AbstractAsyncStub;
+import io.grpc.stub.MetadataUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the stubs configured by {@link GrpcUtils#configureStub}, per channel.
+ * <p>
+ * A configured stub carries the interceptor attaching the call headers (authorization, requires-leader and custom
+ * headers), which are the same for most operations of a client. Stubs are immutable, so a cached stub is shared by
+ * every call with the same headers and only the deadline is attached per call. Cached stubs keep their channel
+ * reachable, so every path shutting a channel down invalidates its stubs once the channel is shut down: retiring or
+ * closing the current channel, discarding a channel that was never adopted (see {@link ConnectionState#discard}) and
+ * closing gossip channels. An operation still holding a channel shut down in the meantime doesn't add it back.
+ * </p>
+ */
+final class StubCache {
+    private static final int MAX_CACHED_STUBS_PER_CHANNEL = 256;
+    private static final Map<Channel, Map<StubKey, AbstractAsyncStub<?>>> STUBS = new ConcurrentHashMap<>();
+
+    private StubCache() {}
+
+    /**
+     * Returns the stub configured with the given headers for the channel of the given stub. Only its channel and its
+     * class are taken into account: the given stub is expected to come straight from {@code newStub}, the call options
+     * it carries, like a deadline, are not applied to the returned stub. Callers set those on the returned stub.
+     */
+    @SuppressWarnings("unchecked")
+    static <S extends AbstractAsyncStub<S>> S get(S stub, UserCredentials credentials, boolean requiresLeader, Map<String, String> headers) {
+        Channel channel = stub.getChannel();
+        Map<StubKey, AbstractAsyncStub<?>> stubs = STUBS.computeIfAbsent(channel, c -> new ConcurrentHashMap<>());
+        String authorization = credentials != null ? credentials.basicAuthHeader() : null;
+        StubKey key = new StubKey(stub.getClass(), authorization, requiresLeader, headers);
+        S configured = (S) stubs.get(key);
+
+        if (configured != null)
+            return configured;
+
+        ConnectionMetadata metadata = new ConnectionMetadata();
+
+        if (credentials != null)
+            metadata.authenticated(credentials);
+
+        if (requiresLeader)
+            metadata.requiresLeader();
+
+        metadata.headers(headers);
+        configured = stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata.build()));
+
+        // Custom headers may carry per-call values, like correlation ids. Stop caching if they do, rather than
+        // growing forever.
+        if (stubs.size() < MAX_CACHED_STUBS_PER_CHANNEL)
+            stubs.putIfAbsent(key.detach(), configured);
+
+        // The channel got shut down, and its stubs invalidated, while we were adding them back. Channels are shut down
+        // before being invalidated, so checking after the insertion is enough to never keep them around.
+        if (channel instanceof ManagedChannel && ((ManagedChannel) channel).isShutdown())
+            STUBS.remove(channel, stubs);
+
+        return configured;
+    }
+
+    static void invalidate(Channel channel) {
+        STUBS.remove(channel);
+    }
+
+    // Visible for testing.
+    static int size(Channel channel) {
+        Map<StubKey, AbstractAsyncStub<?>> stubs = STUBS.get(channel);
+        return stubs == null ? 0 : stubs.size();
+    }
+
+    private static final class StubKey {
+        private final Class<?> stubClass;
+        private final String authorization;
+        private final boolean requiresLeader;
+        private final Map<String, String> headers;
+
+        StubKey(Class<?> stubClass, String authorization, boolean requiresLeader, Map<String, String> headers) {
+            this.stubClass = stubClass;
+            this.authorization = authorization;
+            this.requiresLeader = requiresLeader;
+            this.headers = headers;
+        }
+
+        // Options headers are mutable, the cached key keeps its own copy.
+        StubKey detach() {
+            Map<String, String> copy = headers.isEmpty() ? Collections.<String, String>emptyMap() : new HashMap<>(headers);
+            return new StubKey(stubClass, authorization, requiresLeader, copy);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StubKey that = (StubKey) o;
+            return requiresLeader == that.requiresLeader
+                    && stubClass == that.stubClass
+                    && Objects.equals(authorization, that.authorization)
+                    && headers.equals(that.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(stubClass, authorization, requiresLeader, headers);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.eventstore.dbclient;
+
+import io.grpc.ManagedChannel;
+
+import java.net.InetSocketAddress;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+class SwitchChannel implements Msg {
+    final UUID previousId;
+    final InetSocketAddress endpoint;
+    final ManagedChannel channel;
+    final ServerInfo serverInfo;
+
+    public SwitchChannel(UUID previousId, InetSocketAddress endpoint, ManagedChannel channel, ServerInfo serverInfo) {
+        this.previousId = previousId;
+        this.endpoint = endpoint;
+        this.channel = channel;
+        this.serverInfo = serverInfo;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", SwitchChannel.class.getSimpleName() + "[", "]")
+                .add("endpoint=" + endpoint)
+                .toString();
+    }
+
+    @Override
+    public void accept(ConnectionService connectionService) {
+        connectionService.switchChannel(this);
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventstore.dbclient;
+
+/**
+ * When an operation is rejected because too many operations are already waiting for the client to connect. See
+ * {@link ConnectionSettingsBuilder#maxPendingOperations(int)}.
+ */
+public class TooManyPendingOperationsException extends RuntimeException {
+    private final int limit;
+
+    TooManyPendingOperationsException(int limit) {
+        super(String.format("Too many operations waiting for a connection, the limit is %d", limit));
+        this.limit = limit;
+    }
+
+    /**
+     * Maximum number of operations waiting for a connection.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
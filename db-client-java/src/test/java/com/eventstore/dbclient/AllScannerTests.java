@@ -0,0 +1,130 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class AllScannerTests {
+    @Test
+    public void testBoundariesFollowChunks() {
+        // 11 chunks in 4 segments.
+        Assertions.assertEquals(
+                Arrays.asList(null, new Position(200, 200), new Position(500, 500), new Position(800, 800)),
+                AllScanner.boundaries(StreamPosition.start(), new Position(1_000, 1_000), 4, 100));
+
+        // Starting in the middle of a chunk, 9 chunks in 3 segments.
+        Assertions.assertEquals(
+                Arrays.asList(new Position(250, 250), new Position(500, 500), new Position(800, 800)),
+                AllScanner.boundaries(StreamPosition.position(new Position(250, 250)), new Position(1_000, 1_000), 3, 100));
+
+        // Fewer chunks than segments.
+        Assertions.assertEquals(
+                Arrays.asList(null, new Position(100, 100)),
+                AllScanner.boundaries(StreamPosition.start(), new Position(150, 150), 8, 100));
+
+        // Empty $all.
+        Assertions.assertEquals(Arrays.asList((Position) null), AllScanner.boundaries(StreamPosition.start(), null, 4, 100));
+        Assertions.assertTrue(AllScanner.boundaries(StreamPosition.end(), new Position(1_000, 1_000), 4, 100).isEmpty());
+    }
+
+    @Test
+    public void testResolveBoundariesDropsDuplicatesAndCandidatesPastTheEnd() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient client = connect(server);
+
+            try {
+                List<Position> positions = append(client, 3);
+                Position first = positions.get(0);
+                Position second = positions.get(1);
+                Position third = positions.get(2);
+
+                List<Position> candidates = Arrays.asList(
+                        null,
+                        // Inside the first record, moves to the second one.
+                        new Position(first.getCommitUnsigned() + 1, first.getPrepareUnsigned() + 1),
+                        // Same event as the previous candidate.
+                        second,
+                        third,
+                        // Past the last event.
+                        new Position(third.getCommitUnsigned() + 1, third.getPrepareUnsigned() + 1));
+
+                List<Position> boundaries = AllScanner.resolveBoundaries(client.getGrpcClient(), ReadAllOptions.get(), candidates)
+                        .get(10, TimeUnit.SECONDS);
+
+                Assertions.assertEquals(Arrays.asList(null, second, third), boundaries);
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testOrderedScanOverSeveralSegments() throws Throwable {
+        scan(ScanAllOptions.get().ordered(), true);
+    }
+
+    @Test
+    public void testUnorderedScanOverSeveralSegments() throws Throwable {
+        scan(ScanAllOptions.get().unordered(), false);
+    }
+
+    // Chunks much smaller than the log, so the scan is split in as many segments as asked for, with fewer of them read
+    // concurrently and small buffers.
+    private static void scan(ScanAllOptions options, boolean ordered) throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient client = connect(server);
+
+            try {
+                List<Position> expected = append(client, 100);
+                long chunkSize = expected.get(expected.size() - 1).getCommitUnsigned() / 10;
+                List<Position> actual = new ArrayList<>();
+
+                try (AllScanner scanner = client.scanAll(ReadAllOptions.get(), options
+                        .chunkSize(chunkSize)
+                        .segments(8)
+                        .parallelism(2)
+                        .bufferSize(4)).get(10, TimeUnit.SECONDS)) {
+                    while (scanner.hasNext())
+                        actual.add(scanner.next().getOriginalEvent().getPosition());
+                }
+
+                if (!ordered)
+                    actual.sort(Comparator.naturalOrder());
+
+                Assertions.assertEquals(expected, actual);
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static EventStoreDBClient connect(InMemoryServer server) {
+        return EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                .addHost(server.getHost(), server.getPort())
+                .tls(false)
+                .buildConnectionSettings());
+    }
+
+    // Appends to a fresh server, so $all only contains those events.
+    private static List<Position> append(EventStoreDBClient client, int count) throws Throwable {
+        String streamName = "scan-" + UUID.randomUUID();
+        List<EventData> events = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+            events.add(EventData.builderAsJson("scan-event", new Foo()).build());
+
+        client.appendToStream(streamName, events.iterator()).get(10, TimeUnit.SECONDS);
+
+        return client.readAll().get(10, TimeUnit.SECONDS).getEvents().stream()
+                .map(event -> event.getOriginalEvent().getPosition())
+                .collect(Collectors.toList());
+    }
+}
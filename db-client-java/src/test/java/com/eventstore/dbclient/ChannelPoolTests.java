@@ -0,0 +1,82 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsGrpc;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ChannelPoolTests {
+    @Test
+    public void testCallsAreSpreadAndSubscriptionsKeptApart() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            List<ManagedChannel> requests = new ArrayList<>();
+            requests.add(channel(server));
+            requests.add(channel(server));
+
+            ChannelPool pool = new ChannelPool(requests, Collections.singletonList(channel(server)));
+
+            try {
+                StreamsGrpc.StreamsStub stub = StreamsGrpc.newStub(pool);
+
+                subscribe(stub.withOption(ChannelPool.SUBSCRIPTION, true), 2);
+                Assertions.assertArrayEquals(new int[]{2}, pool.inFlight(true));
+                Assertions.assertArrayEquals(new int[]{0, 0}, pool.inFlight(false));
+
+                subscribe(stub, 2);
+                Assertions.assertArrayEquals(new int[]{1, 1}, pool.inFlight(false));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private static ManagedChannel channel(InMemoryServer server) {
+        return NettyChannelBuilder.forAddress(server.getHost(), server.getPort()).usePlaintext().build();
+    }
+
+    // Opens subscriptions to $all that stay open until the pool is shut down.
+    private static void subscribe(StreamsGrpc.StreamsStub stub, int count) throws InterruptedException {
+        CountDownLatch confirmed = new CountDownLatch(count);
+        StreamsOuterClass.ReadReq req = StreamsOuterClass.ReadReq.newBuilder()
+                .setOptions(StreamsOuterClass.ReadReq.Options.newBuilder()
+                        .setAll(StreamsOuterClass.ReadReq.Options.AllOptions.newBuilder()
+                                .setEnd(Shared.Empty.getDefaultInstance()))
+                        .setReadDirection(StreamsOuterClass.ReadReq.Options.ReadDirection.Forwards)
+                        .setSubscription(StreamsOuterClass.ReadReq.Options.SubscriptionOptions.getDefaultInstance())
+                        .setNoFilter(Shared.Empty.getDefaultInstance())
+                        .setUuidOption(StreamsOuterClass.ReadReq.Options.UUIDOption.newBuilder()
+                                .setStructured(Shared.Empty.getDefaultInstance())))
+                .build();
+
+        for (int i = 0; i < count; i++) {
+            stub.read(req, new StreamObserver<StreamsOuterClass.ReadResp>() {
+                @Override
+                public void onNext(StreamsOuterClass.ReadResp resp) {
+                    if (resp.hasConfirmation())
+                        confirmed.countDown();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            });
+        }
+
+        Assertions.assertTrue(confirmed.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,90 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import com.eventstore.dbclient.proto.gossip.GossipOuterClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+public class ClusterDiscoveryTests {
+    @Test
+    public void testUnresponsiveSeedDoesNotDelayDiscovery() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClientSettings settings = EventStoreDBClientSettings.builder()
+                    // Non-routable address, connecting to it hangs until the gossip deadline.
+                    .addHost("10.255.255.1", 2113)
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .gossipTimeout(5_000)
+                    .buildConnectionSettings();
+
+            ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor();
+            ConnectionState state = new ConnectionState(settings, drainer);
+
+            try {
+                long start = System.nanoTime();
+                new ClusterDiscovery(settings).discover(state);
+                long elapsedInMs = (System.nanoTime() - start) / 1_000_000;
+
+                state.confirmChannel();
+                Assertions.assertEquals(new InetSocketAddress(server.getHost(), server.getPort()), state.getLastConnectedEndpoint());
+                Assertions.assertTrue(elapsedInMs < settings.getGossipTimeout(), "Discovery took " + elapsedInMs + "ms");
+            } finally {
+                state.shutdown();
+                drainer.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void testSeedWithStaleViewIsOutvoted() throws Throwable {
+        try (InMemoryServer stale = InMemoryServer.start();
+             InMemoryServer leader = InMemoryServer.start();
+             InMemoryServer follower = InMemoryServer.start()) {
+            // A partitioned former leader still believes it leads, the rest of the cluster has moved on.
+            stale.setClusterInfo(GossipOuterClass.ClusterInfo.newBuilder()
+                    .addMembers(stale.asMember(GossipOuterClass.MemberInfo.VNodeState.Leader, true))
+                    .addMembers(leader.asMember(GossipOuterClass.MemberInfo.VNodeState.Follower, true))
+                    .addMembers(follower.asMember(GossipOuterClass.MemberInfo.VNodeState.Follower, true))
+                    .build());
+
+            GossipOuterClass.ClusterInfo current = GossipOuterClass.ClusterInfo.newBuilder()
+                    .addMembers(stale.asMember(GossipOuterClass.MemberInfo.VNodeState.Leader, false))
+                    .addMembers(leader.asMember(GossipOuterClass.MemberInfo.VNodeState.Leader, true))
+                    .addMembers(follower.asMember(GossipOuterClass.MemberInfo.VNodeState.Follower, true))
+                    .build();
+            leader.setClusterInfo(current);
+            follower.setClusterInfo(current);
+
+            EventStoreDBClientSettings settings = EventStoreDBClientSettings.builder()
+                    .addHost(stale.getHost(), stale.getPort())
+                    .addHost(leader.getHost(), leader.getPort())
+                    .addHost(follower.getHost(), follower.getPort())
+                    .tls(false)
+                    .nodePreference(NodePreference.LEADER)
+                    .buildConnectionSettings();
+
+            ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor();
+
+            try {
+                // Seeds are shuffled, the stale one answers first in some of the rounds.
+                for (int i = 0; i < 10; i++) {
+                    ConnectionState state = new ConnectionState(settings, drainer);
+
+                    try {
+                        new ClusterDiscovery(settings).discover(state);
+                        state.confirmChannel();
+                        Assertions.assertEquals(new InetSocketAddress(leader.getHost(), leader.getPort()), state.getLastConnectedEndpoint());
+                    } finally {
+                        state.shutdown();
+                    }
+                }
+            } finally {
+                drainer.shutdownNow();
+            }
+        }
+    }
+}
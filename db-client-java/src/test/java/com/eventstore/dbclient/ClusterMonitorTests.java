@@ -0,0 +1,83 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import com.eventstore.dbclient.proto.gossip.GossipOuterClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ClusterMonitorTests {
+    @Test
+    public void testSwitchesOnceToTheNewLeader() throws Throwable {
+        try (InMemoryServer first = InMemoryServer.start(); InMemoryServer second = InMemoryServer.start()) {
+            setCluster(first, second, first, second);
+
+            EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(first.getHost(), first.getPort())
+                    .addHost(second.getHost(), second.getPort())
+                    .tls(false)
+                    .nodePreference(NodePreference.LEADER)
+                    .gossipPollInterval(50)
+                    .buildConnectionSettings());
+
+            try {
+                Set<UUID> channels = new HashSet<>();
+                WorkItemArgs args = awaitEndpoint(client, first.getPort(), channels);
+
+                // Leader election, the second node takes over.
+                setCluster(first, second, second, first);
+                awaitEndpoint(client, second.getPort(), channels);
+
+                // Both nodes keep reporting the second one as leader, the client has to stay there.
+                long deadline = System.currentTimeMillis() + 500;
+                while (System.currentTimeMillis() < deadline) {
+                    Assertions.assertEquals(second.getPort(), currentArgs(client, channels).getEndpoint().getPort());
+                    Thread.sleep(10);
+                }
+
+                Assertions.assertEquals(2, channels.size());
+                Assertions.assertTrue(channels.contains(args.getId()));
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static void setCluster(InMemoryServer first, InMemoryServer second, InMemoryServer leader, InMemoryServer follower) {
+        GossipOuterClass.ClusterInfo info = GossipOuterClass.ClusterInfo.newBuilder()
+                .addMembers(leader.asMember(GossipOuterClass.MemberInfo.VNodeState.Leader, true))
+                .addMembers(follower.asMember(GossipOuterClass.MemberInfo.VNodeState.Follower, true))
+                .build();
+
+        first.setClusterInfo(info);
+        second.setClusterInfo(info);
+    }
+
+    private static WorkItemArgs awaitEndpoint(EventStoreDBClient client, int port, Set<UUID> channels) throws Throwable {
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        while (true) {
+            WorkItemArgs args = currentArgs(client, channels);
+
+            if (args.getEndpoint().getPort() == port)
+                return args;
+
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "The client never moved to port " + port);
+            Thread.sleep(10);
+        }
+    }
+
+    private static WorkItemArgs currentArgs(EventStoreDBClient client, Set<UUID> channels) throws Throwable {
+        WorkItemArgs args = client.getGrpcClient()
+                .runWithArgs(CompletableFuture::completedFuture)
+                .get(10, TimeUnit.SECONDS);
+
+        channels.add(args.getId());
+        return args;
+    }
+}
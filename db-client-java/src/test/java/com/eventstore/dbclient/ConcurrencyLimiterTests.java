@@ -0,0 +1,166 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import io.grpc.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+
+public class ConcurrencyLimiterTests {
+    private static long ago(long millis) {
+        return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void testRejectPastTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, ConcurrencyLimitPolicy.REJECT);
+
+        Assertions.assertTrue(limiter.acquire().isDone());
+        Assertions.assertTrue(limiter.acquire().isDone());
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> limiter.acquire().get());
+        Assertions.assertInstanceOf(ConcurrencyLimitExceededException.class, e.getCause());
+
+        limiter.release(ago(1), null);
+        Assertions.assertTrue(limiter.acquire().isDone());
+    }
+
+    @Test
+    public void testWaitForASlot() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, ConcurrencyLimitPolicy.WAIT);
+
+        Assertions.assertTrue(limiter.acquire().isDone());
+        CompletableFuture<Void> first = limiter.acquire();
+        CompletableFuture<Void> second = limiter.acquire();
+        Assertions.assertFalse(first.isDone());
+
+        limiter.release(ago(1), null);
+        Assertions.assertTrue(first.isDone());
+        Assertions.assertFalse(second.isDone());
+
+        limiter.close();
+        Assertions.assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testLimitFollowsRoundTripTimes() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1_000, ConcurrencyLimitPolicy.REJECT);
+        int initial = limiter.getLimit();
+
+        // Stable round-trip times while the client uses its whole limit.
+        for (int i = 0; i < 50; i++) {
+            while (limiter.getInFlight() < limiter.getLimit())
+                limiter.acquire();
+
+            limiter.release(ago(5), null);
+        }
+
+        int grown = limiter.getLimit();
+        Assertions.assertTrue(grown > initial, "Limit didn't grow: " + grown);
+
+        // The node starts queueing.
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            limiter.release(ago(50), null);
+        }
+
+        int shrunk = limiter.getLimit();
+        Assertions.assertTrue(shrunk < grown, "Limit didn't shrink: " + shrunk);
+
+        limiter.acquire();
+        limiter.release(ago(5), Status.DEADLINE_EXCEEDED.asRuntimeException());
+        Assertions.assertTrue(limiter.getLimit() < shrunk);
+    }
+
+    @Test
+    public void testReleaseWithoutSampleKeepsTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1_000, ConcurrencyLimitPolicy.REJECT);
+        int initial = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            while (limiter.getInFlight() < limiter.getLimit())
+                limiter.acquire();
+
+            limiter.release();
+        }
+
+        Assertions.assertEquals(initial, limiter.getLimit());
+        Assertions.assertEquals(initial - 1, limiter.getInFlight());
+    }
+
+    @Test
+    public void testStreamingOperationsOnlyHoldASlotUntilStarted() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .maxConcurrency(1)
+                    .concurrencyLimitPolicy(ConcurrencyLimitPolicy.WAIT)
+                    .buildConnectionSettings());
+
+            GrpcClient grpcClient = client.getGrpcClient();
+
+            try {
+                // Like a read whose subscriber stopped requesting events, it never completes.
+                CompletableFuture<Void> streaming = grpcClient.runStreaming(args -> new CompletableFuture<>(), error -> false);
+
+                CompletableFuture<Void> unary = grpcClient.runWithArgs(args -> CompletableFuture.completedFuture(null));
+                unary.get(10, TimeUnit.SECONDS);
+
+                Assertions.assertThrows(TimeoutException.class, () -> streaming.get(100, TimeUnit.MILLISECONDS));
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testWaitingOperationsArePending() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .maxConcurrency(1)
+                    .concurrencyLimitPolicy(ConcurrencyLimitPolicy.WAIT)
+                    .maxPendingOperations(5)
+                    .connectionWaitTimeout(200)
+                    .buildConnectionSettings());
+
+            GrpcClient grpcClient = client.getGrpcClient();
+
+            try {
+                // Connected, so only operations waiting for a slot are pending.
+                grpcClient.runWithArgs(args -> CompletableFuture.completedFuture(null)).get(10, TimeUnit.SECONDS);
+
+                // Holds the only slot.
+                grpcClient.runWithArgs(args -> new CompletableFuture<>());
+
+                List<CompletableFuture<Object>> flood = new ArrayList<>();
+                for (int i = 0; i < 10; i++)
+                    flood.add(grpcClient.runWithArgs(args -> CompletableFuture.completedFuture(null)));
+
+                Assertions.assertEquals(5, client.getPendingOperationCount());
+
+                for (int i = 5; i < 10; i++) {
+                    ExecutionException e = Assertions.assertThrows(ExecutionException.class, flood.get(i)::get);
+                    Assertions.assertInstanceOf(TooManyPendingOperationsException.class, e.getCause());
+                }
+
+                for (CompletableFuture<Object> waiting : flood.subList(0, 5)) {
+                    ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> waiting.get(10, TimeUnit.SECONDS));
+                    Assertions.assertInstanceOf(TimeoutException.class, e.getCause());
+                }
+
+                Assertions.assertEquals(0, client.getPendingOperationCount());
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import com.eventstore.dbclient.proto.streams.StreamsGrpc;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionStateTests {
+    @Test
+    public void testShutdownClosesChannelsStillDraining() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClientSettings settings = EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .buildConnectionSettings();
+
+            ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor();
+            ConnectionState state = new ConnectionState(settings, drainer);
+            InetSocketAddress endpoint = new InetSocketAddress(server.getHost(), server.getPort());
+
+            state.connect(endpoint);
+            ManagedChannel retired = state.getCurrentChannel();
+
+            // The request is never sent, so the call stays in flight and the channel can't drain on its own.
+            ClientCall<StreamsOuterClass.ReadReq, StreamsOuterClass.ReadResp> call = retired.newCall(StreamsGrpc.getReadMethod(), CallOptions.DEFAULT);
+            call.start(new ClientCall.Listener<StreamsOuterClass.ReadResp>() {}, new Metadata());
+
+            state.connect(endpoint);
+            Assertions.assertFalse(retired.awaitTermination(200, TimeUnit.MILLISECONDS));
+
+            // Like the connection loop does, the drainer goes away first and its timers with it.
+            drainer.shutdownNow();
+            state.shutdown();
+
+            Assertions.assertTrue(retired.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.eventstore.dbclient;
 
 import com.eventstore.dbclient.databases.DockerContainerDatabase;
 import com.eventstore.dbclient.databases.ExternallyCreatedCluster;
+import com.eventstore.dbclient.databases.InMemoryDatabase;
 
 import java.util.Optional;
 
@@ -9,6 +10,10 @@ public class DatabaseFactory {
     public static Database spawn() {
         boolean secure = Boolean.parseBoolean(Optional.ofNullable(System.getenv("SECURE")).orElse("false"));
         boolean cluster = Boolean.parseBoolean(Optional.ofNullable(System.getenv("CLUSTER")).orElse("false"));
+        boolean inMemory = Boolean.parseBoolean(Optional.ofNullable(System.getenv("IN_MEMORY")).orElse("false"));
+
+        if (inMemory)
+            return spawnInMemory(cluster);
 
         if (cluster)
             return new ExternallyCreatedCluster(secure);
@@ -33,6 +38,10 @@ public class DatabaseFactory {
         return builder.secure(secure).build();
     }
 
+    public static Database spawnInMemory(boolean discover) {
+        return new InMemoryDatabase(discover);
+    }
+
     private static DockerContainerDatabase.Builder singleNodeBuilder() {
         return DockerContainerDatabase
                 .builder()
@@ -0,0 +1,84 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class DispatchTests {
+    @Test
+    public void testOperationsWaitForTheConnectionThenRunOnTheCallingThread() throws Throwable {
+        int port;
+
+        // Nothing listens on that port until the server starts, the first operation has to wait for the connection.
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                .addHost("localhost", port)
+                .tls(false)
+                .maxDiscoverAttempts(1_000)
+                .discoveryInterval(50)
+                .buildConnectionSettings());
+
+        GrpcClient grpcClient = client.getGrpcClient();
+        Thread caller = Thread.currentThread();
+
+        try {
+            CompletableFuture<Thread> queued = grpcClient.runWithArgs(args -> CompletableFuture.completedFuture(Thread.currentThread()));
+            Assertions.assertEquals(1, client.getPendingOperationCount());
+
+            try (InMemoryServer server = InMemoryServer.start(port)) {
+                Assertions.assertNotSame(caller, queued.get(10, TimeUnit.SECONDS));
+                Assertions.assertEquals(0, client.getPendingOperationCount());
+
+                CompletableFuture<Thread> direct = grpcClient.runWithArgs(args -> CompletableFuture.completedFuture(Thread.currentThread()));
+                Assertions.assertTrue(direct.isDone());
+                Assertions.assertSame(caller, direct.get());
+            }
+        } finally {
+            client.shutdown().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testBlockingWorkRunsOffTheCallingThread() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .buildConnectionSettings());
+
+            GrpcClient grpcClient = client.getGrpcClient();
+            Thread caller = Thread.currentThread();
+
+            try {
+                CompletableFuture<Thread> blocking = grpcClient.runWithArgs(args -> {
+                    CompletableFuture<Thread> result = new CompletableFuture<>();
+                    grpcClient.runBlocking(result, () -> result.complete(Thread.currentThread()));
+                    return result;
+                });
+
+                Assertions.assertNotSame(caller, blocking.get(10, TimeUnit.SECONDS));
+
+                CompletableFuture<Thread> failing = grpcClient.runWithArgs(args -> {
+                    CompletableFuture<Thread> result = new CompletableFuture<>();
+                    grpcClient.runBlocking(result, () -> {
+                        throw new IllegalStateException("blocking work failed");
+                    });
+                    return result;
+                });
+
+                ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> failing.get(10, TimeUnit.SECONDS));
+                Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
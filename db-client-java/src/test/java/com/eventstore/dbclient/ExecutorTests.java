@@ -0,0 +1,55 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ExecutorTests {
+    @Test
+    public void testFuturesCompleteOnTheUserExecutor() throws Throwable {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "user-executor"));
+
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .executor(executor)
+                    .buildConnectionSettings());
+
+            try {
+                String streamName = "executor-" + UUID.randomUUID();
+                EventData event = EventData.builderAsJson("executor-event", new Foo()).build();
+
+                String appended = client.appendToStream(streamName, Collections.singletonList(event).iterator())
+                        .thenApply(result -> Thread.currentThread().getName())
+                        .get(10, TimeUnit.SECONDS);
+                Assertions.assertEquals("user-executor", appended);
+
+                String read = client.readStream(streamName, ReadStreamOptions.get())
+                        .thenApply(result -> Thread.currentThread().getName())
+                        .get(10, TimeUnit.SECONDS);
+                Assertions.assertEquals("user-executor", read);
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsRequireSupportingJvm() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            Assertions.assertNotNull(EventStoreDBClientSettings.builder().useVirtualThreads().buildConnectionSettings().getExecutor());
+        } catch (NoSuchMethodException e) {
+            Assertions.assertThrows(IllegalStateException.class, () -> EventStoreDBClientSettings.builder().useVirtualThreads());
+        }
+    }
+}
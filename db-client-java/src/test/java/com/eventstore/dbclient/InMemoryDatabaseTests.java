@@ -0,0 +1,161 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs the client against the in-process server, so it doesn't need Docker.
+public class InMemoryDatabaseTests implements ConnectionAware {
+    static private Database database;
+    static private Logger logger;
+
+    @BeforeAll
+    public static void setup() {
+        database = DatabaseFactory.spawnInMemory(false);
+        logger = LoggerFactory.getLogger(InMemoryDatabaseTests.class);
+    }
+
+    @Override
+    public Database getDatabase() {
+        return database;
+    }
+
+    @Override
+    public Logger getLogger() {
+        return logger;
+    }
+
+    @AfterAll
+    public static void cleanup() {
+        database.dispose();
+    }
+
+    @Test
+    public void testAppendAndReadStream() throws Throwable {
+        EventStoreDBClient client = getDefaultClient();
+        String streamName = generateName();
+
+        WriteResult result = client.appendToStream(streamName, AppendToStreamOptions.get().expectedRevision(ExpectedRevision.noStream()),
+                generateEvents(10, "in-memory-event").iterator()).get();
+
+        Assertions.assertEquals(ExpectedRevision.expectedRevision(9), result.getNextExpectedRevision());
+
+        ReadResult forwards = client.readStream(streamName, ReadStreamOptions.get().fromStart().forwards()).get();
+        Assertions.assertEquals(10, forwards.getEvents().size());
+        Assertions.assertEquals(0, forwards.getEvents().get(0).getOriginalEvent().getRevision());
+        Assertions.assertEquals("in-memory-event", forwards.getEvents().get(0).getOriginalEvent().getEventType());
+
+        ReadResult backwards = client.readStream(streamName, ReadStreamOptions.get().fromEnd().backwards().maxCount(1)).get();
+        Assertions.assertEquals(9, backwards.getEvents().get(0).getOriginalEvent().getRevision());
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () ->
+                client.appendToStream(streamName, AppendToStreamOptions.get().expectedRevision(ExpectedRevision.noStream()),
+                        generateEvents(1, "in-memory-event").iterator()).get());
+        Assertions.assertInstanceOf(WrongExpectedVersionException.class, e.getCause());
+
+        client.deleteStream(streamName).get();
+        e = Assertions.assertThrows(ExecutionException.class, () -> client.readStream(streamName, ReadStreamOptions.get()).get());
+        Assertions.assertInstanceOf(StreamNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    public void testWaitForPosition() throws Throwable {
+        EventStoreDBClient client = getDefaultClient();
+        String streamName = generateName();
+
+        WriteResult result = client.appendToStream(streamName, generateEvents(1, "in-memory-event").iterator()).get();
+        ReadResult read = client.readStream(streamName, ReadStreamOptions.get().waitForPosition(result.getLogPosition())).get();
+        Assertions.assertEquals(1, read.getEvents().size());
+
+        Position unreachable = new Position(Long.MAX_VALUE, Long.MAX_VALUE);
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () ->
+                client.readStream(streamName, ReadStreamOptions.get().waitForPosition(unreachable).deadline(200)).get());
+        Assertions.assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    public void testCatchupSubscription() throws Throwable {
+        EventStoreDBClient client = getDefaultClient();
+        String streamName = generateName();
+        CountDownLatch received = new CountDownLatch(20);
+        CompletableFuture<Void> caughtUp = new CompletableFuture<>();
+
+        client.appendToStream(streamName, generateEvents(10, "in-memory-event").iterator()).get();
+
+        Subscription subscription = client.subscribeToStream(streamName, new SubscriptionListener() {
+            @Override
+            public void onEvent(Subscription subscription, ResolvedEvent event) {
+                received.countDown();
+            }
+
+            @Override
+            public void onCaughtUp(Subscription subscription) {
+                caughtUp.complete(null);
+            }
+        }, SubscribeToStreamOptions.get().fromStart()).get();
+
+        caughtUp.get(10, TimeUnit.SECONDS);
+        client.appendToStream(streamName, generateEvents(10, "in-memory-event").iterator()).get();
+
+        Assertions.assertTrue(received.await(10, TimeUnit.SECONDS));
+        subscription.stop();
+    }
+
+    @Test
+    public void testPersistentSubscription() throws Throwable {
+        EventStoreDBPersistentSubscriptionsClient client = getDefaultPersistentSubscriptionClient();
+        String streamName = generateName();
+        String groupName = generateName();
+        CountDownLatch received = new CountDownLatch(10);
+
+        getDefaultClient().appendToStream(streamName, generateEvents(10, "in-memory-event").iterator()).get();
+        client.createToStream(streamName, groupName, CreatePersistentSubscriptionToStreamOptions.get().fromStart()).get();
+
+        PersistentSubscription subscription = client.subscribeToStream(streamName, groupName, new PersistentSubscriptionListener() {
+            @Override
+            public void onEvent(PersistentSubscription subscription, int retryCount, ResolvedEvent event) {
+                subscription.ack(event);
+                received.countDown();
+            }
+        }).get();
+
+        Assertions.assertTrue(received.await(10, TimeUnit.SECONDS));
+
+        Optional<PersistentSubscriptionToStreamInfo> info = client.getInfoToStream(streamName, groupName).get();
+        Assertions.assertTrue(info.isPresent());
+        Assertions.assertEquals(groupName, info.get().getGroupName());
+
+        subscription.stop();
+    }
+
+    @Test
+    public void testGossipDiscovery() throws Throwable {
+        Database cluster = DatabaseFactory.spawnInMemory(true);
+
+        try {
+            EventStoreDBClient client = cluster.defaultClient();
+            String streamName = generateName();
+            List<EventData> events = new ArrayList<>(generateEvents(5, "in-memory-event"));
+
+            client.appendToStream(streamName, events.iterator()).get();
+            ReadResult result = client.readStream(streamName, ReadStreamOptions.get()).get();
+
+            Assertions.assertEquals(5, result.getEvents().size());
+        } finally {
+            cluster.dispose();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.eventstore.dbclient;
 
+import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.SelectPackages;
 import org.junit.platform.suite.api.Suite;
 
 @Suite
 @SelectPackages("com.eventstore.dbclient.misc")
+@SelectClasses({ReadSubscriptionTckTests.class, ProposedMessagesTests.class, StubCacheTests.class, ChannelPoolTests.class, ConnectionStateTests.class, ClusterDiscoveryTests.class, AllScannerTests.class, RetryPolicyTests.class, ConcurrencyLimiterTests.class, PendingOperationsTests.class, DispatchTests.class, ExecutorTests.class, ClusterMonitorTests.class, ReadConnectionTests.class, RecordedEventTests.class, InMemoryDatabaseTests.class})
 public class MiscTests {}
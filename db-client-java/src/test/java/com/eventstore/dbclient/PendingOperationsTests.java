@@ -0,0 +1,46 @@
+package com.eventstore.dbclient;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class PendingOperationsTests {
+    @Test
+    public void testPendingOperationsAreBoundedWhileDisconnected() throws Throwable {
+        int port;
+
+        // Nothing listens on that port once the socket is closed, connection attempts are refused.
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                .addHost("localhost", port)
+                .tls(false)
+                .maxDiscoverAttempts(1_000)
+                .discoveryInterval(50)
+                .maxPendingOperations(1)
+                .connectionWaitTimeout(500)
+                .buildConnectionSettings());
+
+        try {
+            CompletableFuture<ReadResult> pending = client.readStream("pending-stream", ReadStreamOptions.get());
+            Assertions.assertEquals(1, client.getPendingOperationCount());
+
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () ->
+                    client.readStream("pending-stream", ReadStreamOptions.get()).get(1, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(TooManyPendingOperationsException.class, e.getCause());
+
+            e = Assertions.assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(TimeoutException.class, e.getCause());
+            Assertions.assertEquals(0, client.getPendingOperationCount());
+        } finally {
+            client.shutdown().get(10, TimeUnit.SECONDS);
+        }
+    }
+}
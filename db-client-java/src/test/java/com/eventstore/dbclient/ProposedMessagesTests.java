@@ -0,0 +1,45 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+public class ProposedMessagesTests {
+    @Test
+    public void testEncodedMessagesParseBackWithSystemMetadata() throws Throwable {
+        UUID id = UUID.randomUUID();
+        EventData event = EventDataBuilder.json(id, "OrderPlaced", "{}".getBytes())
+                .metadataAsBytes(new byte[]{1, 2})
+                .build();
+
+        StreamsOuterClass.AppendReq.ProposedMessage append = StreamsOuterClass.AppendReq.ProposedMessage
+                .parseFrom(ProposedMessages.toAppendMessage(event).toByteString());
+
+        Assertions.assertEquals(ContentType.JSON, append.getMetadataMap().get(SystemMetadataKeys.CONTENT_TYPE));
+        Assertions.assertEquals("OrderPlaced", append.getMetadataMap().get(SystemMetadataKeys.TYPE));
+        Assertions.assertEquals(id.getMostSignificantBits(), append.getId().getStructured().getMostSignificantBits());
+        Assertions.assertEquals(id.getLeastSignificantBits(), append.getId().getStructured().getLeastSignificantBits());
+        Assertions.assertEquals("{}", append.getData().toStringUtf8());
+        Assertions.assertArrayEquals(new byte[]{1, 2}, append.getCustomMetadata().toByteArray());
+
+        StreamsOuterClass.BatchAppendReq.ProposedMessage batch = StreamsOuterClass.BatchAppendReq.ProposedMessage
+                .parseFrom(ProposedMessages.toBatchAppendMessage(event).toByteString());
+
+        Assertions.assertEquals(2, batch.getMetadataCount());
+        Assertions.assertEquals("OrderPlaced", batch.getMetadataMap().get(SystemMetadataKeys.TYPE));
+    }
+
+    @Test
+    public void testSystemMetadataIsCached() {
+        Assertions.assertSame(
+                ProposedMessages.systemMetadata(ContentType.BYTES, "Cached"),
+                ProposedMessages.systemMetadata(ContentType.BYTES, "Cached"));
+
+        // Same event type, another content type.
+        Assertions.assertNotEquals(
+                ProposedMessages.systemMetadata(ContentType.BYTES, "Cached"),
+                ProposedMessages.systemMetadata(ContentType.JSON, "Cached"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import com.eventstore.dbclient.proto.gossip.GossipOuterClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Every in-memory server has its own log, so where a stream can be read from tells which node an operation went to.
+public class ReadConnectionTests {
+    @Test
+    public void testReadsGoToTheReadNodePreference() throws Throwable {
+        try (InMemoryServer leader = InMemoryServer.start(); InMemoryServer follower = InMemoryServer.start()) {
+            GossipOuterClass.ClusterInfo info = GossipOuterClass.ClusterInfo.newBuilder()
+                    .addMembers(leader.asMember(GossipOuterClass.MemberInfo.VNodeState.Leader, true))
+                    .addMembers(follower.asMember(GossipOuterClass.MemberInfo.VNodeState.Follower, true))
+                    .build();
+            leader.setClusterInfo(info);
+            follower.setClusterInfo(info);
+
+            String leaderStream = "leader-" + UUID.randomUUID();
+            String followerStream = "follower-" + UUID.randomUUID();
+            EventStoreDBClient onFollower = connect(follower);
+            EventStoreDBClient onLeader = connect(leader);
+            EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(leader.getHost(), leader.getPort())
+                    .addHost(follower.getHost(), follower.getPort())
+                    .tls(false)
+                    .nodePreference(NodePreference.LEADER)
+                    .readNodePreference(NodePreference.FOLLOWER)
+                    .buildConnectionSettings());
+
+            try {
+                onFollower.appendToStream(followerStream, event()).get(10, TimeUnit.SECONDS);
+
+                // Writes go to the leader.
+                client.appendToStream(leaderStream, event()).get(10, TimeUnit.SECONDS);
+                Assertions.assertEquals(1, onLeader.readStream(leaderStream, ReadStreamOptions.get()).get(10, TimeUnit.SECONDS).getEvents().size());
+                assertStreamNotFound(onFollower.readStream(leaderStream, ReadStreamOptions.get()));
+
+                // Reads go to the follower, unless they require the leader.
+                Assertions.assertEquals(1, client.readStream(followerStream, ReadStreamOptions.get()).get(10, TimeUnit.SECONDS).getEvents().size());
+                assertStreamNotFound(client.readStream(leaderStream, ReadStreamOptions.get()));
+                Assertions.assertEquals(1, client.readStream(leaderStream, ReadStreamOptions.get().requiresLeader()).get(10, TimeUnit.SECONDS).getEvents().size());
+
+                // So do subscriptions.
+                CompletableFuture<ResolvedEvent> received = new CompletableFuture<>();
+                Subscription subscription = client.subscribeToStream(followerStream, new SubscriptionListener() {
+                    @Override
+                    public void onEvent(Subscription subscription, ResolvedEvent event) {
+                        received.complete(event);
+                    }
+
+                    @Override
+                    public void onCancelled(Subscription subscription, Throwable exception) {
+                        received.completeExceptionally(exception);
+                    }
+                }).get(10, TimeUnit.SECONDS);
+
+                Assertions.assertEquals(followerStream, received.get(10, TimeUnit.SECONDS).getOriginalEvent().getStreamId());
+                subscription.stop();
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+                onLeader.shutdown().get(10, TimeUnit.SECONDS);
+                onFollower.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static EventStoreDBClient connect(InMemoryServer server) {
+        return EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                .addHost(server.getHost(), server.getPort())
+                .tls(false)
+                .buildConnectionSettings());
+    }
+
+    private static Iterator<EventData> event() {
+        return Collections.singletonList(EventData.builderAsJson("routed-event", new Foo()).build()).iterator();
+    }
+
+    private static void assertStreamNotFound(CompletableFuture<ReadResult> read) {
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> read.get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(StreamNotFoundException.class, e.getCause());
+    }
+}
@@ -0,0 +1,171 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import io.grpc.stub.ClientCallStreamObserver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.SkipException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the Reactive Streams TCK publisher rules against {@link ReadSubscription}. The server side is replaced by a
+ * fake gRPC call that honours inbound flow control and emits its messages serially from a dedicated thread, the way
+ * gRPC callbacks do.
+ */
+public class ReadSubscriptionTckTests {
+    private static final ExecutorService transport = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "esdb-client-tck-transport");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @AfterAll
+    public static void cleanup() {
+        transport.shutdownNow();
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> testPublisherRules() {
+        Verification verification = new Verification();
+
+        return Arrays.stream(PublisherVerification.class.getDeclaredMethods())
+                .filter(method -> Modifier.isPublic(method.getModifiers()) && method.getParameterCount() == 0)
+                .filter(method -> method.getName().startsWith("required_")
+                        || method.getName().startsWith("optional_")
+                        || method.getName().startsWith("stochastic_"))
+                .sorted(Comparator.comparing(Method::getName))
+                .map(method -> DynamicTest.dynamicTest(method.getName(), () -> {
+                    verification.setUp();
+
+                    try {
+                        method.invoke(verification);
+                    } catch (InvocationTargetException e) {
+                        if (e.getCause() instanceof SkipException) {
+                            Assumptions.abort(e.getCause().getMessage());
+                        }
+
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    static class Verification extends PublisherVerification<ReadMessage> {
+        Verification() {
+            super(new TestEnvironment(500));
+        }
+
+        @Override
+        public Publisher<ReadMessage> createPublisher(long elements) {
+            return subscriber -> {
+                ReadSubscription subscription = new ReadSubscription(subscriber);
+                subscription.setStreamObserver(new FakeCall(subscription, elements));
+                subscriber.onSubscribe(subscription);
+                subscription.onStarted();
+            };
+        }
+
+        @Override
+        public Publisher<ReadMessage> createFailedPublisher() {
+            return subscriber -> {
+                ReadSubscription subscription = new ReadSubscription(subscriber);
+                subscriber.onSubscribe(subscription);
+                subscription.onError(new RuntimeException("Read failed"));
+            };
+        }
+    }
+
+    static class FakeCall extends ClientCallStreamObserver<StreamsOuterClass.ReadReq> {
+        private final long elements;
+        private volatile ReadSubscription subscription;
+        private long emitted = 0;
+
+        FakeCall(ReadSubscription subscription, long elements) {
+            this.subscription = subscription;
+            this.elements = elements;
+        }
+
+        @Override
+        public void request(int count) {
+            transport.execute(() -> {
+                for (int i = 0; i < count && emit(); i++) {
+                    // Keep going until the credit is exhausted.
+                }
+
+                if (emitted == elements) {
+                    complete();
+                }
+            });
+        }
+
+        private boolean emit() {
+            ReadSubscription target = this.subscription;
+
+            if (target == null || emitted == elements) {
+                return false;
+            }
+
+            emitted++;
+            target.onNext(new ReadMessage(StreamsOuterClass.ReadResp.newBuilder()
+                    .setLastStreamPosition(emitted)
+                    .build()));
+
+            return true;
+        }
+
+        private void complete() {
+            ReadSubscription target = this.subscription;
+            this.subscription = null;
+
+            if (target != null) {
+                target.onCompleted();
+            }
+        }
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+            this.subscription = null;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void onNext(StreamsOuterClass.ReadReq value) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class RecordedEventTests {
+    @Test
+    public void testLazyDecodingMatchesWireValues() {
+        UUID eventId = UUID.randomUUID();
+        // .NET ticks, 100ns increments since the UNIX epoch.
+        long ticks = 16_970_000_000_000_000L;
+        byte[] userMetadata = new byte[]{5, 6, 7};
+
+        StreamsOuterClass.ReadResp resp = StreamsOuterClass.ReadResp.newBuilder()
+                .setEvent(StreamsOuterClass.ReadResp.ReadEvent.newBuilder()
+                        .setEvent(StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent.newBuilder()
+                                .setId(Shared.UUID.newBuilder()
+                                        .setStructured(Shared.UUID.Structured.newBuilder()
+                                                .setMostSignificantBits(eventId.getMostSignificantBits())
+                                                .setLeastSignificantBits(eventId.getLeastSignificantBits())))
+                                .setStreamIdentifier(Shared.StreamIdentifier.newBuilder()
+                                        .setStreamName(ByteString.copyFromUtf8("lazy-stream")))
+                                .setStreamRevision(42)
+                                .setCommitPosition(1_024)
+                                .setPreparePosition(1_000)
+                                .putMetadata(SystemMetadataKeys.TYPE, "lazy-event")
+                                .putMetadata(SystemMetadataKeys.CONTENT_TYPE, "application/octet-stream")
+                                .putMetadata(SystemMetadataKeys.CREATED, Long.toString(ticks))
+                                .setCustomMetadata(ByteString.copyFrom(userMetadata))
+                                .setData(ByteString.copyFrom(new byte[]{1, 2, 3}))))
+                .build();
+
+        RecordedEvent event = ResolvedEvent.fromWire(resp.getEvent()).getOriginalEvent();
+
+        Assertions.assertEquals("lazy-stream", event.getStreamId());
+        Assertions.assertEquals(42, event.getRevision());
+        Assertions.assertEquals(eventId, event.getEventId());
+        Assertions.assertEquals(new Position(1_024, 1_000), event.getPosition());
+        Assertions.assertEquals(Instant.EPOCH.plusNanos(ticks * 100), event.getCreated());
+        Assertions.assertArrayEquals(userMetadata, event.getUserMetadata());
+        Assertions.assertEquals("lazy-event", event.getEventType());
+
+        // Decoded values are cached, later accesses return the same instances.
+        Assertions.assertSame(event.getStreamId(), event.getStreamId());
+        Assertions.assertSame(event.getEventId(), event.getEventId());
+        Assertions.assertSame(event.getPosition(), event.getPosition());
+        Assertions.assertSame(event.getCreated(), event.getCreated());
+        Assertions.assertSame(event.getUserMetadata(), event.getUserMetadata());
+        Assertions.assertArrayEquals(userMetadata, event.getUserMetadata());
+    }
+
+    @Test
+    public void testLazyDecodingOfStringEventId() {
+        UUID eventId = UUID.randomUUID();
+
+        StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent wire = StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent.newBuilder()
+                .setId(Shared.UUID.newBuilder().setString(eventId.toString()))
+                .setStreamIdentifier(Shared.StreamIdentifier.newBuilder().setStreamName(ByteString.copyFromUtf8("lazy-stream")))
+                .putMetadata(SystemMetadataKeys.CREATED, "0")
+                .build();
+
+        RecordedEvent event = RecordedEvent.fromWire(wire);
+
+        Assertions.assertEquals(eventId, event.getEventId());
+        Assertions.assertSame(event.getEventId(), event.getEventId());
+        Assertions.assertEquals(Instant.EPOCH, event.getCreated());
+        Assertions.assertEquals(0, event.getUserMetadata().length);
+    }
+}
@@ -0,0 +1,151 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.databases.InMemoryServer;
+import com.eventstore.dbclient.proto.streams.StreamsGrpc;
+import io.grpc.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+public class RetryPolicyTests {
+    private static long ago(long millis) {
+        return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void testBackoffDoublesWithinAttemptsAndBudget() {
+        RetryPolicy policy = new RetryPolicy(EventStoreDBClientSettings.builder()
+                .retryAttempts(3)
+                .retryBackoff(100)
+                .retryBudget(500)
+                .buildConnectionSettings());
+
+        Assertions.assertTrue(policy.isEnabled());
+        // The first attempt failed right away.
+        Assertions.assertEquals(100, policy.delayBeforeRetry(1, ago(0)));
+        // The first retry failed right away too, 100ms after the first attempt.
+        Assertions.assertEquals(200, policy.delayBeforeRetry(2, ago(100)));
+        // 300ms in, waiting another 400ms would end after the budget.
+        Assertions.assertEquals(-1, policy.delayBeforeRetry(3, ago(300)));
+        // Within the budget, but past the attempts.
+        Assertions.assertEquals(-1, policy.delayBeforeRetry(4, ago(0)));
+    }
+
+    @Test
+    public void testRetriesAreOptIn() {
+        RetryPolicy policy = new RetryPolicy(EventStoreDBClientSettings.builder().buildConnectionSettings());
+
+        Assertions.assertFalse(policy.isEnabled());
+        Assertions.assertEquals(-1, policy.delayBeforeRetry(1, System.nanoTime()));
+    }
+
+    @Test
+    public void testTransientErrors() {
+        Assertions.assertTrue(RetryPolicy.isTransient(new NotLeaderException("localhost", 2113)));
+        Assertions.assertTrue(RetryPolicy.isTransient(new CompletionException(Status.UNAVAILABLE.asRuntimeException())));
+        Assertions.assertFalse(RetryPolicy.isTransient(Status.DEADLINE_EXCEEDED.asRuntimeException()));
+        Assertions.assertFalse(RetryPolicy.isTransient(new StreamNotFoundException()));
+    }
+
+    @Test
+    public void testAppendIsRetriedWhenTheNodeIsUnavailable() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient client = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .retryAttempts(3)
+                    .retryBackoff(10)
+                    .buildConnectionSettings());
+
+            try {
+                String streamName = "retry-" + UUID.randomUUID();
+                EventData event = EventData.builderAsJson("retry-event", new Foo()).build();
+
+                server.failNext(StreamsGrpc.getBatchAppendMethod(), Status.UNAVAILABLE);
+                server.failNext(StreamsGrpc.getAppendMethod(), Status.UNAVAILABLE);
+
+                client.appendToStream(streamName, Collections.singletonList(event).iterator()).get(10, TimeUnit.SECONDS);
+
+                // Only the path the append took failed once.
+                Assertions.assertEquals(1, server.getInjectedFaultCount());
+
+                ReadResult result = client.readStream(streamName, ReadStreamOptions.get()).get(10, TimeUnit.SECONDS);
+                Assertions.assertEquals(1, result.getEvents().size());
+                Assertions.assertEquals(event.getEventId(), result.getEvents().get(0).getOriginalEvent().getEventId());
+            } finally {
+                client.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testPagesFollowTheClientRetryPolicy() throws Throwable {
+        try (InMemoryServer server = InMemoryServer.start()) {
+            EventStoreDBClient noRetries = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .buildConnectionSettings());
+            EventStoreDBClient withRetries = EventStoreDBClient.create(EventStoreDBClientSettings.builder()
+                    .addHost(server.getHost(), server.getPort())
+                    .tls(false)
+                    .retryAttempts(3)
+                    .retryBackoff(10)
+                    .buildConnectionSettings());
+
+            try {
+                EventData event = EventData.builderAsJson("page-event", new Foo()).build();
+                noRetries.appendToStream("pages-" + UUID.randomUUID(), Collections.singletonList(event).iterator()).get(10, TimeUnit.SECONDS);
+
+                // Retries are disabled, the page isn't read again behind the client's back.
+                server.failNext(StreamsGrpc.getReadMethod(), Status.UNAVAILABLE);
+                try (ReadAllPages pages = noRetries.readAllPages(ReadAllOptions.get(), 10)) {
+                    RuntimeException e = Assertions.assertThrows(RuntimeException.class, pages::next);
+                    Assertions.assertTrue(RetryPolicy.isTransient(e));
+                }
+                Assertions.assertEquals(1, server.getInjectedFaultCount());
+
+                server.failNext(StreamsGrpc.getReadMethod(), Status.UNAVAILABLE);
+                try (ReadAllPages pages = withRetries.readAllPages(ReadAllOptions.get(), 10)) {
+                    Assertions.assertFalse(pages.next().getEvents().isEmpty());
+                }
+                Assertions.assertEquals(2, server.getInjectedFaultCount());
+            } finally {
+                noRetries.shutdown().get(10, TimeUnit.SECONDS);
+                withRetries.shutdown().get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testAppendReplayIsBounded() {
+        EventData small = EventData.builderAsBinary("small", new byte[16]).build();
+        EventData large = EventData.builderAsBinary("large", new byte[AppendToStream.MAX_REPLAY_SIZE_IN_BYTES]).build();
+
+        AppendToStream.Replay replay = new AppendToStream.Replay(Arrays.asList(small, small).iterator());
+        Iterator<EventData> first = replay.iterator();
+        Assertions.assertSame(small, first.next());
+
+        // A retry goes through the events pulled so far, then carries on with the caller's iterator.
+        Iterator<EventData> second = replay.iterator();
+        Assertions.assertSame(small, second.next());
+        Assertions.assertSame(small, second.next());
+        Assertions.assertFalse(second.hasNext());
+        Assertions.assertTrue(replay.canReplay());
+
+        replay = new AppendToStream.Replay(Arrays.asList(small, large, small).iterator());
+        Iterator<EventData> unbounded = replay.iterator();
+        Assertions.assertSame(small, unbounded.next());
+        Assertions.assertSame(large, unbounded.next());
+        Assertions.assertFalse(replay.canReplay());
+
+        // The current attempt still gets every event.
+        Assertions.assertSame(small, unbounded.next());
+        Assertions.assertFalse(unbounded.hasNext());
+    }
+}
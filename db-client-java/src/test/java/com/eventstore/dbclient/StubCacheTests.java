@@ -0,0 +1,60 @@
+package com.eventstore.dbclient;
+
+import com.eventstore.dbclient.proto.streams.StreamsGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StubCacheTests {
+    @Test
+    public void testStubsAreCachedPerHeaders() {
+        // The channel is never used to make a call, so it never connects.
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", 2113).usePlaintext().build();
+        UserCredentials credentials = new UserCredentials("admin", "changeit");
+        Map<String, String> headers = new HashMap<>();
+
+        try {
+            StreamsGrpc.StreamsStub stub = StubCache.get(StreamsGrpc.newStub(channel), credentials, false, headers);
+
+            Assertions.assertSame(stub, StubCache.get(StreamsGrpc.newStub(channel), new UserCredentials("admin", "changeit"), false, Collections.emptyMap()));
+            Assertions.assertNotSame(stub, StubCache.get(StreamsGrpc.newStub(channel), credentials, true, headers));
+
+            // Mutating the options headers must not alter the cached entry.
+            headers.put("x-custom", "value");
+            Assertions.assertNotSame(stub, StubCache.get(StreamsGrpc.newStub(channel), credentials, false, headers));
+            Assertions.assertEquals(3, StubCache.size(channel));
+        } finally {
+            channel.shutdownNow();
+        }
+
+        StubCache.invalidate(channel);
+        Assertions.assertEquals(0, StubCache.size(channel));
+    }
+
+    @Test
+    public void testDiscardedChannelsDropTheirStubs() {
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", 2113).usePlaintext().build();
+
+        StubCache.get(StreamsGrpc.newStub(channel), null, false, Collections.emptyMap());
+        Assertions.assertEquals(1, StubCache.size(channel));
+
+        ConnectionState.discard(channel);
+        Assertions.assertEquals(0, StubCache.size(channel));
+        Assertions.assertTrue(channel.isShutdown());
+    }
+
+    @Test
+    public void testShutDownChannelsAreNotCachedAgain() {
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", 2113).usePlaintext().build();
+        ConnectionState.discard(channel);
+
+        // Like an operation still running on a snapshot of the previous connection.
+        Assertions.assertNotNull(StubCache.get(StreamsGrpc.newStub(channel), null, false, Collections.emptyMap()));
+        Assertions.assertEquals(0, StubCache.size(channel));
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Database served by an {@link InMemoryServer} started in the test JVM, so tests and benchmarks can run without
+ * Docker or network access.
+ */
+public class InMemoryDatabase implements Database {
+    final private InMemoryServer server;
+    final private boolean discover;
+    final private ClientTracker clientTracker;
+
+    /**
+     * @param discover whether clients go through gossip discovery, like with a cluster, rather than connecting to the
+     *                 node directly.
+     */
+    public InMemoryDatabase(boolean discover) {
+        try {
+            this.server = InMemoryServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.discover = discover;
+        this.clientTracker = new ClientTracker();
+    }
+
+    public InMemoryServer getServer() {
+        return server;
+    }
+
+    @Override
+    public ConnectionSettingsBuilder defaultSettingsBuilder() {
+        return EventStoreDBClientSettings
+                .builder()
+                .dnsDiscover(discover)
+                .defaultCredentials("admin", "changeit")
+                .addHost(server.getHost(), server.getPort())
+                .tls(false);
+    }
+
+    @Override
+    public ClientTracker getClientTracker() {
+        return clientTracker;
+    }
+
+    @Override
+    public void cleanup() {
+        server.close();
+    }
+}
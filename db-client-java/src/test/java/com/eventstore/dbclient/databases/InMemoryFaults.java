@@ -0,0 +1,42 @@
+package com.eventstore.dbclient.databases;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fails the next calls of a method with a given status, before they reach the service.
+class InMemoryFaults implements ServerInterceptor {
+    private final Map<String, Queue<Status>> faults = new ConcurrentHashMap<>();
+    private final AtomicInteger injected = new AtomicInteger();
+
+    void failNext(MethodDescriptor<?, ?> method, Status status) {
+        this.faults.computeIfAbsent(method.getFullMethodName(), name -> new ConcurrentLinkedQueue<>()).add(status);
+    }
+
+    int getInjectedCount() {
+        return this.injected.get();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        Queue<Status> queue = this.faults.get(call.getMethodDescriptor().getFullMethodName());
+        Status status = queue != null ? queue.poll() : null;
+
+        if (status == null)
+            return next.startCall(call, headers);
+
+        this.injected.incrementAndGet();
+        call.close(status, new Metadata());
+
+        return new ServerCall.Listener<ReqT>() {};
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.proto.gossip.GossipGrpc;
+import com.eventstore.dbclient.proto.gossip.GossipOuterClass;
+import com.eventstore.dbclient.proto.shared.Shared;
+import io.grpc.stub.StreamObserver;
+
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+// Reports a single-node cluster whose leader is the in-memory server itself, unless tests set another view.
+class InMemoryGossipService extends GossipGrpc.GossipImplBase {
+    private final UUID instanceId = UUID.randomUUID();
+    private final String host;
+    // The port is only known once the server is bound.
+    private final IntSupplier port;
+    private volatile GossipOuterClass.ClusterInfo clusterInfo;
+
+    InMemoryGossipService(String host, IntSupplier port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    void setClusterInfo(GossipOuterClass.ClusterInfo clusterInfo) {
+        this.clusterInfo = clusterInfo;
+    }
+
+    GossipOuterClass.MemberInfo member(GossipOuterClass.MemberInfo.VNodeState state, boolean alive) {
+        return GossipOuterClass.MemberInfo.newBuilder()
+                .setInstanceId(InMemoryLog.toWire(instanceId))
+                .setTimeStamp(System.currentTimeMillis() * 10_000)
+                .setState(state)
+                .setIsAlive(alive)
+                .setHttpEndPoint(GossipOuterClass.EndPoint.newBuilder()
+                        .setAddress(host)
+                        .setPort(port.getAsInt()))
+                .build();
+    }
+
+    @Override
+    public void read(Shared.Empty request, StreamObserver<GossipOuterClass.ClusterInfo> responseObserver) {
+        GossipOuterClass.ClusterInfo clusterInfo = this.clusterInfo;
+
+        if (clusterInfo != null) {
+            responseObserver.onNext(clusterInfo);
+            responseObserver.onCompleted();
+            return;
+        }
+
+        responseObserver.onNext(GossipOuterClass.ClusterInfo.newBuilder()
+                .addMembers(member(GossipOuterClass.MemberInfo.VNodeState.Leader, true))
+                .build());
+        responseObserver.onCompleted();
+    }
+}
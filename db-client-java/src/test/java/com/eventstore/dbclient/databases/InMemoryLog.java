@@ -0,0 +1,474 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.proto.persistentsubscriptions.Persistent;
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.ByteString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only transaction log backing {@link InMemoryServer}. Every record gets a position in $all, computed like the
+ * server does from the size of the records written before it, and a revision in its own stream.
+ *
+ * Stream metadata is stored in the usual $$stream streams but isn't enforced: ACLs, $maxAge, $maxCount and the like
+ * have no effect.
+ */
+class InMemoryLog {
+    static final long EXPECTED_NO_STREAM = -1;
+    static final long EXPECTED_ANY = -2;
+    static final long EXPECTED_STREAM_EXISTS = -4;
+
+    private static final String LINK_EVENT_TYPE = "$>";
+    private static final int RECORD_OVERHEAD_IN_BYTES = 64;
+
+    private final ArrayList<Record> records = new ArrayList<>();
+    private final HashMap<String, Stream> streams = new HashMap<>();
+    private final CopyOnWriteArrayList<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private long nextPosition = 0;
+
+    static final class Record {
+        final long position;
+        final int index;
+        final String streamName;
+        final long revision;
+        final UUID id;
+        final Map<String, String> metadata;
+        final ByteString customMetadata;
+        final ByteString data;
+
+        Record(long position, int index, String streamName, long revision, UUID id, Map<String, String> metadata, ByteString customMetadata, ByteString data) {
+            this.position = position;
+            this.index = index;
+            this.streamName = streamName;
+            this.revision = revision;
+            this.id = id;
+            this.metadata = metadata;
+            this.customMetadata = customMetadata;
+            this.data = data;
+        }
+
+        String getEventType() {
+            return metadata.get("type");
+        }
+
+        boolean isLink() {
+            return LINK_EVENT_TYPE.equals(getEventType());
+        }
+
+        int size() {
+            return data.size() + customMetadata.size() + streamName.length() + RECORD_OVERHEAD_IN_BYTES;
+        }
+
+        StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent toStreamsWire() {
+            return StreamsOuterClass.ReadResp.ReadEvent.RecordedEvent.newBuilder()
+                    .setId(toWire(id))
+                    .setStreamIdentifier(streamIdentifier(streamName))
+                    .setStreamRevision(revision)
+                    .setCommitPosition(position)
+                    .setPreparePosition(position)
+                    .putAllMetadata(metadata)
+                    .setCustomMetadata(customMetadata)
+                    .setData(data)
+                    .build();
+        }
+
+        Persistent.ReadResp.ReadEvent.RecordedEvent toPersistentWire() {
+            return Persistent.ReadResp.ReadEvent.RecordedEvent.newBuilder()
+                    .setId(toWire(id))
+                    .setStreamIdentifier(streamIdentifier(streamName))
+                    .setStreamRevision(revision)
+                    .setCommitPosition(position)
+                    .setPreparePosition(position)
+                    .putAllMetadata(metadata)
+                    .setCustomMetadata(customMetadata)
+                    .setData(data)
+                    .build();
+        }
+    }
+
+    static final class ProposedEvent {
+        final UUID id;
+        final Map<String, String> metadata;
+        final ByteString customMetadata;
+        final ByteString data;
+
+        ProposedEvent(Shared.UUID id, Map<String, String> metadata, ByteString customMetadata, ByteString data) {
+            this.id = fromWire(id);
+            this.metadata = metadata;
+            this.customMetadata = customMetadata;
+            this.data = data;
+        }
+    }
+
+    static final class AppendResult {
+        // -1 when the stream still doesn't exist.
+        final long currentRevision;
+        // null when nothing was written.
+        final Long position;
+
+        AppendResult(long currentRevision, Long position) {
+            this.currentRevision = currentRevision;
+            this.position = position;
+        }
+    }
+
+    static final class WrongExpectedRevision extends RuntimeException {
+        final String streamName;
+        final long expected;
+        final long current;
+
+        WrongExpectedRevision(String streamName, long expected, long current) {
+            super(String.format("Wrong expected revision on stream '%s', expected %d but was %d", streamName, expected, current));
+            this.streamName = streamName;
+            this.expected = expected;
+            this.current = current;
+        }
+    }
+
+    static final class StreamTombstoned extends RuntimeException {
+        final String streamName;
+
+        StreamTombstoned(String streamName) {
+            super(String.format("Stream '%s' is deleted", streamName));
+            this.streamName = streamName;
+        }
+    }
+
+    static final class StreamNotFound extends RuntimeException {
+        StreamNotFound(String streamName) {
+            super(String.format("Stream '%s' not found", streamName));
+        }
+    }
+
+    private static final class Stream {
+        final ArrayList<Record> events = new ArrayList<>();
+        // Events below that revision were soft-deleted.
+        long truncateBefore = 0;
+        boolean tombstoned = false;
+
+        long currentRevision() {
+            return events.size() - 1;
+        }
+
+        boolean exists() {
+            return !tombstoned && events.size() > truncateBefore;
+        }
+    }
+
+    /**
+     * Server-side filter of $all reads and subscriptions.
+     */
+    static final class Filter {
+        final boolean onStreamName;
+        final Pattern regex;
+        final List<String> prefixes;
+
+        Filter(boolean onStreamName, String regex, List<String> prefixes) {
+            this.onStreamName = onStreamName;
+            this.regex = regex == null || regex.isEmpty() ? null : Pattern.compile(regex);
+            this.prefixes = prefixes;
+        }
+
+        boolean matches(Record record) {
+            String value = onStreamName ? record.streamName : record.getEventType();
+
+            if (regex != null) {
+                return regex.matcher(value).find();
+            }
+
+            for (String prefix : prefixes) {
+                if (value.startsWith(prefix)) {
+                    return true;
+                }
+            }
+
+            return prefixes.isEmpty();
+        }
+    }
+
+    /**
+     * Registers a callback invoked, on the writer's thread, after each write to the log.
+     */
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    AppendResult append(String streamName, long expectedRevision, List<ProposedEvent> events) {
+        AppendResult result;
+
+        synchronized (this) {
+            Stream stream = streams.computeIfAbsent(streamName, k -> new Stream());
+
+            if (stream.tombstoned) {
+                throw new StreamTombstoned(streamName);
+            }
+
+            long current = stream.exists() ? stream.currentRevision() : EXPECTED_NO_STREAM;
+            checkExpectedRevision(streamName, expectedRevision, current);
+
+            if (events.isEmpty()) {
+                return new AppendResult(current, null);
+            }
+
+            Record last = null;
+            for (ProposedEvent event : events) {
+                HashMap<String, String> metadata = new HashMap<>(event.metadata);
+                metadata.put("created", Long.toString(System.currentTimeMillis() * 10_000));
+                last = write(stream, streamName, event.id, metadata, event.customMetadata, event.data);
+            }
+
+            result = new AppendResult(last.revision, last.position);
+        }
+
+        notifyListeners();
+        return result;
+    }
+
+    /**
+     * Soft-deletes or tombstones a stream, returning the position of the write that recorded it.
+     */
+    long delete(String streamName, long expectedRevision, boolean tombstone) {
+        long position;
+
+        synchronized (this) {
+            Stream stream = streams.computeIfAbsent(streamName, k -> new Stream());
+
+            if (stream.tombstoned) {
+                throw new StreamTombstoned(streamName);
+            }
+
+            long current = stream.exists() ? stream.currentRevision() : EXPECTED_NO_STREAM;
+            checkExpectedRevision(streamName, expectedRevision, current);
+
+            if (tombstone) {
+                stream.tombstoned = true;
+                position = nextPosition;
+            } else {
+                stream.truncateBefore = stream.events.size();
+
+                // Same as the server, a soft delete is a truncation recorded in the stream's metadata.
+                String metadataStreamName = "$$" + streamName;
+                Stream metadataStream = streams.computeIfAbsent(metadataStreamName, k -> new Stream());
+                HashMap<String, String> metadata = new HashMap<>();
+                metadata.put("type", "$metadata");
+                metadata.put("content-type", "application/json");
+                metadata.put("created", Long.toString(System.currentTimeMillis() * 10_000));
+
+                position = write(metadataStream, metadataStreamName, UUID.randomUUID(), metadata, ByteString.EMPTY,
+                        ByteString.copyFromUtf8(String.format("{\"$tb\":%d}", stream.truncateBefore))).position;
+            }
+        }
+
+        notifyListeners();
+        return position;
+    }
+
+    /**
+     * Reads a stream's visible events, in the given direction and starting at the given revision inclusive.
+     * {@code fromRevision} of -1 means the end of the stream.
+     */
+    synchronized List<Record> readStream(String streamName, long fromRevision, boolean forwards, long maxCount) {
+        Stream stream = streams.get(streamName);
+
+        if (stream != null && stream.tombstoned) {
+            throw new StreamTombstoned(streamName);
+        }
+
+        if (stream == null || !stream.exists()) {
+            throw new StreamNotFound(streamName);
+        }
+
+        ArrayList<Record> result = new ArrayList<>();
+        long revision = fromRevision < 0 ? stream.currentRevision() : fromRevision;
+
+        if (forwards) {
+            for (long rev = Math.max(revision, stream.truncateBefore); rev <= stream.currentRevision() && result.size() < maxCount; rev++) {
+                result.add(stream.events.get((int) rev));
+            }
+        } else {
+            for (long rev = Math.min(revision, stream.currentRevision()); rev >= stream.truncateBefore && result.size() < maxCount; rev--) {
+                result.add(stream.events.get((int) rev));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads $all from the record at the given index inclusive. Use {@link #indexOf(long)} to find where a position
+     * lands.
+     */
+    synchronized List<Record> readAll(int fromIndex, boolean forwards, long maxCount, Filter filter) {
+        ArrayList<Record> result = new ArrayList<>();
+
+        if (forwards) {
+            for (int idx = Math.max(0, fromIndex); idx < records.size() && result.size() < maxCount; idx++) {
+                addIfVisible(result, records.get(idx), filter);
+            }
+        } else {
+            for (int idx = Math.min(fromIndex, records.size() - 1); idx >= 0 && result.size() < maxCount; idx--) {
+                addIfVisible(result, records.get(idx), filter);
+            }
+        }
+
+        return result;
+    }
+
+    private void addIfVisible(List<Record> result, Record record, Filter filter) {
+        if (isVisible(record) && (filter == null || filter.matches(record))) {
+            result.add(record);
+        }
+    }
+
+    /**
+     * Whether a record hasn't been deleted since it was written.
+     */
+    synchronized boolean isVisible(Record record) {
+        Stream stream = streams.get(record.streamName);
+        return !stream.tombstoned && record.revision >= stream.truncateBefore;
+    }
+
+    /**
+     * Index of the first record at or after the given position.
+     */
+    synchronized int indexOf(long position) {
+        int low = 0;
+        int high = records.size();
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (Long.compareUnsigned(records.get(mid).position, position) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Record at the given index of $all, or of a stream when {@code streamName} isn't null. Returns null past the end.
+     */
+    synchronized Record recordAt(String streamName, int index) {
+        List<Record> source = records;
+
+        if (streamName != null) {
+            Stream stream = streams.get(streamName);
+            source = stream == null ? Collections.emptyList() : stream.events;
+        }
+
+        return index < source.size() ? source.get(index) : null;
+    }
+
+    /**
+     * Number of records in $all, or in a stream when {@code streamName} isn't null.
+     */
+    synchronized int size(String streamName) {
+        if (streamName == null) {
+            return records.size();
+        }
+
+        Stream stream = streams.get(streamName);
+        return stream == null ? 0 : stream.events.size();
+    }
+
+    synchronized long lastPosition() {
+        return records.isEmpty() ? 0 : records.get(records.size() - 1).position;
+    }
+
+    /**
+     * Follows a link event to the event it points to, null if it can't be resolved.
+     */
+    synchronized Record resolve(Record link) {
+        String pointer = link.data.toStringUtf8();
+        int separator = pointer.indexOf('@');
+
+        if (separator == -1) {
+            return null;
+        }
+
+        try {
+            long revision = Long.parseLong(pointer.substring(0, separator));
+            Stream stream = streams.get(pointer.substring(separator + 1));
+
+            if (stream == null || stream.tombstoned || revision < stream.truncateBefore || revision > stream.currentRevision()) {
+                return null;
+            }
+
+            return stream.events.get((int) revision);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Record write(Stream stream, String streamName, UUID id, Map<String, String> metadata, ByteString customMetadata, ByteString data) {
+        Record record = new Record(nextPosition, records.size(), streamName, stream.events.size(), id,
+                Collections.unmodifiableMap(metadata), customMetadata, data);
+
+        records.add(record);
+        stream.events.add(record);
+        nextPosition += record.size();
+
+        return record;
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private static void checkExpectedRevision(String streamName, long expected, long current) {
+        boolean matches;
+
+        if (expected == EXPECTED_ANY) {
+            matches = true;
+        } else if (expected == EXPECTED_NO_STREAM) {
+            matches = current == EXPECTED_NO_STREAM;
+        } else if (expected == EXPECTED_STREAM_EXISTS) {
+            matches = current != EXPECTED_NO_STREAM;
+        } else {
+            matches = expected == current;
+        }
+
+        if (!matches) {
+            throw new WrongExpectedRevision(streamName, expected, current);
+        }
+    }
+
+    static Shared.StreamIdentifier streamIdentifier(String streamName) {
+        return Shared.StreamIdentifier.newBuilder()
+                .setStreamName(ByteString.copyFromUtf8(streamName))
+                .build();
+    }
+
+    static Shared.UUID toWire(UUID id) {
+        return Shared.UUID.newBuilder()
+                .setStructured(Shared.UUID.Structured.newBuilder()
+                        .setMostSignificantBits(id.getMostSignificantBits())
+                        .setLeastSignificantBits(id.getLeastSignificantBits()))
+                .build();
+    }
+
+    static UUID fromWire(Shared.UUID id) {
+        if (id.hasStructured()) {
+            return new UUID(id.getStructured().getMostSignificantBits(), id.getStructured().getLeastSignificantBits());
+        }
+
+        return UUID.fromString(id.getString());
+    }
+}
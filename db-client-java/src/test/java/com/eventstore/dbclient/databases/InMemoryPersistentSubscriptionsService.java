@@ -0,0 +1,670 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.proto.persistentsubscriptions.Persistent;
+import com.eventstore.dbclient.proto.persistentsubscriptions.PersistentSubscriptionsGrpc;
+import com.eventstore.dbclient.proto.shared.Shared;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent subscriptions on top of {@link InMemoryLog}. Groups keep their checkpoint in memory only, and the Pinned
+ * consumer strategy is served like RoundRobin.
+ */
+class InMemoryPersistentSubscriptionsService extends PersistentSubscriptionsGrpc.PersistentSubscriptionsImplBase {
+    private static final String ALL_STREAM = "$all";
+
+    private final InMemoryLog log;
+    private final ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<>();
+
+    InMemoryPersistentSubscriptionsService(InMemoryLog log) {
+        this.log = log;
+    }
+
+    @Override
+    public void create(Persistent.CreateReq request, StreamObserver<Persistent.CreateResp> responseObserver) {
+        Persistent.CreateReq.Options options = request.getOptions();
+        Group group;
+
+        if (options.hasAll()) {
+            Persistent.CreateReq.AllOptions all = options.getAll();
+            InMemoryLog.Filter filter = null;
+            int cursor;
+            String startFrom;
+
+            if (all.hasStart()) {
+                cursor = 0;
+                startFrom = "C:0/P:0";
+            } else if (all.hasEnd()) {
+                cursor = log.size(null);
+                startFrom = "C:-1/P:-1";
+            } else {
+                Persistent.CreateReq.Position position = all.getPosition();
+                cursor = log.indexOf(position.getCommitPosition());
+                startFrom = String.format("C:%d/P:%d", position.getCommitPosition(), position.getPreparePosition());
+            }
+
+            if (all.hasFilter()) {
+                Persistent.CreateReq.AllOptions.FilterOptions filterOptions = all.getFilter();
+                Persistent.CreateReq.AllOptions.FilterOptions.Expression expression = filterOptions.hasStreamIdentifier()
+                        ? filterOptions.getStreamIdentifier()
+                        : filterOptions.getEventType();
+
+                filter = new InMemoryLog.Filter(filterOptions.hasStreamIdentifier(), expression.getRegex(), expression.getPrefixList());
+            }
+
+            group = new Group(log, ALL_STREAM, options.getGroupName(), filter, cursor, startFrom, new Settings(options.getSettings()));
+        } else {
+            Shared.StreamIdentifier streamIdentifier = options.hasStream()
+                    ? options.getStream().getStreamIdentifier()
+                    : options.getStreamIdentifier();
+            String streamName = streamIdentifier.getStreamName().toStringUtf8();
+            long revision;
+
+            if (!options.hasStream()) {
+                revision = options.getSettings().getRevision();
+            } else if (options.getStream().hasStart()) {
+                revision = 0;
+            } else if (options.getStream().hasEnd()) {
+                revision = -1;
+            } else {
+                revision = options.getStream().getRevision();
+            }
+
+            int cursor = revision == -1 ? log.size(streamName) : (int) revision;
+            group = new Group(log, streamName, options.getGroupName(), null, cursor, Long.toString(revision), new Settings(options.getSettings()));
+        }
+
+        if (groups.putIfAbsent(group.key, group) != null) {
+            responseObserver.onError(Status.ALREADY_EXISTS
+                    .withDescription(String.format("Subscription group '%s' on stream '%s' already exists", group.name, group.stream))
+                    .asRuntimeException());
+            return;
+        }
+
+        log.addListener(group);
+        responseObserver.onNext(Persistent.CreateResp.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void update(Persistent.UpdateReq request, StreamObserver<Persistent.UpdateResp> responseObserver) {
+        Persistent.UpdateReq.Options options = request.getOptions();
+        String stream;
+
+        if (options.hasAll()) {
+            stream = ALL_STREAM;
+        } else if (options.hasStream()) {
+            stream = options.getStream().getStreamIdentifier().getStreamName().toStringUtf8();
+        } else {
+            stream = options.getStreamIdentifier().getStreamName().toStringUtf8();
+        }
+
+        Group group = groups.get(key(stream, options.getGroupName()));
+
+        if (group == null) {
+            responseObserver.onError(notFound(stream, options.getGroupName()));
+            return;
+        }
+
+        group.update(new Settings(options.getSettings()));
+        responseObserver.onNext(Persistent.UpdateResp.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void delete(Persistent.DeleteReq request, StreamObserver<Persistent.DeleteResp> responseObserver) {
+        Persistent.DeleteReq.Options options = request.getOptions();
+        String stream = options.hasAll() ? ALL_STREAM : options.getStreamIdentifier().getStreamName().toStringUtf8();
+        Group group = groups.remove(key(stream, options.getGroupName()));
+
+        if (group == null) {
+            responseObserver.onError(notFound(stream, options.getGroupName()));
+            return;
+        }
+
+        log.removeListener(group);
+        group.close();
+        responseObserver.onNext(Persistent.DeleteResp.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<Persistent.ReadReq> read(StreamObserver<Persistent.ReadResp> responseObserver) {
+        ServerCallStreamObserver<Persistent.ReadResp> out = (ServerCallStreamObserver<Persistent.ReadResp>) responseObserver;
+        ReadObserver observer = new ReadObserver(out);
+
+        // Handlers can only be registered before the request observer is handed over to gRPC.
+        out.setOnReadyHandler(observer::onReady);
+        out.setOnCancelHandler(observer::disconnect);
+
+        return observer;
+    }
+
+    @Override
+    public void getInfo(Persistent.GetInfoReq request, StreamObserver<Persistent.GetInfoResp> responseObserver) {
+        Persistent.GetInfoReq.Options options = request.getOptions();
+        String stream = options.hasAll() ? ALL_STREAM : options.getStreamIdentifier().getStreamName().toStringUtf8();
+        Group group = groups.get(key(stream, options.getGroupName()));
+
+        if (group == null) {
+            responseObserver.onError(notFound(stream, options.getGroupName()));
+            return;
+        }
+
+        responseObserver.onNext(Persistent.GetInfoResp.newBuilder().setSubscriptionInfo(group.info()).build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void list(Persistent.ListReq request, StreamObserver<Persistent.ListResp> responseObserver) {
+        Persistent.ListReq.Options options = request.getOptions();
+        String stream = null;
+
+        if (options.hasListForStream()) {
+            Persistent.ListReq.StreamOption streamOption = options.getListForStream();
+            stream = streamOption.hasAll() ? ALL_STREAM : streamOption.getStream().getStreamName().toStringUtf8();
+        }
+
+        Persistent.ListResp.Builder resp = Persistent.ListResp.newBuilder();
+        for (Group group : groups.values()) {
+            if (stream == null || stream.equals(group.stream)) {
+                resp.addSubscriptions(group.info());
+            }
+        }
+
+        responseObserver.onNext(resp.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void replayParked(Persistent.ReplayParkedReq request, StreamObserver<Persistent.ReplayParkedResp> responseObserver) {
+        Persistent.ReplayParkedReq.Options options = request.getOptions();
+        String stream = options.hasAll() ? ALL_STREAM : options.getStreamIdentifier().getStreamName().toStringUtf8();
+        Group group = groups.get(key(stream, options.getGroupName()));
+
+        if (group == null) {
+            responseObserver.onError(notFound(stream, options.getGroupName()));
+            return;
+        }
+
+        group.replayParked(options.hasStopAt() ? options.getStopAt() : Long.MAX_VALUE);
+        responseObserver.onNext(Persistent.ReplayParkedResp.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void restartSubsystem(Shared.Empty request, StreamObserver<Shared.Empty> responseObserver) {
+        responseObserver.onNext(Shared.Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    private static String key(String stream, String group) {
+        return stream + "::" + group;
+    }
+
+    private static StatusRuntimeException notFound(String stream, String group) {
+        return Status.NOT_FOUND
+                .withDescription(String.format("Subscription group '%s' on stream '%s' does not exist", group, stream))
+                .asRuntimeException();
+    }
+
+    private class ReadObserver implements StreamObserver<Persistent.ReadReq> {
+        private final ServerCallStreamObserver<Persistent.ReadResp> out;
+        private volatile Group group;
+        private volatile Consumer consumer;
+
+        ReadObserver(ServerCallStreamObserver<Persistent.ReadResp> out) {
+            this.out = out;
+        }
+
+        @Override
+        public void onNext(Persistent.ReadReq value) {
+            if (value.hasOptions()) {
+                Persistent.ReadReq.Options options = value.getOptions();
+                String stream = options.hasAll() ? ALL_STREAM : options.getStreamIdentifier().getStreamName().toStringUtf8();
+                Group group = groups.get(key(stream, options.getGroupName()));
+                Consumer consumer = new Consumer(out, Math.max(1, options.getBufferSize()));
+
+                if (group == null) {
+                    consumer.end(notFound(stream, options.getGroupName()));
+                    return;
+                }
+
+                this.consumer = consumer;
+                this.group = group;
+                group.connect(consumer);
+                return;
+            }
+
+            if (consumer == null) {
+                return;
+            }
+
+            if (value.hasAck()) {
+                group.ack(value.getAck().getIdsList());
+            } else if (value.hasNack()) {
+                group.nack(consumer, value.getNack().getIdsList(), value.getNack().getAction());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            disconnect();
+        }
+
+        @Override
+        public void onCompleted() {
+            disconnect();
+        }
+
+        void onReady() {
+            Group group = this.group;
+
+            if (group != null) {
+                group.run();
+            }
+        }
+
+        void disconnect() {
+            Consumer consumer = this.consumer;
+
+            if (consumer != null) {
+                group.disconnect(consumer);
+            }
+        }
+    }
+
+    private static final class Settings {
+        final boolean resolveLinks;
+        final boolean extraStatistics;
+        final int maxRetryCount;
+        final int minCheckpointCount;
+        final int maxCheckpointCount;
+        final int maxSubscriberCount;
+        final int liveBufferSize;
+        final int readBatchSize;
+        final int historyBufferSize;
+        final int messageTimeoutMs;
+        final int checkpointAfterMs;
+        final String consumerStrategy;
+
+        Settings(Persistent.CreateReq.Settings settings) {
+            resolveLinks = settings.getResolveLinks();
+            extraStatistics = settings.getExtraStatistics();
+            maxRetryCount = settings.getMaxRetryCount();
+            minCheckpointCount = settings.getMinCheckpointCount();
+            maxCheckpointCount = settings.getMaxCheckpointCount();
+            maxSubscriberCount = settings.getMaxSubscriberCount();
+            liveBufferSize = settings.getLiveBufferSize();
+            readBatchSize = settings.getReadBatchSize();
+            historyBufferSize = settings.getHistoryBufferSize();
+            messageTimeoutMs = settings.hasMessageTimeoutTicks() ? (int) (settings.getMessageTimeoutTicks() / 10_000) : settings.getMessageTimeoutMs();
+            checkpointAfterMs = settings.hasCheckpointAfterTicks() ? (int) (settings.getCheckpointAfterTicks() / 10_000) : settings.getCheckpointAfterMs();
+            consumerStrategy = settings.getConsumerStrategy().isEmpty() ? settings.getNamedConsumerStrategy().name() : settings.getConsumerStrategy();
+        }
+
+        Settings(Persistent.UpdateReq.Settings settings) {
+            resolveLinks = settings.getResolveLinks();
+            extraStatistics = settings.getExtraStatistics();
+            maxRetryCount = settings.getMaxRetryCount();
+            minCheckpointCount = settings.getMinCheckpointCount();
+            maxCheckpointCount = settings.getMaxCheckpointCount();
+            maxSubscriberCount = settings.getMaxSubscriberCount();
+            liveBufferSize = settings.getLiveBufferSize();
+            readBatchSize = settings.getReadBatchSize();
+            historyBufferSize = settings.getHistoryBufferSize();
+            messageTimeoutMs = settings.hasMessageTimeoutTicks() ? (int) (settings.getMessageTimeoutTicks() / 10_000) : settings.getMessageTimeoutMs();
+            checkpointAfterMs = settings.hasCheckpointAfterTicks() ? (int) (settings.getCheckpointAfterTicks() / 10_000) : settings.getCheckpointAfterMs();
+            consumerStrategy = settings.getNamedConsumerStrategy().name();
+        }
+    }
+
+    private static final class Consumer {
+        final ServerCallStreamObserver<Persistent.ReadResp> out;
+        final int bufferSize;
+        final String connectionName = UUID.randomUUID().toString();
+        int inFlight = 0;
+        long totalItems = 0;
+        boolean closed = false;
+
+        Consumer(ServerCallStreamObserver<Persistent.ReadResp> out, int bufferSize) {
+            this.out = out;
+            this.bufferSize = bufferSize;
+        }
+
+        boolean isAvailable() {
+            return !closed && inFlight < bufferSize && !out.isCancelled() && out.isReady();
+        }
+
+        // Ends the call from the server side, with an error unless it's null. Only the first call has an effect.
+        void end(Throwable error) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            try {
+                if (error == null) {
+                    out.onCompleted();
+                } else {
+                    out.onError(error);
+                }
+            } catch (IllegalStateException | StatusRuntimeException e) {
+                // The call is already over.
+            }
+        }
+    }
+
+    private static final class Message {
+        final InMemoryLog.Record record;
+        final int retryCount;
+        Consumer consumer;
+
+        Message(InMemoryLog.Record record, int retryCount) {
+            this.record = record;
+            this.retryCount = retryCount;
+        }
+    }
+
+    // Dispatches a group's messages to its consumers. Runs when the log gets written to, when a consumer becomes ready
+    // again, and on acks/nacks, always under the group's lock.
+    private static final class Group implements Runnable {
+        final InMemoryLog log;
+        final String stream;
+        final String name;
+        final String key;
+        // null when the group is on $all.
+        final String sourceStream;
+        final InMemoryLog.Filter filter;
+        final String startFrom;
+        Settings settings;
+        int cursor;
+        final ArrayDeque<Message> retries = new ArrayDeque<>();
+        final LinkedHashMap<UUID, Message> inFlight = new LinkedHashMap<>();
+        final ArrayList<Message> parked = new ArrayList<>();
+        final ArrayList<Consumer> consumers = new ArrayList<>();
+        int nextConsumer = 0;
+        long totalItems = 0;
+        InMemoryLog.Record lastKnown;
+        InMemoryLog.Record lastCheckpointed;
+
+        Group(InMemoryLog log, String stream, String name, InMemoryLog.Filter filter, int cursor, String startFrom, Settings settings) {
+            this.log = log;
+            this.stream = stream;
+            this.name = name;
+            this.key = key(stream, name);
+            this.sourceStream = ALL_STREAM.equals(stream) ? null : stream;
+            this.filter = filter;
+            this.cursor = cursor;
+            this.startFrom = startFrom;
+            this.settings = settings;
+        }
+
+        synchronized void update(Settings settings) {
+            this.settings = settings;
+        }
+
+        synchronized void connect(Consumer consumer) {
+            if (settings.maxSubscriberCount > 0 && consumers.size() >= settings.maxSubscriberCount) {
+                consumer.end(Status.FAILED_PRECONDITION.withDescription("Maximum subscriber count reached").asRuntimeException());
+                return;
+            }
+
+            consumers.add(consumer);
+
+            try {
+                consumer.out.onNext(Persistent.ReadResp.newBuilder()
+                        .setSubscriptionConfirmation(Persistent.ReadResp.SubscriptionConfirmation.newBuilder()
+                                .setSubscriptionId(key))
+                        .build());
+            } catch (StatusRuntimeException e) {
+                // The consumer went away already, the disconnection takes care of it.
+            }
+
+            run();
+        }
+
+        synchronized void disconnect(Consumer consumer) {
+            consumer.end(null);
+
+            if (!consumers.remove(consumer)) {
+                return;
+            }
+
+            // Whatever the consumer didn't acknowledge goes to another one.
+            Iterator<Message> iterator = inFlight.values().iterator();
+            while (iterator.hasNext()) {
+                Message message = iterator.next();
+
+                if (message.consumer == consumer) {
+                    iterator.remove();
+                    retry(message);
+                }
+            }
+
+            run();
+        }
+
+        synchronized void ack(List<Shared.UUID> ids) {
+            for (Shared.UUID id : ids) {
+                Message message = inFlight.remove(InMemoryLog.fromWire(id));
+
+                if (message != null) {
+                    message.consumer.inFlight--;
+                    lastCheckpointed = message.record;
+                }
+            }
+
+            run();
+        }
+
+        synchronized void nack(Consumer consumer, List<Shared.UUID> ids, Persistent.ReadReq.Nack.Action action) {
+            for (Shared.UUID id : ids) {
+                Message message = inFlight.remove(InMemoryLog.fromWire(id));
+
+                if (message == null) {
+                    continue;
+                }
+
+                message.consumer.inFlight--;
+
+                switch (action) {
+                    case Park:
+                        parked.add(message);
+                        break;
+                    case Skip:
+                        break;
+                    default:
+                        retry(message);
+                        break;
+                }
+            }
+
+            if (action == Persistent.ReadReq.Nack.Action.Stop) {
+                disconnect(consumer);
+                return;
+            }
+
+            run();
+        }
+
+        synchronized void replayParked(long stopAt) {
+            Iterator<Message> iterator = parked.iterator();
+            long replayed = 0;
+
+            while (iterator.hasNext() && replayed < stopAt) {
+                Message message = iterator.next();
+                iterator.remove();
+                retries.add(new Message(message.record, 0));
+                replayed++;
+            }
+
+            run();
+        }
+
+        synchronized void close() {
+            for (Consumer consumer : consumers) {
+                consumer.end(Status.NOT_FOUND.withDescription("Persistent subscription was deleted").asRuntimeException());
+            }
+
+            consumers.clear();
+            inFlight.clear();
+            retries.clear();
+        }
+
+        private void retry(Message message) {
+            if (settings.maxRetryCount > 0 && message.retryCount >= settings.maxRetryCount) {
+                parked.add(message);
+            } else {
+                retries.add(new Message(message.record, message.retryCount + 1));
+            }
+        }
+
+        @Override
+        public synchronized void run() {
+            Consumer consumer;
+
+            while ((consumer = nextAvailableConsumer()) != null) {
+                Message message = retries.poll();
+
+                if (message == null) {
+                    message = pollLog();
+                }
+
+                if (message == null) {
+                    return;
+                }
+
+                send(consumer, message);
+            }
+        }
+
+        private Consumer nextAvailableConsumer() {
+            boolean dispatchToSingle = "DispatchToSingle".equals(settings.consumerStrategy);
+
+            for (int i = 0; i < consumers.size(); i++) {
+                int idx = dispatchToSingle ? i : (nextConsumer + i) % consumers.size();
+                Consumer consumer = consumers.get(idx);
+
+                if (consumer.isAvailable()) {
+                    nextConsumer = (idx + 1) % consumers.size();
+                    return consumer;
+                }
+            }
+
+            return null;
+        }
+
+        private Message pollLog() {
+            InMemoryLog.Record record;
+
+            while ((record = log.recordAt(sourceStream, cursor)) != null) {
+                cursor++;
+
+                if (log.isVisible(record) && (filter == null || filter.matches(record))) {
+                    lastKnown = record;
+                    return new Message(record, 0);
+                }
+            }
+
+            return null;
+        }
+
+        private void send(Consumer consumer, Message message) {
+            Persistent.ReadResp.ReadEvent.Builder event = Persistent.ReadResp.ReadEvent.newBuilder()
+                    .setCommitPosition(message.record.position);
+
+            if (settings.resolveLinks && message.record.isLink()) {
+                InMemoryLog.Record target = log.resolve(message.record);
+
+                if (target != null) {
+                    event.setEvent(target.toPersistentWire());
+                }
+
+                event.setLink(message.record.toPersistentWire());
+            } else {
+                event.setEvent(message.record.toPersistentWire());
+            }
+
+            if (message.retryCount == 0) {
+                event.setNoRetryCount(Shared.Empty.getDefaultInstance());
+            } else {
+                event.setRetryCount(message.retryCount);
+            }
+
+            message.consumer = consumer;
+            // The client acknowledges the link when there is one, which is the record read from the log either way.
+            inFlight.put(message.record.id, message);
+            consumer.inFlight++;
+            consumer.totalItems++;
+            totalItems++;
+
+            try {
+                consumer.out.onNext(Persistent.ReadResp.newBuilder().setEvent(event).build());
+            } catch (StatusRuntimeException e) {
+                // The consumer went away in the meantime, its messages are retried when the disconnection is handled.
+            }
+        }
+
+        synchronized Persistent.SubscriptionInfo info() {
+            Persistent.SubscriptionInfo.Builder info = Persistent.SubscriptionInfo.newBuilder()
+                    .setEventSource(stream)
+                    .setGroupName(name)
+                    .setStatus("Live")
+                    .setTotalItems(totalItems)
+                    .setStartFrom(startFrom)
+                    .setResolveLinkTos(settings.resolveLinks)
+                    .setMessageTimeoutMilliseconds(settings.messageTimeoutMs)
+                    .setExtraStatistics(settings.extraStatistics)
+                    .setMaxRetryCount(settings.maxRetryCount)
+                    .setLiveBufferSize(settings.liveBufferSize)
+                    .setBufferSize(settings.historyBufferSize)
+                    .setReadBatchSize(settings.readBatchSize)
+                    .setCheckPointAfterMilliseconds(settings.checkpointAfterMs)
+                    .setMinCheckPointCount(settings.minCheckpointCount)
+                    .setMaxCheckPointCount(settings.maxCheckpointCount)
+                    .setRetryBufferCount(retries.size())
+                    .setTotalInFlightMessages(inFlight.size())
+                    .setOutstandingMessagesCount(inFlight.size())
+                    .setNamedConsumerStrategy(settings.consumerStrategy)
+                    .setMaxSubscriberCount(settings.maxSubscriberCount)
+                    .setParkedMessageCount(parked.size());
+
+            if (lastKnown != null) {
+                info.setLastKnownEventPosition(toPositionString(lastKnown));
+            }
+
+            if (lastCheckpointed != null) {
+                info.setLastCheckpointedEventPosition(toPositionString(lastCheckpointed));
+            }
+
+            for (Consumer consumer : consumers) {
+                info.addConnections(Persistent.SubscriptionInfo.ConnectionInfo.newBuilder()
+                        .setFrom("in-memory")
+                        .setConnectionName(consumer.connectionName)
+                        .setTotalItems(consumer.totalItems)
+                        .setInFlightMessages(consumer.inFlight)
+                        .setAvailableSlots(consumer.bufferSize - consumer.inFlight));
+            }
+
+            return info.build();
+        }
+
+        private String toPositionString(InMemoryLog.Record record) {
+            return sourceStream == null
+                    ? String.format("C:%d/P:%d", record.position, record.position)
+                    : Long.toString(record.revision);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.proto.gossip.GossipOuterClass;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventStoreDB stand-in running in the current JVM. It serves the Streams, PersistentSubscriptions, Gossip and
+ * ServerFeatures gRPC services over plaintext HTTP/2 on the loopback interface, backed by an in-memory log that is lost
+ * when the server is closed.
+ *
+ * It's meant to exercise the whole client stack (discovery, connection handling, flow control, subscriptions) without
+ * Docker, not to replicate the server: authentication isn't checked and stream metadata isn't enforced.
+ */
+public class InMemoryServer implements AutoCloseable {
+    // Same as the server's default max append size.
+    private static final int MAX_INBOUND_MESSAGE_SIZE = 16 * 1_024 * 1_024;
+
+    private final String host;
+    private final Server server;
+    private final InMemoryGossipService gossip;
+    private final InMemoryFaults faults = new InMemoryFaults();
+
+    private InMemoryServer(String host, int port) throws IOException {
+        InMemoryLog log = new InMemoryLog();
+
+        this.host = host;
+        this.gossip = new InMemoryGossipService(host, this::getPort);
+        this.server = NettyServerBuilder.forAddress(new InetSocketAddress(host, port))
+                .maxInboundMessageSize(MAX_INBOUND_MESSAGE_SIZE)
+                .addService(ServerInterceptors.intercept(new InMemoryStreamsService(log), this.faults))
+                .addService(new InMemoryPersistentSubscriptionsService(log))
+                .addService(this.gossip)
+                .addService(new InMemoryServerFeaturesService())
+                .build()
+                .start();
+    }
+
+    /**
+     * Starts a server on a random free port of the loopback interface.
+     */
+    public static InMemoryServer start() throws IOException {
+        return start(0);
+    }
+
+    /**
+     * Starts a server on the given port of the loopback interface, 0 picks a random free one.
+     */
+    public static InMemoryServer start(int port) throws IOException {
+        return new InMemoryServer("localhost", port);
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    /**
+     * Makes the server's gossip report the given cluster view, null goes back to a single-node cluster whose leader is
+     * this server.
+     */
+    public void setClusterInfo(GossipOuterClass.ClusterInfo clusterInfo) {
+        this.gossip.setClusterInfo(clusterInfo);
+    }
+
+    /**
+     * This server as a member of a cluster view, see {@link #setClusterInfo(GossipOuterClass.ClusterInfo)}.
+     */
+    public GossipOuterClass.MemberInfo asMember(GossipOuterClass.MemberInfo.VNodeState state, boolean alive) {
+        return this.gossip.member(state, alive);
+    }
+
+    /**
+     * Fails the next call of the given Streams method with the given status, before it reaches the service.
+     */
+    public void failNext(MethodDescriptor<?, ?> method, Status status) {
+        this.faults.failNext(method, status);
+    }
+
+    /**
+     * Number of calls failed so far through {@link #failNext(MethodDescriptor, Status)}.
+     */
+    public int getInjectedFaultCount() {
+        return this.faults.getInjectedCount();
+    }
+
+    /**
+     * Stops the server, cancelling the calls in progress.
+     */
+    @Override
+    public void close() {
+        server.shutdownNow();
+
+        try {
+            server.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.proto.serverfeatures.ServerFeaturesGrpc;
+import com.eventstore.dbclient.proto.serverfeatures.Serverfeatures;
+import com.eventstore.dbclient.proto.shared.Shared;
+import io.grpc.stub.StreamObserver;
+
+// Advertises every method the in-memory server implements, so the client takes the same code paths it would against
+// a recent server.
+class InMemoryServerFeaturesService extends ServerFeaturesGrpc.ServerFeaturesImplBase {
+    static final String SERVER_VERSION = "24.10.0";
+
+    private static final String STREAMS = "event_store.client.streams.streams";
+    private static final String PERSISTENT_SUBSCRIPTIONS = "event_store.client.persistent_subscriptions.persistentsubscriptions";
+    private static final String GOSSIP = "event_store.client.gossip.gossip";
+    private static final String SERVER_FEATURES = "event_store.client.server_features.serverfeatures";
+
+    @Override
+    public void getSupportedMethods(Shared.Empty request, StreamObserver<Serverfeatures.SupportedMethods> responseObserver) {
+        responseObserver.onNext(Serverfeatures.SupportedMethods.newBuilder()
+                .setEventStoreServerVersion(SERVER_VERSION)
+                .addMethods(method(STREAMS, "read"))
+                .addMethods(method(STREAMS, "append"))
+                .addMethods(method(STREAMS, "delete"))
+                .addMethods(method(STREAMS, "tombstone"))
+                .addMethods(method(STREAMS, "batchappend"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "create", "stream", "all"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "update", "stream", "all"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "delete", "stream", "all"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "read", "stream", "all"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "getinfo", "stream", "all"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "replayparked", "stream", "all"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "list", "stream", "all"))
+                .addMethods(method(PERSISTENT_SUBSCRIPTIONS, "restartsubsystem"))
+                .addMethods(method(GOSSIP, "read"))
+                .addMethods(method(SERVER_FEATURES, "getsupportedmethods"))
+                .build());
+        responseObserver.onCompleted();
+    }
+
+    private static Serverfeatures.SupportedMethod method(String service, String name, String... features) {
+        Serverfeatures.SupportedMethod.Builder method = Serverfeatures.SupportedMethod.newBuilder()
+                .setServiceName(service)
+                .setMethodName(name);
+
+        for (String feature : features) {
+            method.addFeatures(feature);
+        }
+
+        return method.build();
+    }
+}
@@ -0,0 +1,516 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.proto.shared.Shared;
+import com.eventstore.dbclient.proto.streams.StreamsGrpc;
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import com.google.protobuf.Any;
+import com.google.protobuf.Empty;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+class InMemoryStreamsService extends StreamsGrpc.StreamsImplBase {
+    private static final Metadata.Key<String> EXCEPTION = Metadata.Key.of("exception", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> STREAM_NAME = Metadata.Key.of("stream-name", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> EXPECTED_VERSION = Metadata.Key.of("expected-version", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> ACTUAL_VERSION = Metadata.Key.of("actual-version", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final InMemoryLog log;
+
+    InMemoryStreamsService(InMemoryLog log) {
+        this.log = log;
+    }
+
+    @Override
+    public void read(StreamsOuterClass.ReadReq request, StreamObserver<StreamsOuterClass.ReadResp> responseObserver) {
+        StreamsOuterClass.ReadReq.Options options = request.getOptions();
+        ServerCallStreamObserver<StreamsOuterClass.ReadResp> out = (ServerCallStreamObserver<StreamsOuterClass.ReadResp>) responseObserver;
+
+        if (options.hasSubscription()) {
+            new LiveSubscription(log, out, options).start();
+            return;
+        }
+
+        boolean forwards = options.getReadDirection() == StreamsOuterClass.ReadReq.Options.ReadDirection.Forwards;
+        // uint64 on the wire, anything past Long.MAX_VALUE means no limit.
+        long maxCount = options.getCount() < 0 ? Long.MAX_VALUE : options.getCount();
+        boolean compatible = options.getControlOption().getCompatibility() >= 1;
+        List<InMemoryLog.Record> records;
+        List<StreamsOuterClass.ReadResp> trailer = new ArrayList<>();
+
+        try {
+            if (options.hasStream()) {
+                StreamsOuterClass.ReadReq.Options.StreamOptions stream = options.getStream();
+                String streamName = stream.getStreamIdentifier().getStreamName().toStringUtf8();
+                long from;
+
+                if (stream.hasStart()) {
+                    from = 0;
+                } else if (stream.hasEnd()) {
+                    from = -1;
+                } else {
+                    from = stream.getRevision();
+                }
+
+                records = log.readStream(streamName, from, forwards, maxCount);
+
+                if (compatible) {
+                    List<InMemoryLog.Record> first = log.readStream(streamName, 0, true, 1);
+                    List<InMemoryLog.Record> last = log.readStream(streamName, -1, false, 1);
+                    trailer.add(StreamsOuterClass.ReadResp.newBuilder().setFirstStreamPosition(first.get(0).revision).build());
+                    trailer.add(StreamsOuterClass.ReadResp.newBuilder().setLastStreamPosition(last.get(0).revision).build());
+                }
+            } else {
+                StreamsOuterClass.ReadReq.Options.AllOptions all = options.getAll();
+                int from;
+
+                if (all.hasStart()) {
+                    from = 0;
+                } else if (all.hasEnd()) {
+                    from = forwards ? log.size(null) : log.size(null) - 1;
+                } else if (forwards) {
+                    from = log.indexOf(all.getPosition().getCommitPosition());
+                } else {
+                    // Reading backwards from a position starts with the record before it.
+                    from = log.indexOf(all.getPosition().getCommitPosition()) - 1;
+                }
+
+                records = log.readAll(from, forwards, maxCount, toFilter(options));
+
+                if (compatible) {
+                    long lastPosition = log.lastPosition();
+                    trailer.add(StreamsOuterClass.ReadResp.newBuilder()
+                            .setLastAllStreamPosition(Shared.AllStreamPosition.newBuilder()
+                                    .setCommitPosition(lastPosition)
+                                    .setPreparePosition(lastPosition))
+                            .build());
+                }
+            }
+        } catch (InMemoryLog.StreamNotFound e) {
+            out.onNext(StreamsOuterClass.ReadResp.newBuilder()
+                    .setStreamNotFound(StreamsOuterClass.ReadResp.StreamNotFound.newBuilder()
+                            .setStreamIdentifier(options.getStream().getStreamIdentifier()))
+                    .build());
+            out.onCompleted();
+            return;
+        } catch (InMemoryLog.StreamTombstoned e) {
+            out.onError(streamDeleted(e.streamName));
+            return;
+        }
+
+        Iterator<InMemoryLog.Record> iterator = records.iterator();
+        Iterator<StreamsOuterClass.ReadResp> trailerIterator = trailer.iterator();
+        boolean resolveLinks = options.getResolveLinks();
+
+        new Pump<>(out, new Iterator<StreamsOuterClass.ReadResp>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext() || trailerIterator.hasNext();
+            }
+
+            @Override
+            public StreamsOuterClass.ReadResp next() {
+                if (iterator.hasNext()) {
+                    return StreamsOuterClass.ReadResp.newBuilder()
+                            .setEvent(toReadEvent(log, iterator.next(), resolveLinks))
+                            .build();
+                }
+
+                return trailerIterator.next();
+            }
+        }).start();
+    }
+
+    @Override
+    public StreamObserver<StreamsOuterClass.AppendReq> append(StreamObserver<StreamsOuterClass.AppendResp> responseObserver) {
+        return new StreamObserver<StreamsOuterClass.AppendReq>() {
+            private StreamsOuterClass.AppendReq.Options options;
+            private final List<InMemoryLog.ProposedEvent> events = new ArrayList<>();
+
+            @Override
+            public void onNext(StreamsOuterClass.AppendReq value) {
+                if (value.hasOptions()) {
+                    options = value.getOptions();
+                    return;
+                }
+
+                StreamsOuterClass.AppendReq.ProposedMessage message = value.getProposedMessage();
+                events.add(new InMemoryLog.ProposedEvent(message.getId(), message.getMetadataMap(), message.getCustomMetadata(), message.getData()));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // The client cancelled the append, nothing was written.
+            }
+
+            @Override
+            public void onCompleted() {
+                if (options == null) {
+                    responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Append options are missing").asRuntimeException());
+                    return;
+                }
+
+                String streamName = options.getStreamIdentifier().getStreamName().toStringUtf8();
+                long expected;
+
+                switch (options.getExpectedStreamRevisionCase()) {
+                    case NO_STREAM:
+                        expected = InMemoryLog.EXPECTED_NO_STREAM;
+                        break;
+                    case STREAM_EXISTS:
+                        expected = InMemoryLog.EXPECTED_STREAM_EXISTS;
+                        break;
+                    case REVISION:
+                        expected = options.getRevision();
+                        break;
+                    default:
+                        expected = InMemoryLog.EXPECTED_ANY;
+                        break;
+                }
+
+                StreamsOuterClass.AppendResp.Builder resp = StreamsOuterClass.AppendResp.newBuilder();
+
+                try {
+                    InMemoryLog.AppendResult result = log.append(streamName, expected, events);
+                    StreamsOuterClass.AppendResp.Success.Builder success = StreamsOuterClass.AppendResp.Success.newBuilder();
+
+                    if (result.currentRevision == InMemoryLog.EXPECTED_NO_STREAM) {
+                        success.setNoStream(Shared.Empty.getDefaultInstance());
+                    } else {
+                        success.setCurrentRevision(result.currentRevision);
+                    }
+
+                    if (result.position == null) {
+                        success.setNoPosition(Shared.Empty.getDefaultInstance());
+                    } else {
+                        success.setPosition(StreamsOuterClass.AppendResp.Position.newBuilder()
+                                .setCommitPosition(result.position)
+                                .setPreparePosition(result.position));
+                    }
+
+                    resp.setSuccess(success);
+                } catch (InMemoryLog.WrongExpectedRevision e) {
+                    StreamsOuterClass.AppendResp.WrongExpectedVersion.Builder wev = StreamsOuterClass.AppendResp.WrongExpectedVersion.newBuilder();
+
+                    if (e.current == InMemoryLog.EXPECTED_NO_STREAM) {
+                        wev.setCurrentNoStream(Shared.Empty.getDefaultInstance());
+                    } else {
+                        wev.setCurrentRevision(e.current);
+                    }
+
+                    if (e.expected == InMemoryLog.EXPECTED_NO_STREAM) {
+                        wev.setExpectedNoStream(Shared.Empty.getDefaultInstance());
+                    } else if (e.expected == InMemoryLog.EXPECTED_STREAM_EXISTS) {
+                        wev.setExpectedStreamExists(Shared.Empty.getDefaultInstance());
+                    } else {
+                        wev.setExpectedRevision(e.expected);
+                    }
+
+                    resp.setWrongExpectedVersion(wev);
+                } catch (InMemoryLog.StreamTombstoned e) {
+                    responseObserver.onError(streamDeleted(e.streamName));
+                    return;
+                }
+
+                responseObserver.onNext(resp.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public StreamObserver<StreamsOuterClass.BatchAppendReq> batchAppend(StreamObserver<StreamsOuterClass.BatchAppendResp> responseObserver) {
+        return new StreamObserver<StreamsOuterClass.BatchAppendReq>() {
+            private final HashMap<UUID, StreamsOuterClass.BatchAppendReq.Options> options = new HashMap<>();
+            private final HashMap<UUID, List<InMemoryLog.ProposedEvent>> events = new HashMap<>();
+
+            @Override
+            public void onNext(StreamsOuterClass.BatchAppendReq value) {
+                UUID correlationId = InMemoryLog.fromWire(value.getCorrelationId());
+
+                if (value.hasOptions()) {
+                    options.put(correlationId, value.getOptions());
+                }
+
+                List<InMemoryLog.ProposedEvent> pending = events.computeIfAbsent(correlationId, k -> new ArrayList<>());
+                for (StreamsOuterClass.BatchAppendReq.ProposedMessage message : value.getProposedMessagesList()) {
+                    pending.add(new InMemoryLog.ProposedEvent(message.getId(), message.getMetadataMap(), message.getCustomMetadata(), message.getData()));
+                }
+
+                if (value.getIsFinal()) {
+                    StreamsOuterClass.BatchAppendResp resp = append(value.getCorrelationId(), options.remove(correlationId), events.remove(correlationId));
+
+                    synchronized (responseObserver) {
+                        responseObserver.onNext(resp);
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                options.clear();
+                events.clear();
+            }
+
+            @Override
+            public void onCompleted() {
+                synchronized (responseObserver) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    private StreamsOuterClass.BatchAppendResp append(Shared.UUID correlationId, StreamsOuterClass.BatchAppendReq.Options options, List<InMemoryLog.ProposedEvent> events) {
+        StreamsOuterClass.BatchAppendResp.Builder resp = StreamsOuterClass.BatchAppendResp.newBuilder()
+                .setCorrelationId(correlationId);
+
+        if (options == null) {
+            return resp.setError(com.google.rpc.Status.newBuilder()
+                    .setCode(Status.Code.INVALID_ARGUMENT.value())
+                    .setMessage("BatchAppend options are missing"))
+                    .build();
+        }
+
+        String streamName = options.getStreamIdentifier().getStreamName().toStringUtf8();
+        long expected;
+
+        resp.setStreamIdentifier(options.getStreamIdentifier());
+        switch (options.getExpectedStreamPositionCase()) {
+            case NO_STREAM:
+                expected = InMemoryLog.EXPECTED_NO_STREAM;
+                resp.setNoStream(Empty.getDefaultInstance());
+                break;
+            case STREAM_EXISTS:
+                expected = InMemoryLog.EXPECTED_STREAM_EXISTS;
+                resp.setStreamExists(Empty.getDefaultInstance());
+                break;
+            case STREAM_POSITION:
+                expected = options.getStreamPosition();
+                resp.setStreamPosition(expected);
+                break;
+            default:
+                expected = InMemoryLog.EXPECTED_ANY;
+                resp.setAny(Empty.getDefaultInstance());
+                break;
+        }
+
+        try {
+            InMemoryLog.AppendResult result = log.append(streamName, expected, events);
+            StreamsOuterClass.BatchAppendResp.Success.Builder success = StreamsOuterClass.BatchAppendResp.Success.newBuilder();
+
+            if (result.currentRevision == InMemoryLog.EXPECTED_NO_STREAM) {
+                success.setNoStream(Empty.getDefaultInstance());
+            } else {
+                success.setCurrentRevision(result.currentRevision);
+            }
+
+            if (result.position == null) {
+                success.setNoPosition(Empty.getDefaultInstance());
+            } else {
+                success.setPosition(Shared.AllStreamPosition.newBuilder()
+                        .setCommitPosition(result.position)
+                        .setPreparePosition(result.position));
+            }
+
+            return resp.setSuccess(success).build();
+        } catch (InMemoryLog.WrongExpectedRevision e) {
+            Shared.WrongExpectedVersion.Builder wev = Shared.WrongExpectedVersion.newBuilder();
+
+            if (e.current == InMemoryLog.EXPECTED_NO_STREAM) {
+                wev.setCurrentNoStream(Empty.getDefaultInstance());
+            } else {
+                wev.setCurrentStreamRevision(e.current);
+            }
+
+            if (e.expected == InMemoryLog.EXPECTED_NO_STREAM) {
+                wev.setExpectedNoStream(Empty.getDefaultInstance());
+            } else if (e.expected == InMemoryLog.EXPECTED_STREAM_EXISTS) {
+                wev.setExpectedStreamExists(Empty.getDefaultInstance());
+            } else {
+                wev.setExpectedStreamPosition(e.expected);
+            }
+
+            return resp.setError(com.google.rpc.Status.newBuilder()
+                    .setCode(Status.Code.FAILED_PRECONDITION.value())
+                    .setMessage(e.getMessage())
+                    .setDetails(Any.pack(wev.build())))
+                    .build();
+        } catch (InMemoryLog.StreamTombstoned e) {
+            return resp.setError(com.google.rpc.Status.newBuilder()
+                    .setCode(Status.Code.FAILED_PRECONDITION.value())
+                    .setMessage(e.getMessage())
+                    .setDetails(Any.pack(Shared.StreamDeleted.newBuilder()
+                            .setStreamIdentifier(options.getStreamIdentifier())
+                            .build())))
+                    .build();
+        }
+    }
+
+    @Override
+    public void delete(StreamsOuterClass.DeleteReq request, StreamObserver<StreamsOuterClass.DeleteResp> responseObserver) {
+        StreamsOuterClass.DeleteReq.Options options = request.getOptions();
+        long expected;
+
+        switch (options.getExpectedStreamRevisionCase()) {
+            case NO_STREAM:
+                expected = InMemoryLog.EXPECTED_NO_STREAM;
+                break;
+            case STREAM_EXISTS:
+                expected = InMemoryLog.EXPECTED_STREAM_EXISTS;
+                break;
+            case REVISION:
+                expected = options.getRevision();
+                break;
+            default:
+                expected = InMemoryLog.EXPECTED_ANY;
+                break;
+        }
+
+        try {
+            long position = log.delete(options.getStreamIdentifier().getStreamName().toStringUtf8(), expected, false);
+            responseObserver.onNext(StreamsOuterClass.DeleteResp.newBuilder()
+                    .setPosition(StreamsOuterClass.DeleteResp.Position.newBuilder()
+                            .setCommitPosition(position)
+                            .setPreparePosition(position))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatusException(e));
+        }
+    }
+
+    @Override
+    public void tombstone(StreamsOuterClass.TombstoneReq request, StreamObserver<StreamsOuterClass.TombstoneResp> responseObserver) {
+        StreamsOuterClass.TombstoneReq.Options options = request.getOptions();
+        long expected;
+
+        switch (options.getExpectedStreamRevisionCase()) {
+            case NO_STREAM:
+                expected = InMemoryLog.EXPECTED_NO_STREAM;
+                break;
+            case STREAM_EXISTS:
+                expected = InMemoryLog.EXPECTED_STREAM_EXISTS;
+                break;
+            case REVISION:
+                expected = options.getRevision();
+                break;
+            default:
+                expected = InMemoryLog.EXPECTED_ANY;
+                break;
+        }
+
+        try {
+            long position = log.delete(options.getStreamIdentifier().getStreamName().toStringUtf8(), expected, true);
+            responseObserver.onNext(StreamsOuterClass.TombstoneResp.newBuilder()
+                    .setPosition(StreamsOuterClass.TombstoneResp.Position.newBuilder()
+                            .setCommitPosition(position)
+                            .setPreparePosition(position))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatusException(e));
+        }
+    }
+
+    static StreamsOuterClass.ReadResp.ReadEvent toReadEvent(InMemoryLog log, InMemoryLog.Record record, boolean resolveLinks) {
+        StreamsOuterClass.ReadResp.ReadEvent.Builder event = StreamsOuterClass.ReadResp.ReadEvent.newBuilder()
+                .setCommitPosition(record.position);
+
+        if (resolveLinks && record.isLink()) {
+            InMemoryLog.Record target = log.resolve(record);
+
+            if (target != null) {
+                event.setEvent(target.toStreamsWire());
+            }
+
+            return event.setLink(record.toStreamsWire()).build();
+        }
+
+        return event.setEvent(record.toStreamsWire()).build();
+    }
+
+    static InMemoryLog.Filter toFilter(StreamsOuterClass.ReadReq.Options options) {
+        if (!options.hasFilter()) {
+            return null;
+        }
+
+        StreamsOuterClass.ReadReq.Options.FilterOptions filter = options.getFilter();
+        StreamsOuterClass.ReadReq.Options.FilterOptions.Expression expression = filter.hasStreamIdentifier()
+                ? filter.getStreamIdentifier()
+                : filter.getEventType();
+
+        return new InMemoryLog.Filter(filter.hasStreamIdentifier(), expression.getRegex(), expression.getPrefixList());
+    }
+
+    static StatusRuntimeException streamDeleted(String streamName) {
+        Metadata trailers = new Metadata();
+        trailers.put(EXCEPTION, "stream-deleted");
+        trailers.put(STREAM_NAME, streamName);
+
+        return Status.FAILED_PRECONDITION.withDescription(String.format("Event stream '%s' is deleted.", streamName))
+                .asRuntimeException(trailers);
+    }
+
+    private static StatusRuntimeException toStatusException(RuntimeException e) {
+        if (e instanceof InMemoryLog.StreamTombstoned) {
+            return streamDeleted(((InMemoryLog.StreamTombstoned) e).streamName);
+        }
+
+        if (e instanceof InMemoryLog.WrongExpectedRevision) {
+            InMemoryLog.WrongExpectedRevision wev = (InMemoryLog.WrongExpectedRevision) e;
+            Metadata trailers = new Metadata();
+            trailers.put(EXCEPTION, "wrong-expected-version");
+            trailers.put(STREAM_NAME, wev.streamName);
+            trailers.put(EXPECTED_VERSION, Long.toString(wev.expected));
+            trailers.put(ACTUAL_VERSION, Long.toString(wev.current));
+
+            return Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException(trailers);
+        }
+
+        return Status.INTERNAL.withDescription(e.getMessage()).withCause(e).asRuntimeException();
+    }
+
+    /**
+     * Writes a finite response stream as fast as the transport accepts it, resuming when the call becomes ready again.
+     */
+    static class Pump<T> implements Runnable {
+        private final ServerCallStreamObserver<T> out;
+        private final Iterator<T> messages;
+        private boolean completed = false;
+
+        Pump(ServerCallStreamObserver<T> out, Iterator<T> messages) {
+            this.out = out;
+            this.messages = messages;
+        }
+
+        void start() {
+            out.setOnReadyHandler(this);
+            run();
+        }
+
+        @Override
+        public synchronized void run() {
+            if (completed || out.isCancelled()) {
+                return;
+            }
+
+            while (out.isReady() && messages.hasNext()) {
+                out.onNext(messages.next());
+            }
+
+            if (!messages.hasNext()) {
+                completed = true;
+                out.onCompleted();
+            }
+        }
+    }
+}
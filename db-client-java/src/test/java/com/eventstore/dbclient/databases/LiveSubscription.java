@@ -0,0 +1,131 @@
+package com.eventstore.dbclient.databases;
+
+import com.eventstore.dbclient.proto.streams.StreamsOuterClass;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.util.UUID;
+
+/**
+ * Catch-up subscription of the in-memory Streams service. It's a cursor over the log, or over a single stream, that
+ * moves as fast as the call is ready to send, then follows the log as new records are written.
+ */
+class LiveSubscription implements Runnable {
+    private final InMemoryLog log;
+    private final ServerCallStreamObserver<StreamsOuterClass.ReadResp> out;
+    // null when subscribed to $all.
+    private final String streamName;
+    private final InMemoryLog.Filter filter;
+    private final boolean resolveLinks;
+    private final int checkpointInterval;
+    private int cursor;
+    private int sinceCheckpoint = 0;
+    private boolean caughtUp = false;
+    private volatile boolean closed = false;
+
+    LiveSubscription(InMemoryLog log, ServerCallStreamObserver<StreamsOuterClass.ReadResp> out, StreamsOuterClass.ReadReq.Options options) {
+        this.log = log;
+        this.out = out;
+        this.resolveLinks = options.getResolveLinks();
+        this.filter = InMemoryStreamsService.toFilter(options);
+
+        StreamsOuterClass.ReadReq.Options.FilterOptions filterOptions = options.getFilter();
+        int window = filterOptions.hasMax() ? filterOptions.getMax() : 32;
+        this.checkpointInterval = Math.max(1, window * Math.max(1, filterOptions.getCheckpointIntervalMultiplier()));
+
+        // Subscriptions are exclusive of their starting point.
+        if (options.hasStream()) {
+            StreamsOuterClass.ReadReq.Options.StreamOptions stream = options.getStream();
+            this.streamName = stream.getStreamIdentifier().getStreamName().toStringUtf8();
+
+            if (stream.hasStart()) {
+                this.cursor = 0;
+            } else if (stream.hasEnd()) {
+                this.cursor = log.size(streamName);
+            } else {
+                this.cursor = (int) stream.getRevision() + 1;
+            }
+        } else {
+            StreamsOuterClass.ReadReq.Options.AllOptions all = options.getAll();
+            this.streamName = null;
+
+            if (all.hasStart()) {
+                this.cursor = 0;
+            } else if (all.hasEnd()) {
+                this.cursor = log.size(null);
+            } else {
+                long position = all.getPosition().getCommitPosition();
+                int index = log.indexOf(position);
+                InMemoryLog.Record record = log.recordAt(null, index);
+                this.cursor = record != null && record.position == position ? index + 1 : index;
+            }
+        }
+    }
+
+    void start() {
+        out.setOnCancelHandler(this::close);
+        out.setOnReadyHandler(this);
+        log.addListener(this);
+
+        synchronized (this) {
+            send(StreamsOuterClass.ReadResp.newBuilder()
+                    .setConfirmation(StreamsOuterClass.ReadResp.SubscriptionConfirmation.newBuilder()
+                            .setSubscriptionId(UUID.randomUUID().toString()))
+                    .build());
+        }
+
+        run();
+    }
+
+    // Invoked when the call is ready to send more and after each write to the log.
+    @Override
+    public synchronized void run() {
+        try {
+            while (!closed && out.isReady()) {
+                InMemoryLog.Record record = log.recordAt(streamName, cursor);
+
+                if (record == null) {
+                    if (!caughtUp) {
+                        caughtUp = true;
+                        send(StreamsOuterClass.ReadResp.newBuilder()
+                                .setCaughtUp(StreamsOuterClass.ReadResp.CaughtUp.getDefaultInstance())
+                                .build());
+                    }
+
+                    return;
+                }
+
+                cursor++;
+
+                if (log.isVisible(record) && (filter == null || filter.matches(record))) {
+                    send(StreamsOuterClass.ReadResp.newBuilder()
+                            .setEvent(InMemoryStreamsService.toReadEvent(log, record, resolveLinks))
+                            .build());
+                }
+
+                if (filter != null && ++sinceCheckpoint >= checkpointInterval) {
+                    sinceCheckpoint = 0;
+                    send(StreamsOuterClass.ReadResp.newBuilder()
+                            .setCheckpoint(StreamsOuterClass.ReadResp.Checkpoint.newBuilder()
+                                    .setCommitPosition(record.position)
+                                    .setPreparePosition(record.position))
+                            .build());
+                }
+            }
+        } catch (StatusRuntimeException e) {
+            // The call was cancelled while we were sending.
+            close();
+        }
+    }
+
+    private void send(StreamsOuterClass.ReadResp resp) {
+        if (!closed) {
+            out.onNext(resp);
+        }
+    }
+
+    private void close() {
+        closed = true;
+        log.removeListener(this);
+    }
+}
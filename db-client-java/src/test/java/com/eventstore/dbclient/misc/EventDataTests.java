@@ -2,9 +2,11 @@ package com.eventstore.dbclient.misc;
 
 import com.eventstore.dbclient.EventData;
 import com.eventstore.dbclient.EventDataBuilder;
+import com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 public class EventDataTests {
@@ -25,4 +27,53 @@ public class EventDataTests {
 
         Assertions.assertEquals(id, data.getEventId());
     }
+
+    @Test
+    public void testByteArrayPayloadIsKeptAsIs() throws Throwable {
+        byte[] payload = new byte[]{1, 2, 3};
+        byte[] metadata = new byte[]{4};
+
+        EventData data = EventDataBuilder.binary("type", payload).metadataAsBytes(metadata).build();
+
+        Assertions.assertSame(payload, data.getEventData());
+        Assertions.assertSame(metadata, data.getUserMetadata());
+    }
+
+    @Test
+    public void testDirectByteBufferPayload() throws Throwable {
+        ByteBuffer payload = ByteBuffer.allocateDirect(8);
+        payload.put(new byte[]{9, 1, 2, 3});
+        payload.flip();
+        payload.get();
+
+        EventData data = EventDataBuilder.json("type", payload)
+                .metadataAsBytes(ByteBuffer.wrap(new byte[]{0, 4, 5}, 1, 2))
+                .build();
+
+        Assertions.assertEquals("application/json", data.getContentType());
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3}, data.getEventData());
+        Assertions.assertArrayEquals(new byte[]{4, 5}, data.getUserMetadata());
+        Assertions.assertEquals(1, payload.position());
+    }
+
+    @Test
+    public void testByteBufferPayloadIsCopied() throws Throwable {
+        ByteBuffer payload = ByteBuffer.wrap(new byte[]{1, 2, 3});
+
+        EventData data = EventDataBuilder.binary("type", payload).build();
+        payload.put(0, (byte) 9);
+
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3}, data.getEventData());
+    }
+
+    @Test
+    public void testByteStringPayload() throws Throwable {
+        EventData data = EventDataBuilder.binary("type", ByteString.copyFromUtf8("payload"))
+                .metadataAsBytes(ByteString.copyFromUtf8("metadata"))
+                .build();
+
+        Assertions.assertEquals("application/octet-stream", data.getContentType());
+        Assertions.assertArrayEquals("payload".getBytes(), data.getEventData());
+        Assertions.assertArrayEquals("metadata".getBytes(), data.getUserMetadata());
+    }
 }
@@ -115,6 +115,30 @@ public class ParseValidConnectionStringTests {
                         "esdb://localhost?feature=foobar",
                         "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"features\": \"foobar\"}"
                 ),
+                Arguments.of(
+                        "esdb://localhost?channelPoolSize=4&subscriptionChannelPoolSize=2",
+                        "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"channelPoolSize\": 4, \"subscriptionChannelPoolSize\": 2}"
+                ),
+                Arguments.of(
+                        "esdb://localhost?readNodePreference=follower",
+                        "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"readNodePreference\": \"follower\"}"
+                ),
+                Arguments.of(
+                        "esdb://localhost?gossipPollInterval=1000",
+                        "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"gossipPollInterval\": 1000}"
+                ),
+                Arguments.of(
+                        "esdb://localhost?retryAttempts=3&retryBackoff=50&retryBudget=2000",
+                        "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"retryAttempts\": 3, \"retryBackoff\": 50, \"retryBudget\": 2000}"
+                ),
+                Arguments.of(
+                        "esdb://localhost?maxConcurrency=64&concurrencyLimitPolicy=reject",
+                        "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"maxConcurrency\": 64, \"concurrencyLimitPolicy\": \"reject\"}"
+                ),
+                Arguments.of(
+                        "esdb://localhost?maxPendingOperations=1000&connectionWaitTimeout=2000",
+                        "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"maxPendingOperations\": 1000, \"connectionWaitTimeout\": 2000}"
+                ),
                 Arguments.of(
                         "esdb://localhost?feature=foobar&feature=baz",
                         "{\"dnsDiscover\":false,\"maxDiscoverAttempts\":3,\"discoveryInterval\":500,\"gossipTimeout\":3000,\"nodePreference\":\"leader\",\"tls\":true,\"tlsVerifyCert\":true,\"throwOnAppendFailure\":true,\"hosts\":[{\"address\":\"localhost\",\"port\":2113}], \"features\": [\"foobar\", \"baz\"]}"
@@ -135,6 +159,17 @@ public class ParseValidConnectionStringTests {
         Assertions.assertEquals(settings.getDefaultDeadline(), other.getDefaultDeadline());
         Assertions.assertEquals(settings.getTlsCaFile(), other.getTlsCaFile());
         Assertions.assertEquals(settings.getDefaultClientCertificate(), other.getDefaultClientCertificate());
+        Assertions.assertEquals(settings.getChannelPoolSize(), other.getChannelPoolSize());
+        Assertions.assertEquals(settings.getSubscriptionChannelPoolSize(), other.getSubscriptionChannelPoolSize());
+        Assertions.assertEquals(settings.getReadNodePreference(), other.getReadNodePreference());
+        Assertions.assertEquals(settings.getGossipPollInterval(), other.getGossipPollInterval());
+        Assertions.assertEquals(settings.getRetryAttempts(), other.getRetryAttempts());
+        Assertions.assertEquals(settings.getRetryBackoff(), other.getRetryBackoff());
+        Assertions.assertEquals(settings.getRetryBudget(), other.getRetryBudget());
+        Assertions.assertEquals(settings.getMaxConcurrency(), other.getMaxConcurrency());
+        Assertions.assertEquals(settings.getConcurrencyLimitPolicy(), other.getConcurrencyLimitPolicy());
+        Assertions.assertEquals(settings.getMaxPendingOperations(), other.getMaxPendingOperations());
+        Assertions.assertEquals(settings.getConnectionWaitTimeout(), other.getConnectionWaitTimeout());
 
         Assertions.assertEquals(settings.getHosts().length, other.getHosts().length);
         IntStream.range(0, settings.getHosts().length).forEach((i) -> {
@@ -219,6 +254,39 @@ public class ParseValidConnectionStringTests {
                     defaultClientCertificate.get("clientKeyFile").asText());
         }
 
+        if (tree.get("channelPoolSize") != null)
+            builder.channelPoolSize(tree.get("channelPoolSize").asInt());
+
+        if (tree.get("subscriptionChannelPoolSize") != null)
+            builder.subscriptionChannelPoolSize(tree.get("subscriptionChannelPoolSize").asInt());
+
+        if (tree.get("readNodePreference") != null)
+            builder.readNodePreference(NodePreference.valueOf(tree.get("readNodePreference").asText().toUpperCase()));
+
+        if (tree.get("gossipPollInterval") != null)
+            builder.gossipPollInterval(tree.get("gossipPollInterval").asInt());
+
+        if (tree.get("retryAttempts") != null)
+            builder.retryAttempts(tree.get("retryAttempts").asInt());
+
+        if (tree.get("retryBackoff") != null)
+            builder.retryBackoff(tree.get("retryBackoff").asInt());
+
+        if (tree.get("retryBudget") != null)
+            builder.retryBudget(tree.get("retryBudget").asInt());
+
+        if (tree.get("maxConcurrency") != null)
+            builder.maxConcurrency(tree.get("maxConcurrency").asInt());
+
+        if (tree.get("concurrencyLimitPolicy") != null)
+            builder.concurrencyLimitPolicy(ConcurrencyLimitPolicy.valueOf(tree.get("concurrencyLimitPolicy").asText().toUpperCase()));
+
+        if (tree.get("maxPendingOperations") != null)
+            builder.maxPendingOperations(tree.get("maxPendingOperations").asInt());
+
+        if (tree.get("connectionWaitTimeout") != null)
+            builder.connectionWaitTimeout(tree.get("connectionWaitTimeout").asInt());
+
         tree.get("hosts").elements().forEachRemaining((host) -> {
             builder.addHost(new InetSocketAddress(host.get("address").asText(), host.get("port").asInt()));
         });
@@ -5,7 +5,12 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 public interface AppendTests extends ConnectionAware {
     @Test
@@ -50,4 +55,73 @@ public interface AppendTests extends ConnectionAware {
         Assertions.assertArrayEquals(eventMetaData, first.getUserMetadata());
         Assertions.assertEquals(new Foo(), mapper.readValue(first.getEventData(), Foo.class));
     }
+
+    @Test
+    default void testConcurrentAppendsToDifferentStreams() throws Throwable {
+        EventStoreDBClient client = getDatabase().defaultClient();
+        List<String> streamNames = new ArrayList<>();
+        List<CompletableFuture<WriteResult>> results = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            String streamName = generateName() + "-" + i;
+            streamNames.add(streamName);
+            results.add(client.appendToStream(streamName,
+                    AppendToStreamOptions.get().expectedRevision(ExpectedRevision.noStream()),
+                    generateEvents(3, "TestEvent").iterator()));
+        }
+
+        for (CompletableFuture<WriteResult> result : results) {
+            Assertions.assertEquals(ExpectedRevision.expectedRevision(2), result.get().getNextExpectedRevision());
+        }
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () ->
+                client.appendToStream(streamNames.get(0),
+                        AppendToStreamOptions.get().expectedRevision(ExpectedRevision.noStream()),
+                        generateEvents(1, "TestEvent").iterator()).get());
+
+        Assertions.assertInstanceOf(WrongExpectedVersionException.class, e.getCause());
+    }
+
+    @Test
+    default void testConcurrentAppendsToDifferentStreams() throws Throwable {
+        EventStoreDBClient client = getDatabase().defaultClient();
+        List<CompletableFuture<WriteResult>> results = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            results.add(client.appendToStream(generateName() + "-" + i,
+                    AppendToStreamOptions.get().expectedRevision(ExpectedRevision.noStream()),
+                    generateEvents(2, "TestEvent").iterator()));
+        }
+
+        for (CompletableFuture<WriteResult> result : results) {
+            Assertions.assertEquals(ExpectedRevision.expectedRevision(1), result.get().getNextExpectedRevision());
+        }
+    }
+
+    @Test
+    default void testAppendStreamsEventsFromIterator() throws Throwable {
+        EventStoreDBClient client = getDatabase().defaultClient();
+        final String streamName = generateName();
+        final int count = 20_000;
+        final byte[] payload = new byte[512];
+
+        Iterator<EventData> events = new Iterator<EventData>() {
+            private int produced = 0;
+
+            @Override
+            public boolean hasNext() {
+                return produced < count;
+            }
+
+            @Override
+            public EventData next() {
+                produced++;
+                return EventDataBuilder.binary("LargeImport", payload).build();
+            }
+        };
+
+        WriteResult result = client.appendToStream(streamName, AppendToStreamOptions.get().expectedRevision(ExpectedRevision.noStream()), events).get();
+
+        Assertions.assertEquals(ExpectedRevision.expectedRevision(count - 1), result.getNextExpectedRevision());
+    }
 }
@@ -3,9 +3,13 @@ package com.eventstore.dbclient.streams;
 import com.eventstore.dbclient.*;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public interface ReadStreamTests extends ConnectionAware {
@@ -51,4 +55,166 @@ public interface ReadStreamTests extends ConnectionAware {
             }
         });
     }
+
+    @Test
+    default void testReadStreamReactiveWithBoundedDemand() throws Throwable {
+        String streamName = generateName();
+        int count = 10;
+        List<EventData> events = new ArrayList<>();
+
+        for (BazEvent event : generateBazEvent(count)) {
+            events.add(serializeBazEvent(event));
+        }
+
+        EventStoreDBClient client = getDefaultClient();
+        client.appendToStream(streamName, events.iterator()).get();
+
+        CompletableFuture<List<ResolvedEvent>> result = new CompletableFuture<>();
+        List<ResolvedEvent> actuals = new ArrayList<>();
+
+        client.readStreamReactive(streamName, ReadStreamOptions.get()).subscribe(new Subscriber<ReadMessage>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ReadMessage message) {
+                if (message.hasEvent()) {
+                    actuals.add(message.getEvent());
+                }
+
+                this.subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(actuals);
+            }
+        });
+
+        List<ResolvedEvent> received = result.get();
+        Assertions.assertEquals(count, received.size());
+
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(events.get(i).getEventId(), received.get(i).getOriginalEvent().getEventId());
+        }
+    }
+
+    @Test
+    default void testReadStreamIterator() throws Throwable {
+        String streamName = generateName();
+        int count = 1_200;
+        List<EventData> events = new ArrayList<>();
+
+        for (BazEvent event : generateBazEvent(count)) {
+            events.add(serializeBazEvent(event));
+        }
+
+        EventStoreDBClient client = getDefaultClient();
+        client.appendToStream(streamName, events.iterator()).get();
+
+        int index = 0;
+        try (ReadIterator iterator = client.readStreamIterator(streamName)) {
+            while (iterator.hasNext()) {
+                ResolvedEvent event = iterator.next();
+                Assertions.assertEquals(events.get(index).getEventId(), event.getOriginalEvent().getEventId());
+                index++;
+            }
+        }
+
+        Assertions.assertEquals(count, index);
+        Assertions.assertThrows(StreamNotFoundException.class, () -> client.readStreamIterator(generateName()).hasNext());
+    }
+
+    @Test
+    default void testReadAllPages() throws Throwable {
+        EventStoreDBClient client = getDefaultClient();
+        String streamName = generateName();
+        List<EventData> events = new ArrayList<>();
+
+        for (BazEvent event : generateBazEvent(100)) {
+            events.add(serializeBazEvent(event));
+        }
+
+        client.appendToStream(streamName, events.iterator()).get();
+
+        ReadAllOptions options = ReadAllOptions.get().fromStart().maxCount(250);
+        List<ResolvedEvent> expecteds = client.readAll(options).get().getEvents();
+        List<ResolvedEvent> actuals = new ArrayList<>();
+
+        try (ReadAllPages pages = client.readAllPages(options, 40)) {
+            while (pages.hasNext()) {
+                List<ResolvedEvent> page = pages.next().getEvents();
+                Assertions.assertTrue(page.size() <= 40);
+                actuals.addAll(page);
+            }
+        }
+
+        Assertions.assertEquals(expecteds.size(), actuals.size());
+
+        for (int i = 0; i < expecteds.size(); i++) {
+            Assertions.assertEquals(expecteds.get(i).getOriginalEvent().getPosition(), actuals.get(i).getOriginalEvent().getPosition());
+        }
+    }
+
+    @Test
+    default void testScanAll() throws Throwable {
+        EventStoreDBClient client = getDefaultClient();
+        String streamName = generateName();
+        List<EventData> events = new ArrayList<>();
+
+        for (BazEvent event : generateBazEvent(20)) {
+            events.add(serializeBazEvent(event));
+        }
+
+        client.appendToStream(streamName, events.iterator()).get();
+
+        List<ResolvedEvent> expecteds = client.readAll().get().getEvents();
+        List<ResolvedEvent> actuals = new ArrayList<>();
+
+        try (AllScanner scanner = client.scanAll(ReadAllOptions.get(), ScanAllOptions.get().parallelism(2)).get()) {
+            while (scanner.hasNext() && actuals.size() < expecteds.size()) {
+                actuals.add(scanner.next());
+            }
+        }
+
+        Assertions.assertEquals(expecteds.size(), actuals.size());
+
+        for (int i = 0; i < expecteds.size(); i++) {
+            Assertions.assertEquals(expecteds.get(i).getOriginalEvent().getPosition(), actuals.get(i).getOriginalEvent().getPosition());
+        }
+    }
+
+    @Test
+    default void testReadEventPayloadViews() throws Throwable {
+        EventStoreDBClient client = getDefaultClient();
+        String streamName = generateName();
+        EventData data = EventDataBuilder.binary("payload", new byte[]{1, 2, 3, 4})
+                .metadataAsBytes(new byte[]{5, 6})
+                .build();
+
+        client.appendToStream(streamName, data).get();
+
+        RecordedEvent event = client.readStream(streamName, ReadStreamOptions.get()).get()
+                .getEvents().get(0).getOriginalEvent();
+
+        ByteBuffer buffer = event.getEventDataBuffer();
+        Assertions.assertTrue(buffer.isReadOnly());
+        Assertions.assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), buffer);
+        Assertions.assertEquals(4, event.getEventDataSize());
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3, 4}, event.getEventData());
+        Assertions.assertSame(event.getEventData(), event.getEventData());
+        Assertions.assertEquals(1, event.getEventDataStream().read());
+        Assertions.assertArrayEquals(new byte[]{5, 6}, event.getUserMetadata());
+        Assertions.assertEquals(ByteBuffer.wrap(new byte[]{5, 6}), event.getUserMetadataBuffer());
+    }
 }